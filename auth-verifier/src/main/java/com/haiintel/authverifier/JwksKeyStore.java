@@ -0,0 +1,240 @@
+package com.haiintel.authverifier;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * kid-indexed public key store backed by the auth-service JWKS endpoint.
+ *
+ * Keys are held in an immutable map swapped atomically on refresh, so lookups
+ * are a single volatile read plus a hash lookup. Refreshes are conditional
+ * (If-None-Match with the last ETag) and happen:
+ * - when the cached set is older than the server's Cache-Control max-age, or
+ * - when a token carries an unknown kid (key rotation), at most once per
+ *   {@code minRefreshInterval} so garbage kids cannot hammer the endpoint.
+ *
+ * Refreshes are single-flight and run on a background thread: a stale set keeps
+ * being served while it refreshes, and only a lookup with nothing to serve (first
+ * use, unknown kid) waits for the in-flight fetch. If a refresh fails, the last
+ * known keys keep being served.
+ */
+public class JwksKeyStore {
+
+    private static final System.Logger LOG = System.getLogger(JwksKeyStore.class.getName());
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(2);
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final Duration defaultMaxAge;
+    private final Duration minRefreshInterval;
+    private final Executor refreshExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<CompletableFuture<Void>> inFlight = new AtomicReference<>();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile String etag;
+    private volatile long maxAgeNanos;
+    private volatile long lastFetchNanos;
+    private volatile boolean fetched;
+
+    public JwksKeyStore(URI jwksUri) {
+        this(jwksUri, HttpClient.newBuilder().connectTimeout(FETCH_TIMEOUT).build(),
+                Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    public JwksKeyStore(URI jwksUri, HttpClient httpClient, Duration defaultMaxAge, Duration minRefreshInterval) {
+        this(jwksUri, httpClient, defaultMaxAge, minRefreshInterval, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public JwksKeyStore(URI jwksUri, HttpClient httpClient, Duration defaultMaxAge, Duration minRefreshInterval,
+                        Executor refreshExecutor) {
+        this.jwksUri = jwksUri;
+        this.httpClient = httpClient;
+        this.defaultMaxAge = defaultMaxAge;
+        this.minRefreshInterval = minRefreshInterval;
+        this.refreshExecutor = refreshExecutor;
+        this.maxAgeNanos = defaultMaxAge.toNanos();
+    }
+
+    /**
+     * Look up the verification key for a kid, refreshing the JWKS if needed.
+     *
+     * A cached key is returned immediately; if the set is past max-age a
+     * background refresh is started. An unknown kid waits for a refresh, at most
+     * once per {@code minRefreshInterval}.
+     *
+     * @param kid Key ID from the token header
+     * @return Public key, or null if the kid is unknown even after a refresh
+     */
+    public PublicKey getKey(String kid) {
+        PublicKey key = keys.get(kid);
+
+        if (key != null) {
+            if (isStale(maxAgeNanos)) {
+                refreshAsync(maxAgeNanos);
+            }
+            return key;
+        }
+
+        if (!fetched || isStale(minRefreshInterval.toNanos())) {
+            await(refreshAsync(minRefreshInterval.toNanos()));
+            return keys.get(kid);
+        }
+        return null;
+    }
+
+    /**
+     * Fetch the JWKS now (conditional on the last ETag).
+     *
+     * @throws IOException if the endpoint cannot be reached or returns an error
+     */
+    public synchronized void refresh() throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(jwksUri)
+                .timeout(FETCH_TIMEOUT)
+                .GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching JWKS", e);
+        }
+
+        lastFetchNanos = System.nanoTime();
+        maxAgeNanos = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))).toNanos())
+                .orElse(defaultMaxAge.toNanos());
+
+        if (response.statusCode() == 304) {
+            LOG.log(Level.DEBUG, "JWKS not modified: {0}", jwksUri);
+            return;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS fetch failed: HTTP " + response.statusCode());
+        }
+
+        keys = parseKeys(response.body());
+        etag = response.headers().firstValue("ETag").orElse(null);
+        fetched = true;
+        LOG.log(Level.INFO, "Loaded {0} key(s) from {1}", keys.size(), jwksUri);
+    }
+
+    /**
+     * Start a refresh unless one is already running; callers share its future.
+     */
+    private CompletableFuture<Void> refreshAsync(long staleAfterNanos) {
+        CompletableFuture<Void> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<Void> refresh = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, refresh)) {
+            return Objects.requireNonNullElse(inFlight.get(), CompletableFuture.completedFuture(null));
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshIfStale(staleAfterNanos);
+                } finally {
+                    inFlight.set(null);
+                    refresh.complete(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.set(null);
+            refresh.complete(null);
+            LOG.log(Level.WARNING, "JWKS refresh could not be scheduled: " + e.getMessage());
+        }
+        return refresh;
+    }
+
+    private synchronized void refreshIfStale(long staleAfterNanos) {
+        // A concurrent refresh() may have landed while this one was queued
+        if (fetched && !isStale(staleAfterNanos)) {
+            return;
+        }
+        refreshQuietly();
+    }
+
+    private boolean isStale(long staleAfterNanos) {
+        return System.nanoTime() - lastFetchNanos > staleAfterNanos;
+    }
+
+    private void await(CompletableFuture<Void> refresh) {
+        try {
+            refresh.get(FETCH_TIMEOUT.multipliedBy(2).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOG.log(Level.WARNING, "Gave up waiting for JWKS refresh: " + e.getMessage());
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (IOException e) {
+            // Keep serving the last known keys; back off until the next interval
+            lastFetchNanos = System.nanoTime();
+            fetched = true;
+            LOG.log(Level.WARNING, "JWKS refresh failed, serving cached keys: " + e.getMessage());
+        }
+    }
+
+    private Map<String, PublicKey> parseKeys(String body) throws IOException {
+        JsonNode root = objectMapper.readTree(body);
+        Map<String, PublicKey> parsed = new HashMap<>();
+
+        for (JsonNode jwk : root.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.get("e").asText()));
+                PublicKey key = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+                parsed.put(jwk.get("kid").asText(), key);
+            } catch (GeneralSecurityException | IllegalArgumentException | NullPointerException e) {
+                LOG.log(Level.WARNING, "Skipping malformed JWK: " + e.getMessage());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -0,0 +1,39 @@
+package com.haiintel.authverifier;
+
+import java.time.Instant;
+
+/**
+ * Local revocation lookup consulted after signature and claim checks.
+ *
+ * Implementations must answer from memory: the point of the verifier is to keep
+ * the auth-service (and Redis) off the downstream request path.
+ */
+@FunctionalInterface
+public interface RevocationChecker {
+
+    /**
+     * Accepts every token (no revocation feed subscribed).
+     */
+    RevocationChecker NONE = (jti, subject, issuedAt) -> false;
+
+    /**
+     * Check whether a token is revoked, either individually (by jti) or through
+     * a revoke-all for its subject issued after the token.
+     *
+     * @param jti      JWT ID
+     * @param subject  User email / client ID
+     * @param issuedAt Token issued time
+     * @return true if the token must be rejected
+     */
+    boolean isRevoked(String jti, String subject, Instant issuedAt);
+
+    /**
+     * Same check for a token that may carry a revocation generation ("gen" claim).
+     * Checkers that track generations override this; the default ignores it.
+     *
+     * @param generation "gen" claim, or null for tokens issued without one
+     */
+    default boolean isRevoked(String jti, String subject, Instant issuedAt, Long generation) {
+        return isRevoked(jti, subject, issuedAt);
+    }
+}
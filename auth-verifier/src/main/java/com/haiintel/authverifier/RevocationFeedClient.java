@@ -0,0 +1,209 @@
+package com.haiintel.authverifier;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * In-memory deny-list kept current from the auth-service revocation feed.
+ *
+ * Bootstraps from GET /api/v1/revocations/snapshot, then long-polls
+ * GET /api/v1/revocations/events?after={sequence} on a daemon thread.
+ * Lookups never leave the process and apply the auth-service's own rules:
+ * cutoffs compare whole seconds of iat, and tokens carrying a "gen" claim are
+ * checked against the user's revocation generation instead of the cutoff.
+ *
+ * <pre>
+ * RevocationFeedClient feed = new RevocationFeedClient(URI.create("https://auth.haiintel.com"), tokenSupplier);
+ * feed.start();
+ * TokenVerifier verifier = TokenVerifier.builder()...revocationChecker(feed).build();
+ * </pre>
+ *
+ * The bearer token supplier must return a token accepted by the feed
+ * endpoints: a client-credentials token with the revocations.read scope.
+ */
+public class RevocationFeedClient implements RevocationChecker, AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(RevocationFeedClient.class.getName());
+    private static final int WAIT_SECONDS = 25;
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final Supplier<String> bearerToken;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedUsers = new ConcurrentHashMap<>();  // email -> cutoff epoch second
+    private final Map<String, Long> userGenerations = new ConcurrentHashMap<>();  // email -> current generation
+    private volatile long notBefore;  // Global epoch second: tokens issued before it are revoked
+    private volatile long sequence;
+    private volatile boolean running;
+    private Thread worker;
+
+    public RevocationFeedClient(URI baseUri, Supplier<String> bearerToken) {
+        this(baseUri, bearerToken, HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build());
+    }
+
+    public RevocationFeedClient(URI baseUri, Supplier<String> bearerToken, HttpClient httpClient) {
+        this.baseUri = baseUri;
+        this.bearerToken = bearerToken;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Load the snapshot synchronously, then follow the feed in the background.
+     *
+     * @throws IOException if the snapshot cannot be loaded
+     */
+    public synchronized void start() throws IOException {
+        loadSnapshot();
+        running = true;
+        worker = new Thread(this::follow, "revocation-feed");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public boolean isRevoked(String jti, String subject, Instant issuedAt) {
+        return isRevoked(jti, subject, issuedAt, null);
+    }
+
+    @Override
+    public boolean isRevoked(String jti, String subject, Instant issuedAt, Long generation) {
+        long issuedAtSecond = issuedAt.getEpochSecond();
+        if (issuedAtSecond < notBefore || revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        String email = subject.strip().toLowerCase(Locale.ROOT);
+        if (generation != null) {
+            Long current = userGenerations.get(email);
+            return current != null && generation < current;
+        }
+        Long cutoff = revokedUsers.get(email);
+        return cutoff != null && issuedAtSecond < cutoff;
+    }
+
+    /**
+     * Last sequence number applied to the local deny-list.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void loadSnapshot() throws IOException {
+        JsonNode snapshot = get("/api/v1/revocations/snapshot");
+        snapshot.path("revokedTokens").fields()
+                .forEachRemaining(e -> revokedTokens.put(e.getKey(), Instant.parse(e.getValue().asText())));
+        snapshot.path("revokedUsers").fields()
+                .forEachRemaining(e -> revokedUsers.merge(e.getKey(), epochSecond(e.getValue()), Math::max));
+        snapshot.path("userGenerations").fields()
+                .forEachRemaining(e -> userGenerations.merge(e.getKey(), e.getValue().asLong(), Math::max));
+        if (snapshot.hasNonNull("notBefore")) {
+            notBefore = Math.max(notBefore, epochSecond(snapshot.path("notBefore")));
+        }
+        sequence = snapshot.path("sequence").asLong();
+        LOG.log(Level.INFO, "Revocation snapshot loaded: seq={0}, tokens={1}, users={2}",
+                sequence, revokedTokens.size(), revokedUsers.size());
+    }
+
+    private void follow() {
+        Duration backoff = Duration.ofSeconds(1);
+        while (running) {
+            try {
+                JsonNode events = get("/api/v1/revocations/events?after=" + sequence + "&waitSeconds=" + WAIT_SECONDS);
+                for (JsonNode event : events) {
+                    apply(event);
+                }
+                evictExpired();
+                backoff = Duration.ofSeconds(1);
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Revocation feed poll failed, retrying in " + backoff + ": " + e.getMessage());
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private void apply(JsonNode event) {
+        long eventSequence = event.path("sequence").asLong();
+        if (eventSequence <= sequence) {
+            return;
+        }
+        switch (event.path("type").asText()) {
+            case "TOKEN_REVOKED" -> revokedTokens.put(event.path("jti").asText(),
+                    Instant.parse(event.path("expiresAt").asText()));
+            case "USER_TOKENS_REVOKED" -> {
+                String email = event.path("email").asText();
+                revokedUsers.merge(email, epochSecond(event.path("revokedBefore")), Math::max);
+                if (event.hasNonNull("generation")) {
+                    userGenerations.merge(email, event.path("generation").asLong(), Math::max);
+                }
+            }
+            case "ALL_TOKENS_REVOKED" -> notBefore = Math.max(notBefore, epochSecond(event.path("revokedBefore")));
+            default -> LOG.log(Level.DEBUG, "Ignoring revocation event type {0}", event.path("type").asText());
+        }
+        sequence = eventSequence;
+    }
+
+    /**
+     * Drop deny-list entries that can no longer match a live token.
+     */
+    private void evictExpired() {
+        Instant now = Instant.now();
+        for (Iterator<Instant> it = revokedTokens.values().iterator(); it.hasNext();) {
+            if (it.next().isBefore(now)) {
+                it.remove();
+            }
+        }
+    }
+
+    private JsonNode get(String pathAndQuery) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+                .timeout(Duration.ofSeconds(WAIT_SECONDS + 5))
+                .header("Authorization", "Bearer " + bearerToken.get())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode() + " from " + pathAndQuery);
+            }
+            return objectMapper.readTree(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    private static long epochSecond(JsonNode instant) {
+        return Instant.parse(instant.asText()).getEpochSecond();
+    }
+}
@@ -0,0 +1,35 @@
+package com.haiintel.authverifier;
+
+/**
+ * Exception thrown when a token fails verification.
+ */
+public class TokenVerificationException extends RuntimeException {
+
+    /**
+     * Why verification failed, coarse enough to use as a metric tag.
+     */
+    public enum Reason {
+        MALFORMED,
+        UNKNOWN_KEY,
+        INVALID_SIGNATURE,
+        EXPIRED,
+        INVALID_CLAIMS,
+        REVOKED
+    }
+
+    private final Reason reason;
+
+    public TokenVerificationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public TokenVerificationException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
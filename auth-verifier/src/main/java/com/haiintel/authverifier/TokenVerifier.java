@@ -0,0 +1,182 @@
+package com.haiintel.authverifier;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Verifies auth-service tokens locally, applying the same checks as the
+ * service's own JwtService.validateToken:
+ * - RS256 signature with the key selected by the kid header
+ * - issuer and audience
+ * - expiration (optional clock skew)
+ * - subject present and role one of ADMIN, EMPLOYEE, INTERN
+ * - revocation (jti deny-list and per-user cutoff) via {@link RevocationChecker}
+ *
+ * Only JWTs are accepted; CWTs issued to {@code jwt.cwt.clients} fail as MALFORMED.
+ *
+ * The underlying parser is built once and is thread-safe; share one instance.
+ *
+ * <pre>
+ * TokenVerifier verifier = TokenVerifier.builder()
+ *         .keyStore(new JwksKeyStore(URI.create("https://auth.haiintel.com/.well-known/jwks.json")))
+ *         .issuer("hai-intel-auth-service")
+ *         .audience("hai-indexer")
+ *         .build();
+ * VerifiedToken token = verifier.verify(bearerToken);
+ * </pre>
+ */
+public final class TokenVerifier {
+
+    private static final Set<String> ROLES = Set.of("ADMIN", "EMPLOYEE", "INTERN");
+
+    private final JwtParser parser;
+    private final RevocationChecker revocationChecker;
+
+    private TokenVerifier(Builder builder) {
+        JwksKeyStore keyStore = Objects.requireNonNull(builder.keyStore, "keyStore");
+        this.revocationChecker = builder.revocationChecker;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        Key key = header.getKeyId() == null ? null : keyStore.getKey(header.getKeyId());
+                        if (key == null) {
+                            throw new TokenVerificationException(TokenVerificationException.Reason.UNKNOWN_KEY,
+                                    "Unknown signing key: kid=" + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireIssuer(Objects.requireNonNull(builder.issuer, "issuer"))
+                .requireAudience(Objects.requireNonNull(builder.audience, "audience"))
+                .clockSkewSeconds(builder.clockSkew.getSeconds())
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Verify a token and return its claims.
+     *
+     * @param token Compact JWS (without the "Bearer " prefix)
+     * @return Verified claims
+     * @throws TokenVerificationException if any check fails
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims;
+        String kid;
+        try {
+            var jws = parser.parseSignedClaims(token);
+            claims = jws.getPayload();
+            kid = jws.getHeader().getKeyId();
+        } catch (TokenVerificationException e) {
+            throw e;
+        } catch (ExpiredJwtException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.EXPIRED, "Token expired", e);
+        } catch (SignatureException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.INVALID_SIGNATURE,
+                    "Invalid signature", e);
+        } catch (IncorrectClaimException | MissingClaimException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.INVALID_CLAIMS, e.getMessage(), e);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, e.getMessage(), e);
+        }
+
+        String subject = claims.getSubject();
+        String role = claims.get("role", String.class);
+        if (subject == null || claims.getId() == null || claims.getIssuedAt() == null || !ROLES.contains(role)) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.INVALID_CLAIMS,
+                    "Missing sub/jti/iat or unknown role");
+        }
+
+        Instant issuedAt = claims.getIssuedAt().toInstant();
+        Long generation = claims.get("gen") instanceof Number gen ? gen.longValue() : null;
+        if (revocationChecker.isRevoked(claims.getId(), subject, issuedAt, generation)) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.REVOKED, "Token has been revoked");
+        }
+
+        String scope = claims.get("scope", String.class);
+        return new VerifiedToken(
+                subject,
+                claims.get("name", String.class),
+                role,
+                stringList(claims.get("groups")),
+                stringList(claims.get("grp")),
+                scope == null || scope.isBlank() ? List.of() : Arrays.asList(scope.split(" ")),
+                claims.getId(),
+                issuedAt,
+                claims.getExpiration().toInstant(),
+                kid);
+    }
+
+    private static List<String> stringList(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream().map(String::valueOf).toList();
+    }
+
+    /**
+     * Builder for {@link TokenVerifier}.
+     */
+    public static final class Builder {
+        private JwksKeyStore keyStore;
+        private String issuer;
+        private String audience;
+        private Duration clockSkew = Duration.ZERO;
+        private RevocationChecker revocationChecker = RevocationChecker.NONE;
+
+        private Builder() {
+        }
+
+        public Builder keyStore(JwksKeyStore keyStore) {
+            this.keyStore = keyStore;
+            return this;
+        }
+
+        public Builder issuer(String issuer) {
+            this.issuer = issuer;
+            return this;
+        }
+
+        public Builder audience(String audience) {
+            this.audience = audience;
+            return this;
+        }
+
+        public Builder clockSkew(Duration clockSkew) {
+            this.clockSkew = clockSkew;
+            return this;
+        }
+
+        /**
+         * Optional local revocation lookup (defaults to {@link RevocationChecker#NONE}).
+         */
+        public Builder revocationChecker(RevocationChecker revocationChecker) {
+            this.revocationChecker = revocationChecker;
+            return this;
+        }
+
+        public TokenVerifier build() {
+            return new TokenVerifier(this);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.haiintel.authverifier;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Claims of a token that passed signature, claim and revocation checks.
+ * Immutable value object.
+ *
+ * @param subject   User email (or client ID for client-credentials tokens)
+ * @param name        Display name (null for role-only tokens)
+ * @param role        ADMIN, EMPLOYEE or INTERN
+ * @param groups      Group emails (empty for service tokens and compact claim profiles)
+ * @param groupHashes Group hashes of hashed-groups tokens, otherwise empty
+ * @param scopes    Granted scopes (client-credentials tokens only, otherwise empty)
+ * @param jti       JWT ID
+ * @param issuedAt  iat claim
+ * @param expiresAt exp claim
+ * @param keyId     kid header (RFC 7638 thumbprint of the signing key)
+ */
+public record VerifiedToken(
+        String subject,
+        String name,
+        String role,
+        List<String> groups,
+        List<String> groupHashes,
+        List<String> scopes,
+        String jti,
+        Instant issuedAt,
+        Instant expiresAt,
+        String keyId) {
+
+    /**
+     * Group membership check that works for both full and hashed-groups tokens.
+     */
+    public boolean isMemberOf(String groupEmail) {
+        return groups.stream().anyMatch(groupEmail::equalsIgnoreCase)
+                || (!groupHashes.isEmpty() && groupHashes.contains(groupHash(groupEmail)));
+    }
+
+    /**
+     * Group hash as issued by the auth service: base64url of the first 9 bytes of
+     * SHA-256(lowercase group email).
+     */
+    public static String groupHash(String groupEmail) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(groupEmail.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 9));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
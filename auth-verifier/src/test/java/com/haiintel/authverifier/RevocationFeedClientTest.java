@@ -0,0 +1,110 @@
+package com.haiintel.authverifier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RevocationFeedClient against a local feed: same revocation rules as the auth-service.
+ */
+class RevocationFeedClientTest {
+
+    private static final Instant FUTURE = Instant.now().plusSeconds(3600);
+
+    private HttpServer server;
+    private RevocationFeedClient feed;
+    private final AtomicBoolean eventSent = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/revocations/snapshot", exchange -> respond(exchange, """
+                {"sequence": 3,
+                 "revokedTokens": {"jti-revoked": "%s"},
+                 "revokedUsers": {"user@haiintel.com": "2026-01-01T00:00:10.500Z"},
+                 "userGenerations": {"user@haiintel.com": 3},
+                 "notBefore": "2026-01-01T00:00:05.900Z"}
+                """.formatted(FUTURE)));
+        server.createContext("/api/v1/revocations/events", exchange -> {
+            if (eventSent.compareAndSet(false, true)) {
+                respond(exchange, """
+                        [{"sequence": 4, "type": "USER_TOKENS_REVOKED", "email": "other@haiintel.com",
+                          "revokedBefore": "2026-01-01T00:01:00Z", "generation": 2}]
+                        """);
+            } else {
+                sleep();
+                respond(exchange, "[]");
+            }
+        });
+        server.start();
+
+        feed = new RevocationFeedClient(URI.create("http://127.0.0.1:" + server.getAddress().getPort()), () -> "token");
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldCompareCutoffsInWholeSeconds() {
+        // Cutoff 00:00:10.500: a token issued during second 10 predates it only by milliseconds the token does not carry
+        assertFalse(feed.isRevoked("jti-1", "user@haiintel.com", Instant.parse("2026-01-01T00:00:10Z")));
+        assertTrue(feed.isRevoked("jti-1", "user@haiintel.com", Instant.parse("2026-01-01T00:00:09Z")));
+        assertTrue(feed.isRevoked("jti-1", " User@HaiIntel.com", Instant.parse("2026-01-01T00:00:09Z")));
+
+        assertFalse(feed.isRevoked("jti-1", "someone@haiintel.com", Instant.parse("2026-01-01T00:00:05Z")));
+        assertTrue(feed.isRevoked("jti-1", "someone@haiintel.com", Instant.parse("2026-01-01T00:00:04Z")));
+        assertTrue(feed.isRevoked("jti-revoked", "someone@haiintel.com", Instant.parse("2026-01-01T00:00:30Z")));
+    }
+
+    @Test
+    void shouldCheckGenerationInsteadOfCutoff() {
+        Instant beforeCutoff = Instant.parse("2026-01-01T00:00:09Z");
+
+        assertFalse(feed.isRevoked("jti-1", "user@haiintel.com", beforeCutoff, 3L));
+        assertTrue(feed.isRevoked("jti-1", "user@haiintel.com", Instant.now(), 2L));
+        assertFalse(feed.isRevoked("jti-1", "someone@haiintel.com", beforeCutoff, 0L));
+    }
+
+    @Test
+    void shouldApplyFeedEvents() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (feed.getSequence() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(4, feed.getSequence());
+        assertTrue(feed.isRevoked("jti-1", "other@haiintel.com", Instant.now(), 1L));
+        assertFalse(feed.isRevoked("jti-1", "other@haiintel.com", Instant.now(), 2L));
+        assertTrue(feed.isRevoked("jti-1", "other@haiintel.com", Instant.parse("2026-01-01T00:00:59Z")));
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.haiintel.authverifier;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TokenVerifier and JwksKeyStore against a local JWKS endpoint.
+ */
+class TokenVerifierTest {
+
+    private static final String KID = "test-kid";
+
+    private HttpServer server;
+    private KeyPair keyPair;
+    private final AtomicInteger fullResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String cacheControl = "max-age=300, public";
+    private volatile CountDownLatch release;
+    private JwksKeyStore keyStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        byte[] jwks = ("{\"keys\":[{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + KID + "\","
+                + "\"n\":\"" + unsigned(publicKey.getModulus()) + "\",\"e\":\"" + unsigned(publicKey.getPublicExponent())
+                + "\"}]}").getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            CountDownLatch gate = release;
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.getResponseHeaders().add("ETag", "\"" + KID + "\"");
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            if (("\"" + KID + "\"").equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                fullResponses.incrementAndGet();
+                exchange.sendResponseHeaders(200, jwks.length);
+                exchange.getResponseBody().write(jwks);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        keyStore = new JwksKeyStore(
+                URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldVerifyValidToken() {
+        TokenVerifier verifier = verifier(RevocationChecker.NONE);
+
+        VerifiedToken token = verifier.verify(issue(KID, "hai-indexer", Instant.now().plusSeconds(3600)));
+
+        assertEquals("john@haiintel.com", token.subject());
+        assertEquals("EMPLOYEE", token.role());
+        assertEquals(List.of("employees@haiintel.com"), token.groups());
+        assertEquals(KID, token.keyId());
+    }
+
+    @Test
+    void shouldMatchGroupsByHash() {
+        VerifiedToken token = new VerifiedToken("john@haiintel.com", "John", "EMPLOYEE", List.of(),
+                List.of("u0k6q6T_8HRh"), List.of(), "jti", Instant.now(), Instant.now().plusSeconds(60), KID);
+
+        assertTrue(token.isMemberOf("Employees@haiintel.com"));
+        assertFalse(token.isMemberOf("admins@haiintel.com"));
+    }
+
+    @Test
+    void shouldRevalidateJwksWithEtag() throws Exception {
+        keyStore.refresh();
+        keyStore.refresh();
+
+        assertEquals(1, fullResponses.get());
+        assertEquals(1, notModifiedResponses.get());
+        assertNotNull(keyStore.getKey(KID));
+    }
+
+    @Test
+    void shouldServeStaleKeysWhileOneBackgroundRefreshRuns() throws Exception {
+        cacheControl = "max-age=0";
+        keyStore.refresh();
+        release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                lookups.add(pool.submit(() -> assertNotNull(keyStore.getKey(KID))));
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get(1, TimeUnit.SECONDS);  // Not held up by the blocked fetch
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        release.countDown();
+        awaitCount(notModifiedResponses, 1);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void shouldFetchOnceForConcurrentUnknownKids() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                lookups.add(pool.submit(() -> assertNull(keyStore.getKey("rotated-away"))));
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, requests.get());
+        assertNotNull(keyStore.getKey(KID));
+    }
+
+    @Test
+    void shouldRejectUnknownKid() {
+        TokenVerifier verifier = verifier(RevocationChecker.NONE);
+
+        TokenVerificationException e = assertThrows(TokenVerificationException.class,
+                () -> verifier.verify(issue("rotated-away", "hai-indexer", Instant.now().plusSeconds(3600))));
+        assertEquals(TokenVerificationException.Reason.UNKNOWN_KEY, e.getReason());
+    }
+
+    @Test
+    void shouldRejectCwtAsMalformed() {
+        TokenVerifier verifier = verifier(RevocationChecker.NONE);
+        // COSE_Sign1 tag + protected header, base64url: no JWT segments
+        String cwt = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(new byte[]{(byte) 0xd2, (byte) 0x84, 0x43, (byte) 0xa1, 0x01, 0x38});
+
+        TokenVerificationException e = assertThrows(TokenVerificationException.class, () -> verifier.verify(cwt));
+        assertEquals(TokenVerificationException.Reason.MALFORMED, e.getReason());
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        TokenVerifier verifier = verifier(RevocationChecker.NONE);
+
+        TokenVerificationException e = assertThrows(TokenVerificationException.class,
+                () -> verifier.verify(issue(KID, "hai-indexer", Instant.now().minusSeconds(60))));
+        assertEquals(TokenVerificationException.Reason.EXPIRED, e.getReason());
+    }
+
+    @Test
+    void shouldRejectWrongAudience() {
+        TokenVerifier verifier = verifier(RevocationChecker.NONE);
+
+        TokenVerificationException e = assertThrows(TokenVerificationException.class,
+                () -> verifier.verify(issue(KID, "other-service", Instant.now().plusSeconds(3600))));
+        assertEquals(TokenVerificationException.Reason.INVALID_CLAIMS, e.getReason());
+    }
+
+    @Test
+    void shouldRejectRevokedToken() {
+        TokenVerifier verifier = verifier((jti, subject, issuedAt) -> "jti-1".equals(jti));
+
+        TokenVerificationException e = assertThrows(TokenVerificationException.class,
+                () -> verifier.verify(issue(KID, "hai-indexer", Instant.now().plusSeconds(3600))));
+        assertEquals(TokenVerificationException.Reason.REVOKED, e.getReason());
+    }
+
+    @Test
+    void shouldPassGenerationToRevocationChecker() {
+        AtomicReference<Long> generation = new AtomicReference<>();
+        TokenVerifier verifier = verifier(new RevocationChecker() {
+            @Override
+            public boolean isRevoked(String jti, String subject, Instant issuedAt) {
+                throw new AssertionError("generation-aware check expected");
+            }
+
+            @Override
+            public boolean isRevoked(String jti, String subject, Instant issuedAt, Long gen) {
+                generation.set(gen);
+                return false;
+            }
+        });
+
+        verifier.verify(issue(KID, "hai-indexer", Instant.now().plusSeconds(3600)));
+
+        assertEquals(7L, generation.get());
+    }
+
+    private static void awaitCount(AtomicInteger counter, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, counter.get());
+    }
+
+    private TokenVerifier verifier(RevocationChecker revocationChecker) {
+        return TokenVerifier.builder()
+                .keyStore(keyStore)
+                .issuer("hai-intel-auth-service")
+                .audience("hai-indexer")
+                .clockSkew(Duration.ZERO)
+                .revocationChecker(revocationChecker)
+                .build();
+    }
+
+    private String issue(String kid, String audience, Instant expiresAt) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("john@haiintel.com")
+                .claim("name", "John")
+                .claim("role", "EMPLOYEE")
+                .claim("gen", 7L)
+                .claim("groups", List.of("employees@haiintel.com"))
+                .issuer("hai-intel-auth-service")
+                .audience().add(audience).and()
+                .issuedAt(Date.from(Instant.now().minusSeconds(120)))
+                .expiration(Date.from(expiresAt))
+                .id("jti-1")
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
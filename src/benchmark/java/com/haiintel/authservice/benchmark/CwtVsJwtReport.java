@@ -0,0 +1,115 @@
+package com.haiintel.authservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haiintel.authservice.domain.service.CwtCodec;
+import io.jsonwebtoken.Jwts;
+
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Size and parse time of the same token as a JWT and as a CWT (jwt.cwt.clients).
+ *
+ * Tokens carry the claims JwtService issues (role, gen, name, groups, scope plus the
+ * registered claims) for 0, 10 and 40 groups. Times are per token on one thread after
+ * warm-up, for a full verify (RS256 signature + decode) and for decoding the claims
+ * only (base64url + JSON versus base64url + CBOR), which is the part the format changes.
+ *
+ * mvn -Pbenchmark test-compile exec:java -Dexec.mainClass=com.haiintel.authservice.benchmark.CwtVsJwtReport
+ */
+public final class CwtVsJwtReport {
+
+    private static final int[] GROUP_COUNTS = {0, 10, 40};
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+
+        System.out.printf("%-7s %9s %9s %14s %14s %14s %14s%n", "groups", "jwt B", "cwt B",
+                "jwt verify", "cwt verify", "jwt decode", "cwt decode");
+        for (int groupCount : GROUP_COUNTS) {
+            Map<String, Object> claims = claims(groupCount);
+            Instant now = Instant.now();
+            UUID id = UUID.randomUUID();
+            String jwt = Jwts.builder()
+                    .header().keyId("kid").and()
+                    .subject("alice@haiintel.com")
+                    .claims(claims)
+                    .issuer("hai-intel-auth-service")
+                    .audience().add("hai-indexer").and()
+                    .issuedAt(Date.from(now))
+                    .expiration(Date.from(now.plusSeconds(3600)))
+                    .id(id.toString())
+                    .signWith(keys.getPrivate())
+                    .compact();
+            Map<Object, Object> cwtClaims = new LinkedHashMap<>();
+            cwtClaims.put(CwtCodec.ISS, "hai-intel-auth-service");
+            cwtClaims.put(CwtCodec.SUB, "alice@haiintel.com");
+            cwtClaims.put(CwtCodec.AUD, "hai-indexer");
+            cwtClaims.put(CwtCodec.EXP, now.plusSeconds(3600).getEpochSecond());
+            cwtClaims.put(CwtCodec.IAT, now.getEpochSecond());
+            cwtClaims.put(CwtCodec.CTI, ByteBuffer.allocate(16)
+                    .putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array());
+            cwtClaims.putAll(claims);
+            String cwt = CwtCodec.sign(cwtClaims, "kid", keys.getPrivate());
+
+            var parser = Jwts.parser().verifyWith(keys.getPublic()).build();
+            System.out.printf("%-7d %9d %9d %11.1f us %11.1f us %11.2f us %11.2f us%n", groupCount,
+                    jwt.length(), cwt.length(),
+                    micros(jwt, token -> parser.parseSignedClaims(token).getPayload()),
+                    micros(cwt, token -> CwtCodec.verify(token, keys.getPublic())),
+                    micros(jwt, CwtVsJwtReport::decodeJwtClaims),
+                    micros(cwt, CwtCodec::claimsUnverified));
+        }
+    }
+
+    private static Map<String, Object> claims(int groupCount) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", "ADMIN");
+        claims.put("gen", 3L);
+        claims.put("name", "Alice Example");
+        claims.put("groups", IntStream.range(0, groupCount)
+                .mapToObj(i -> "engineering-team-" + i + "@haiintel.com").toList());
+        claims.put("scope", "indexer.read indexer.write");
+        return claims;
+    }
+
+    private static Object decodeJwtClaims(String token) {
+        int start = token.indexOf('.') + 1;
+        String payload = token.substring(start, token.indexOf('.', start));
+        try {
+            return JSON.readValue(Base64.getUrlDecoder().decode(payload), Map.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double micros(String token, Function<String, Object> operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink = operation.apply(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.apply(token);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private CwtVsJwtReport() {
+    }
+}
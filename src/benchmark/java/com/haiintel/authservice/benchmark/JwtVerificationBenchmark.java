@@ -0,0 +1,94 @@
+package com.haiintel.authservice.benchmark;
+
+import com.haiintel.authservice.domain.service.FastJwtVerifier;
+import com.haiintel.authservice.domain.service.TemplateJwtEncoder;
+import com.haiintel.authservice.domain.service.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Verifying one RS256 user token (10 groups): jjwt with a parser built per call (the
+ * previous JwtService path), jjwt with a prebuilt parser (the reference path) and
+ * {@link FastJwtVerifier}. Run with the GC profiler for allocation per operation:
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtVerificationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String KID = "2PvPVceeatQcVq5jcw3SRnKGsdIwNN17zA5l7kW7T6Y";
+    private static final String ISSUER = "hai-intel-auth-service";
+    private static final String AUDIENCE = "hai-indexer";
+
+    private KeyPair keys;
+    private String token;
+    private JwtParser parser;
+    private FastJwtVerifier verifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keys = generator.generateKeyPair();
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", "ADMIN");
+        claims.put("gen", 3L);
+        claims.put("name", "Alice Example");
+        claims.put("groups", IntStream.range(0, 10).mapToObj(i -> "engineering-team-" + i + "@haiintel.com").toList());
+        long now = Instant.now().getEpochSecond();
+        token = new TemplateJwtEncoder(keys.getPrivate(), KID)
+                .encode("alice@haiintel.com", claims, ISSUER, AUDIENCE, now, now + 86_400, "8f14e45f-ceea-467f-a0e6-0123456789ab");
+
+        parser = newParser();
+        verifier = new FastJwtVerifier(keys.getPublic(), KID, ISSUER, AUDIENCE);
+    }
+
+    @Benchmark
+    public Claims jjwtParserPerCall() {
+        return newParser().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims jjwtPrebuiltParser() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public TokenClaims fastVerifier() {
+        return verifier.verify(token);
+    }
+
+    private JwtParser newParser() {
+        return Jwts.parser()
+                .verifyWith(keys.getPublic())
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.haiintel.authservice.benchmark;
+
+import com.haiintel.authservice.domain.port.RateLimitPermitStore;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRateLimitPermitStore;
+import com.haiintel.authservice.infrastructure.security.LeasingRateLimiter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accuracy versus store overhead of cluster-wide rate limiting with permit leasing.
+ *
+ * Simulates 3 pods behind a random load balancer sharing one limit for one client,
+ * in virtual time, with Poisson arrivals at several offered rates: a per-user
+ * limit (60/min) and a busy shared key (1200/min, e.g. JWKS behind a NAT). Compares per-pod buckets (rate-limiting.mode:
+ * local), exact shared buckets (lease size 1) and leased batches, reporting
+ * admitted requests against the exact limit and store calls (Redis round trips)
+ * per request. The store is the in-memory stand-in, so this measures the
+ * algorithm, not Redis latency.
+ *
+ * mvn -Pbenchmark test-compile exec:java -Dexec.mainClass=com.haiintel.authservice.benchmark.RateLimitLeasingReport
+ */
+public final class RateLimitLeasingReport {
+
+    private static final int PODS = 3;
+    private static final Duration PERIOD = Duration.ofMinutes(1);
+    private static final Duration RUN = Duration.ofMinutes(30);
+    private static final int[] LIMITS = {60, 1200};
+    private static final double[][] OFFERED_PER_SECOND = {{0.9, 2, 20, 200}, {18, 40, 400}};
+
+    public static void main(String[] args) {
+        System.out.printf("%d pods, %s of Poisson arrivals per offered rate%n", PODS, RUN);
+        for (int l = 0; l < LIMITS.length; l++) {
+            int limit = LIMITS[l];
+            System.out.printf("%nLimit %d/min per client%n", limit);
+            System.out.printf("%-34s %9s %10s %10s %12s%n", "strategy", "offered", "admitted", "vs exact", "calls/req");
+            for (double rate : OFFERED_PER_SECOND[l]) {
+                Result exact = simulate(limit, rate, 1, Duration.ofSeconds(1), true);
+                print("exact shared bucket (lease 1)", rate, exact, exact);
+                print("per-pod buckets (mode: local)", rate, simulate(limit, rate, 1, Duration.ofSeconds(1), false), exact);
+                for (double fraction : new double[] {0.05, 0.1, 0.25}) {
+                    int maxLease = Math.max(1, (int) (limit * fraction));
+                    print(String.format("leased, max %d, ttl 1s", maxLease), rate,
+                            simulate(limit, rate, maxLease, Duration.ofSeconds(1), true), exact);
+                }
+                int defaultLease = Math.max(1, limit / 10);
+                for (long ttlMs : new long[] {250, 5000}) {
+                    print(String.format("leased, max %d, ttl %dms", defaultLease, ttlMs), rate,
+                            simulate(limit, rate, defaultLease, Duration.ofMillis(ttlMs), true), exact);
+                }
+                System.out.println();
+            }
+        }
+    }
+
+    private static Result simulate(int limit, double perSecond, int maxLease, Duration leaseTtl, boolean shared) {
+        AtomicLong clock = new AtomicLong();
+        AtomicLong storeCalls = new AtomicLong();
+        InMemoryRateLimitPermitStore sharedStore = new InMemoryRateLimitPermitStore(clock::get);
+        LeasingRateLimiter[] pods = new LeasingRateLimiter[PODS];
+        for (int i = 0; i < PODS; i++) {
+            InMemoryRateLimitPermitStore backing = shared ? sharedStore : new InMemoryRateLimitPermitStore(clock::get);
+            RateLimitPermitStore counted = (key, requested, capacity, refillPeriod) -> {
+                storeCalls.incrementAndGet();
+                return backing.lease(key, requested, capacity, refillPeriod);
+            };
+            pods[i] = new LeasingRateLimiter("sim", counted, limit, PERIOD, maxLease, leaseTtl, 1000,
+                    CircuitBreaker.ofDefaults("sim"), new SimpleMeterRegistry(), clock::get);
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / perSecond;
+        long end = RUN.toNanos();
+        long requests = 0;
+        long admitted = 0;
+        for (long now = 0; now < end; now += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos)) {
+            clock.set(now);
+            requests++;
+            if (pods[random.nextInt(PODS)].tryAcquire("user:a@haiintel.com") == 0) {
+                admitted++;
+            }
+        }
+        return new Result(requests, admitted, storeCalls.get());
+    }
+
+    private static void print(String strategy, double rate, Result result, Result exact) {
+        System.out.printf("%-34s %7.1f/s %10d %9.1f%% %12.3f%n", strategy, rate, result.admitted,
+                100.0 * result.admitted / exact.admitted, (double) result.storeCalls / result.requests);
+    }
+
+    private record Result(long requests, long admitted, long storeCalls) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.haiintel.authservice.benchmark;
+
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import com.haiintel.authservice.infrastructure.repository.InMemoryTokenRevocationRepository;
+import com.haiintel.authservice.infrastructure.repository.MappedFileTokenRevocationRepository;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory footprint of the local revocation stores per million revoked jtis.
+ *
+ * Heap sizes are measured with JOL (retained object graph, jti strings included);
+ * the file store's off-heap index is reported separately.
+ *
+ * MAVEN_OPTS="-Xmx4g -Djol.magicFieldOffset=true" \
+ *   mvn -Pbenchmark test-compile exec:java -Dexec.mainClass=com.haiintel.authservice.benchmark.RevocationFootprintReport
+ */
+public final class RevocationFootprintReport {
+
+    private static final int JTIS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        String[] jtis = new String[JTIS];
+        for (int i = 0; i < JTIS; i++) {
+            jtis[i] = UUID.randomUUID().toString();
+        }
+        long jtiBytes = GraphLayout.parseInstance((Object) jtis).totalSize() - VM.current().sizeOf(jtis);
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        // Baseline: what a naive ConcurrentHashMap<String, Instant> deny-list costs
+        ConcurrentHashMap<String, Instant> naive = new ConcurrentHashMap<>();
+        for (String jti : jtis) {
+            naive.put(jti, expiresAt);
+        }
+        long naiveBytes = GraphLayout.parseInstance(naive).totalSize();
+        naive = null;
+
+        InMemoryTokenRevocationRepository memory = new InMemoryTokenRevocationRepository(new JwtProperties());
+        for (String jti : jtis) {
+            memory.revokeToken(jti, "user@haiintel.com", expiresAt);
+        }
+        long memoryBytes = GraphLayout.parseInstance(memory).totalSize();
+        memory = null;
+
+        Path dir = Files.createTempDirectory("revocation-footprint");
+        TokenRevocationProperties properties = new TokenRevocationProperties();
+        properties.getFile().setPath(dir.resolve("revocations.log").toString());
+        MappedFileTokenRevocationRepository file = new MappedFileTokenRevocationRepository(properties, new JwtProperties());
+        file.open();
+        for (String jti : jtis) {
+            file.revokeToken(jti, "user@haiintel.com", expiresAt);
+        }
+        long fileIndexBytes = file.indexFootprintBytes();
+        long fileLogBytes = Files.size(dir.resolve("revocations.log"));
+        file.close();
+
+        System.out.printf("Revocation store footprint for %,d jtis (UUID strings: %s)%n", JTIS, mib(jtiBytes));
+        System.out.printf("  %-44s %10s  %6s B/jti%n", "ConcurrentHashMap<String, Instant> (no expiry)", mib(naiveBytes), naiveBytes / JTIS);
+        System.out.printf("  %-44s %10s  %6s B/jti%n", "memory store (heap, incl. jti strings)", mib(memoryBytes), memoryBytes / JTIS);
+        System.out.printf("  %-44s %10s  %6s B/jti%n", "file store index (off-heap, hashed keys)", mib(fileIndexBytes), fileIndexBytes / JTIS);
+        System.out.printf("  %-44s %10s  %6s B/jti%n", "file store log (disk / page cache)", mib(fileLogBytes), fileLogBytes / JTIS);
+    }
+
+    private static String mib(long bytes) {
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+}
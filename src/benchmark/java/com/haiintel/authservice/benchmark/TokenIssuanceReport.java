@@ -0,0 +1,101 @@
+package com.haiintel.authservice.benchmark;
+
+import com.haiintel.authservice.domain.service.TemplateJwtEncoder;
+import io.jsonwebtoken.Jwts;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of issuing one RS256 token: jjwt builder versus {@link TemplateJwtEncoder},
+ * against the bare RSA signature as the floor.
+ *
+ * Claims as JwtService issues them, with 10 groups. Reports time and heap allocated
+ * per token (one thread, after warm-up); allocation is read from the thread's
+ * allocation counter (com.sun.management.ThreadMXBean).
+ *
+ * mvn -Pbenchmark test-compile exec:java -Dexec.mainClass=com.haiintel.authservice.benchmark.TokenIssuanceReport
+ */
+public final class TokenIssuanceReport {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", "ADMIN");
+        claims.put("gen", 3L);
+        claims.put("name", "Alice Example");
+        claims.put("groups", IntStream.range(0, 10).mapToObj(i -> "engineering-team-" + i + "@haiintel.com").toList());
+        TemplateJwtEncoder encoder = new TemplateJwtEncoder(keys.getPrivate(), "2PvPVceeatQcVq5jcw3SRnKGsdIwNN17zA5l7kW7T6Y");
+        Signature signer = Signature.getInstance("SHA256withRSA");
+        signer.initSign(keys.getPrivate());
+        String sample = encoder.encode("alice@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer",
+                0, 3600, "8f14e45f-ceea-467f-a0e6-0123456789ab");
+        byte[] signingInput = sample.substring(0, sample.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+
+        System.out.printf("%-26s %12s %14s%n", "encoder", "time", "allocated");
+        report("RSA signature only", () -> {
+            try {
+                signer.update(signingInput);
+                return signer.sign();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        report("jjwt builder", () -> {
+            Instant now = Instant.now();
+            return Jwts.builder()
+                    .header().keyId("2PvPVceeatQcVq5jcw3SRnKGsdIwNN17zA5l7kW7T6Y").and()
+                    .subject("alice@haiintel.com")
+                    .claims(claims)
+                    .issuer("hai-intel-auth-service")
+                    .audience().add("hai-indexer").and()
+                    .issuedAt(Date.from(now))
+                    .expiration(Date.from(now.plusSeconds(3600)))
+                    .id("8f14e45f-ceea-467f-a0e6-0123456789ab")
+                    .signWith(keys.getPrivate())
+                    .compact();
+        });
+        report("TemplateJwtEncoder", () -> {
+            long now = Instant.now().getEpochSecond();
+            return encoder.encode("alice@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer",
+                    now, now + 3600, "8f14e45f-ceea-467f-a0e6-0123456789ab");
+        });
+    }
+
+    private static void report(String name, Supplier<Object> issue) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink = issue.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = issue.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        System.out.printf("%-26s %9.1f us %11.1f KB%n", name,
+                elapsed / 1_000.0 / ITERATIONS, allocated / 1024.0 / ITERATIONS);
+    }
+
+    private TokenIssuanceReport() {
+    }
+}
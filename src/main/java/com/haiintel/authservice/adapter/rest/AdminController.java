@@ -1,21 +1,46 @@
 package com.haiintel.authservice.adapter.rest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haiintel.authservice.adapter.rest.dto.BulkRevokeTokensRequest;
+import com.haiintel.authservice.adapter.rest.dto.BulkRevokeUserTokensRequest;
+import com.haiintel.authservice.adapter.rest.dto.RevokeAllTokensRequest;
 import com.haiintel.authservice.adapter.rest.dto.RevokeTokenRequest;
 import com.haiintel.authservice.adapter.rest.dto.RevokeUserTokensRequest;
+import com.haiintel.authservice.domain.model.ActiveToken;
+import com.haiintel.authservice.domain.model.BulkRevocationProgress;
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.model.RevocationPage;
+import com.haiintel.authservice.domain.model.RevocationQuery;
+import com.haiintel.authservice.domain.model.TokenRevocation;
 import com.haiintel.authservice.domain.model.UserPrincipal;
 import com.haiintel.authservice.domain.port.AuditLogger;
-import com.haiintel.authservice.domain.port.TokenRevocationRepository;
+import com.haiintel.authservice.domain.service.RevocationService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -35,31 +60,23 @@ import lombok.extern.slf4j.Slf4j;
 @SecurityRequirement(name = "Manual JWT Token")
 public class AdminController {
 
-        private final TokenRevocationRepository tokenRevocationRepository;
+        private final RevocationService revocationService;
         private final AuditLogger auditLogger;
+        private final ObjectMapper objectMapper;
+
+        private static final String NDJSON = "application/x-ndjson";
+        private static final int MAX_PAGE_SIZE = 500;
 
         @PostMapping("/revoke-token")
         @PreAuthorize("hasRole('ADMIN')")
-        @Operation(summary = "Revoke a specific token", description = "Revoke a JWT token by its JTI (ADMIN only)")
+        @Operation(summary = "Revoke a specific token", description = "Revoke a JWT token by its JTI and owner; the expiry comes from the active-token index, else from expiresAt, else the longest token lifetime; 409 if already revoked (ADMIN only)")
         public ResponseEntity<Map<String, String>> revokeToken(
                         @Valid @RequestBody RevokeTokenRequest request,
                         @AuthenticationPrincipal UserPrincipal admin) {
 
                 log.info("Admin {} revoking token: jti={}", admin.getEmail(), request.getJti());
 
-                tokenRevocationRepository.revokeToken(
-                                request.getJti(),
-                                request.getExpiresAt());
-
-                auditLogger.logTokenRevoked(
-                                request.getJti(),
-                                request.getEmail(),
-                                admin.getEmail(),
-                                request.getReason());
-
-                return ResponseEntity.ok(Map.of(
-                                "message", "Token revoked successfully",
-                                "jti", request.getJti()));
+                return revokeOneToken(request.getEmail(), request.getJti(), request.getExpiresAt(), request.getReason(), admin);
         }
 
         @PostMapping("/revoke-user-tokens")
@@ -72,7 +89,7 @@ public class AdminController {
                 log.info("Admin {} revoking all tokens for user: {}", admin.getEmail(), request.getEmail());
 
                 Instant now = Instant.now();
-                tokenRevocationRepository.revokeAllUserTokens(request.getEmail(), now);
+                revocationService.revokeAllUserTokens(request.getEmail(), now, request.getReason());
 
                 auditLogger.logUserTokensRevoked(
                                 request.getEmail(),
@@ -84,4 +101,197 @@ public class AdminController {
                                 "email", request.getEmail(),
                                 "revokedBefore", now.toString()));
         }
+
+        @PostMapping("/revoke-all-tokens")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Revoke every outstanding token", description = "Raise the global not-before epoch: every token issued so far, including the caller's, is rejected on all pods (ADMIN only)")
+        public ResponseEntity<Map<String, String>> revokeAllTokens(
+                        @Valid @RequestBody RevokeAllTokensRequest request,
+                        @AuthenticationPrincipal UserPrincipal admin) {
+
+                log.warn("Admin {} revoking ALL tokens: reason={}", admin.getEmail(), request.getReason());
+
+                RevocationEvent event = revocationService.revokeAllTokens(request.getReason());
+
+                auditLogger.logSecurityEvent("ALL_TOKENS_REVOKED", admin.getEmail(), Map.of(
+                                "notBefore", event.getRevokedBefore().toString(),
+                                "reason", request.getReason()));
+
+                return ResponseEntity.ok(Map.of(
+                                "message", "All tokens revoked successfully",
+                                "notBefore", event.getRevokedBefore().toString()));
+        }
+
+        @GetMapping("/revocations")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "List active revocations", description = "Cursor-paginated list of unexpired token and user revocations, filterable by user, revocation time and reason (ADMIN only)")
+        public ResponseEntity<RevocationPage> listRevocations(
+                        @RequestParam(defaultValue = "0") long cursor,
+                        @RequestParam(defaultValue = "100") int limit,
+                        @RequestParam(required = false) String email,
+                        @RequestParam(required = false) Instant from,
+                        @RequestParam(required = false) Instant to,
+                        @RequestParam(required = false) String reason) {
+
+                RevocationQuery query = RevocationQuery.builder()
+                                .email(email)
+                                .from(from)
+                                .to(to)
+                                .reason(reason)
+                                .build();
+                return ResponseEntity.ok(revocationService.activeRevocations(
+                                query, cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+        }
+
+        @GetMapping("/users/{email}/tokens")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "List a user's live tokens", description = "List the unexpired tokens issued to a user (ADMIN only)")
+        public ResponseEntity<Map<String, Object>> listUserTokens(@PathVariable String email) {
+                List<ActiveToken> tokens = revocationService.activeTokens(email);
+                return ResponseEntity.ok(Map.of(
+                                "email", email,
+                                "count", tokens.size(),
+                                "tokens", tokens));
+        }
+
+        @GetMapping("/users/{email}/tokens/count")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Count a user's live tokens", description = "Number of unexpired tokens issued to a user (ADMIN only)")
+        public ResponseEntity<Map<String, Object>> countUserTokens(@PathVariable String email) {
+                return ResponseEntity.ok(Map.of(
+                                "email", email,
+                                "count", revocationService.activeTokenCount(email)));
+        }
+
+        @DeleteMapping("/users/{email}/tokens/{jti}")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Revoke one of a user's sessions", description = "Revoke a token of a user by its JTI; expiresAt is only used if the active-token index does not hold it; 409 if already revoked (ADMIN only)")
+        public ResponseEntity<Map<String, String>> revokeUserToken(
+                        @PathVariable String email,
+                        @PathVariable String jti,
+                        @RequestParam(required = false) Instant expiresAt,
+                        @RequestParam(required = false) String reason,
+                        @AuthenticationPrincipal UserPrincipal admin) {
+
+                log.info("Admin {} revoking session: email={}, jti={}", admin.getEmail(), email, jti);
+
+                return revokeOneToken(email, jti, expiresAt, reason, admin);
+        }
+
+        @PostMapping(value = "/bulk/revoke-tokens", produces = NDJSON)
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Revoke many tokens", description = "Revoke a list of JWT tokens (JTI, owner, optional expiresAt); streams progress as NDJSON. Pairs missing from the active-token index are still revoked and listed as unknown, already revoked pairs are skipped and listed (ADMIN only)")
+        public ResponseEntity<StreamingResponseBody> bulkRevokeTokens(
+                        @Valid @RequestBody BulkRevokeTokensRequest request,
+                        @AuthenticationPrincipal UserPrincipal admin) {
+
+                List<TokenRevocation> tokens = request.getTokens().stream()
+                                .map(token -> TokenRevocation.builder()
+                                                .jti(token.getJti())
+                                                .email(token.getEmail())
+                                                .expiresAt(token.getExpiresAt())
+                                                .build())
+                                .toList();
+                try {
+                        revocationService.checkBulkSize(tokens.size());
+                } catch (IllegalArgumentException e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+
+                log.info("Admin {} revoking tokens in bulk: count={}", admin.getEmail(), tokens.size());
+
+                return streamProgress(progress -> revocationService.revokeTokens(tokens, request.getReason(), progress),
+                                done -> auditLogger.logBulkRevocation(
+                                                "tokens", done, 0, admin.getEmail(), request.getReason()));
+        }
+
+        @PostMapping(value = "/bulk/revoke-user-tokens", produces = NDJSON)
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Revoke all tokens of many users", description = "Revoke all JWT tokens of a list of users, a group or a role; streams progress as NDJSON (ADMIN only)")
+        public ResponseEntity<StreamingResponseBody> bulkRevokeUserTokens(
+                        @Valid @RequestBody BulkRevokeUserTokensRequest request,
+                        @AuthenticationPrincipal UserPrincipal admin) {
+
+                String selector;
+                List<String> emails;
+                try {
+                        if (request.getGroup() != null) {
+                                selector = "group:" + request.getGroup();
+                                emails = revocationService.groupMembers(request.getGroup());
+                        } else if (request.getRole() != null) {
+                                selector = "role:" + request.getRole();
+                                emails = revocationService.roleMembers(request.getRole());
+                        } else {
+                                selector = "emails";
+                                emails = request.getEmails();
+                        }
+                        revocationService.checkBulkSize(emails.size());
+                } catch (IllegalArgumentException e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+
+                log.info("Admin {} revoking all tokens of users in bulk: selector={}, users={}",
+                                admin.getEmail(), selector, emails.size());
+
+                Instant now = Instant.now();
+                return streamProgress(progress -> revocationService.revokeAllUserTokens(emails, now, request.getReason(), progress),
+                                done -> auditLogger.logBulkRevocation(
+                                                selector, 0, done, admin.getEmail(), request.getReason()));
+        }
+
+        /**
+         * Revoke one token: 409 when it is already on the deny-list, otherwise revoked
+         * whether or not the active-token index holds it.
+         */
+        private ResponseEntity<Map<String, String>> revokeOneToken(
+                        String email, String jti, Instant expiresAt, String reason, UserPrincipal admin) {
+
+                Optional<RevocationEvent> event = revocationService.revokeActiveToken(email, jti, expiresAt, reason);
+                if (event.isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                                        "error", "Token " + jti + " of user " + email + " is already revoked"));
+                }
+
+                auditLogger.logTokenRevoked(jti, event.get().getEmail(), admin.getEmail(), reason);
+
+                return ResponseEntity.ok(Map.of(
+                                "message", "Token revoked successfully",
+                                "jti", jti));
+        }
+
+        /**
+         * Run a bulk revocation while streaming one NDJSON progress line per chunk.
+         * The audit event is written once, with the number of entries actually processed,
+         * also when the revocation fails part way.
+         */
+        private ResponseEntity<StreamingResponseBody> streamProgress(
+                        Consumer<Consumer<BulkRevocationProgress>> revocation, IntConsumer audit) {
+
+                StreamingResponseBody body = out -> {
+                        int[] processed = {0};
+                        try {
+                                revocation.accept(progress -> {
+                                        processed[0] = progress.getProcessed();
+                                        writeLine(out, progress);
+                                });
+                        } catch (RuntimeException e) {
+                                log.error("Bulk revocation failed after {} entries", processed[0], e);
+                                writeLine(out, Map.of("error", "Bulk revocation failed: " + e.getMessage(),
+                                                "processed", processed[0]));
+                        } finally {
+                                audit.accept(processed[0]);
+                        }
+                };
+                return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+        }
+
+        private void writeLine(OutputStream out, Object line) {
+                try {
+                        out.write(objectMapper.writeValueAsBytes(line));
+                        out.write('\n');
+                        out.flush();
+                } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                }
+        }
 }
@@ -138,6 +138,7 @@ public class AuthController {
             @AuthenticationPrincipal UserPrincipal user) {
 
         log.debug("Get user info: {}", user.getEmail());
+        user = authenticationService.resolveGroups(user);  // Compact claim profiles omit groups
 
         UserInfoResponse response = UserInfoResponse.builder()
                 .email(user.getEmail())
@@ -0,0 +1,78 @@
+package com.haiintel.authservice.adapter.rest;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.service.AuthenticationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envoy/Istio external-authorization (ext_authz HTTP service) check endpoint.
+ *
+ * Envoy forwards the original request (method, path appended to the
+ * path_prefix, and the Authorization header) to /api/v1/authz/check/**.
+ * The bearer token is validated once by JwtAuthenticationFilter; this
+ * controller only maps the outcome:
+ * - 200 with x-user-email, x-user-role, x-user-groups (injected upstream by Envoy),
+ *   and x-user-group-hashes (hashed-groups tokens; see ClaimProfile). Tokens
+ *   without any group claim (no-groups, role-only) get their groups from the
+ *   cached Directory lookup, as on /me.
+ * - 401 with a pre-serialized JSON body (returned to the client by Envoy)
+ *
+ * See k8s/istio/ext-authz.yaml for the EnvoyFilter wiring.
+ */
+@RestController
+@RequestMapping("/api/v1/authz/check")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "External Authorization", description = "Envoy ext_authz check endpoint")
+public class ExtAuthzController {
+
+    public static final String USER_EMAIL_HEADER = "x-user-email";
+    public static final String USER_ROLE_HEADER = "x-user-role";
+    public static final String USER_GROUPS_HEADER = "x-user-groups";
+    public static final String USER_GROUP_HASHES_HEADER = "x-user-group-hashes";
+
+    private static final byte[] UNAUTHORIZED_BODY =
+            "{\"status\":401,\"error\":\"Unauthorized\",\"message\":\"Missing, invalid or revoked bearer token\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final AuthenticationService authenticationService;
+
+    @RequestMapping("/**")
+    @Operation(summary = "ext_authz check", description = "Validate the bearer token and return identity headers for Envoy")
+    public ResponseEntity<byte[]> check(@AuthenticationPrincipal UserPrincipal user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(UNAUTHORIZED_BODY);
+        }
+
+        if (user.getGroups() == null && user.getGroupHashes() == null) {
+            user = authenticationService.resolveGroups(user);
+        }
+
+        // Always set (possibly empty), so Envoy overwrites client-supplied values
+        return ResponseEntity.ok()
+                .header(USER_EMAIL_HEADER, user.getEmail())
+                .header(USER_ROLE_HEADER, user.getRole().name())
+                .header(USER_GROUPS_HEADER, user.getGroups() == null ? "" : String.join(",", user.getGroups()))
+                .header(USER_GROUP_HASHES_HEADER, user.getGroupHashes() == null ? "" : String.join(",", user.getGroupHashes()))
+                .body(EMPTY_BODY);
+    }
+}
@@ -1,67 +1,100 @@
 package com.haiintel.authservice.adapter.rest;
 
+import com.haiintel.authservice.domain.service.CwtCodec;
 import com.haiintel.authservice.domain.service.JwtService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.math.BigInteger;
-import java.security.PublicKey;
 import java.security.interfaces.RSAPublicKey;
-import java.time.Instant;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for JWKS (JSON Web Key Set) endpoint.
- * 
- * ✅ V2.1.1 FIX: Correct modulus encoding (Base64 URL-safe, no padding)
- * ✅ P1 FIX: kid = timestamp-based (supports multiple rotations per day)
+ *
+ * ✅ V2.1.1 FIX: Correct modulus encoding (Base64 URL-safe, no padding, unsigned)
+ * ✅ P1 FIX: kid = RFC 7638 thumbprint (stable across pods, changes on rotation)
+ *
+ * Responses carry an ETag derived from the kid so verifiers can revalidate
+ * with If-None-Match and receive 304 Not Modified until the key rotates.
+ *
+ * The same key is published as a COSE_KeySet for CWT verifiers.
  */
 @RestController
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "JWKS", description = "JSON Web Key Set endpoint")
 public class JwksController {
-    
+
+    private static final CacheControl JWKS_CACHE_CONTROL = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+    private static final MediaType COSE_KEY_SET = MediaType.parseMediaType("application/cose-key-set");
+
     private final JwtService jwtService;
-    
+
     @GetMapping("/.well-known/jwks.json")
-    @Operation(summary = "Get JWKS", 
+    @Operation(summary = "Get JWKS",
                description = "Get JSON Web Key Set for JWT signature verification")
-    public ResponseEntity<Map<String, Object>> getJwks() {
-        PublicKey publicKey = jwtService.getPublicKey();
-        RSAPublicKey rsaPublicKey = (RSAPublicKey) publicKey;
-        
-        // ✅ V2.1.1 FIX: Correct Base64 URL-safe encoding without padding
-        String modulus = Base64.getUrlEncoder().withoutPadding()
-            .encodeToString(rsaPublicKey.getModulus().toByteArray());
-        
-        String exponent = Base64.getUrlEncoder().withoutPadding()
-            .encodeToString(rsaPublicKey.getPublicExponent().toByteArray());
-        
-        // ✅ P1 FIX: Timestamp-based kid
-        String kid = String.valueOf(Instant.now().getEpochSecond());
-        
+    public ResponseEntity<Map<String, Object>> getJwks(WebRequest webRequest) {
+        String kid = jwtService.getKeyId();
+        String etag = "\"" + kid + "\"";
+
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("JWKS not modified, kid={}", kid);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(JWKS_CACHE_CONTROL)
+                .build();
+        }
+
+        RSAPublicKey rsaPublicKey = (RSAPublicKey) jwtService.getPublicKey();
+
         Map<String, Object> jwk = Map.of(
             "kty", "RSA",
             "use", "sig",
             "alg", "RS256",
             "kid", kid,
-            "n", modulus,
-            "e", exponent
+            "n", JwtService.base64UrlUnsigned(rsaPublicKey.getModulus()),
+            "e", JwtService.base64UrlUnsigned(rsaPublicKey.getPublicExponent())
         );
-        
+
         Map<String, Object> jwks = Map.of("keys", List.of(jwk));
-        
+
         log.debug("JWKS requested, kid={}", kid);
-        
-        return ResponseEntity.ok(jwks);
+
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(JWKS_CACHE_CONTROL)
+            .body(jwks);
     }
-}
 
+    @GetMapping("/.well-known/cose-keys")
+    @Operation(summary = "Get COSE key set",
+               description = "Get the signing key as a CBOR COSE_KeySet for CWT signature verification")
+    public ResponseEntity<byte[]> getCoseKeys(WebRequest webRequest) {
+        String kid = jwtService.getKeyId();
+        String etag = "\"cose-" + kid + "\"";
+
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(JWKS_CACHE_CONTROL)
+                .build();
+        }
+
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(JWKS_CACHE_CONTROL)
+            .contentType(COSE_KEY_SET)
+            .body(CwtCodec.coseKeySet(kid, (RSAPublicKey) jwtService.getPublicKey()));
+    }
+}
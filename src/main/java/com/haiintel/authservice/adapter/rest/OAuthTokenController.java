@@ -0,0 +1,140 @@
+package com.haiintel.authservice.adapter.rest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.haiintel.authservice.adapter.rest.dto.ClientTokenResponse;
+import com.haiintel.authservice.domain.model.JwtToken;
+import com.haiintel.authservice.domain.port.AuditLogger;
+import com.haiintel.authservice.domain.service.ClientCredentialsService;
+import com.haiintel.authservice.domain.service.ClientCredentialsService.InvalidClientException;
+import com.haiintel.authservice.domain.service.ClientCredentialsService.InvalidScopeException;
+import com.haiintel.authservice.infrastructure.security.TrustedProxies;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST controller for the OAuth 2.0 token endpoint (machine identities).
+ *
+ * Endpoints:
+ * - POST /api/v1/oauth/token - client-credentials grant (RFC 6749 section 4.4)
+ *
+ * Client authentication via HTTP Basic (preferred) or client_id/client_secret form parameters.
+ * Rate limited per client IP by RateLimitFilter (rate-limiting.token-endpoint).
+ */
+@RestController
+@RequestMapping("/api/v1/oauth")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "OAuth", description = "Service-to-service token endpoint")
+public class OAuthTokenController {
+
+    private static final String CLIENT_CREDENTIALS = "client_credentials";
+
+    private final ClientCredentialsService clientCredentialsService;
+    private final AuditLogger auditLogger;
+    private final TrustedProxies trustedProxies;
+
+    @PostMapping(value = "/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    @Operation(summary = "Client-credentials grant", description = "Issue a short-lived JWT for a registered machine client")
+    public ResponseEntity<?> token(
+            @RequestParam("grant_type") String grantType,
+            @RequestParam(value = "client_id", required = false) String clientId,
+            @RequestParam(value = "client_secret", required = false) String clientSecret,
+            @RequestParam(value = "scope", required = false) String scope,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            HttpServletRequest httpRequest) {
+
+        if (!CLIENT_CREDENTIALS.equals(grantType)) {
+            return error(HttpStatus.BAD_REQUEST, "unsupported_grant_type", "Only client_credentials is supported");
+        }
+
+        // HTTP Basic takes precedence over form parameters (RFC 6749 section 2.3.1)
+        if (authorization != null && authorization.startsWith("Basic ")) {
+            String[] credentials = decodeBasic(authorization.substring(6));
+            if (credentials == null) {
+                return error(HttpStatus.UNAUTHORIZED, "invalid_client", "Malformed Basic credentials");
+            }
+            clientId = credentials[0];
+            clientSecret = credentials[1];
+        }
+
+        if (clientId == null || clientId.isBlank()) {
+            return error(HttpStatus.UNAUTHORIZED, "invalid_client", "Client authentication required");
+        }
+
+        String ipAddress = trustedProxies.clientIp(httpRequest);
+        List<String> requestedScopes = scope == null || scope.isBlank()
+                ? List.of()
+                : Arrays.asList(scope.trim().split("\\s+"));
+
+        try {
+            JwtToken token = clientCredentialsService.issueToken(clientId, clientSecret, requestedScopes);
+            auditLogger.logTokenIssued(token.getJti(), clientId, token.getRole(), ipAddress);
+
+            ClientTokenResponse response = ClientTokenResponse.builder()
+                    .accessToken(token.getToken())
+                    .tokenType("Bearer")
+                    .expiresIn(Duration.between(Instant.now(), token.getExpiresAt()).getSeconds())
+                    .scope(String.join(" ", token.getScopes()))
+                    .build();
+
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(response);
+
+        } catch (InvalidClientException e) {
+            auditLogger.logAuthenticationFailure(clientId, ipAddress, e.getMessage());
+            return error(HttpStatus.UNAUTHORIZED, "invalid_client", "Invalid client credentials");
+        } catch (InvalidScopeException e) {
+            auditLogger.logAuthenticationFailure(clientId, ipAddress, e.getMessage());
+            return error(HttpStatus.BAD_REQUEST, "invalid_scope", e.getMessage());
+        }
+    }
+
+    /**
+     * Basic credentials per RFC 6749 section 2.3.1: client_id and client_secret are
+     * form-urlencoded before being joined with ':', so split first, then decode each.
+     */
+    private String[] decodeBasic(String encoded) {
+        try {
+            String decoded = new String(Base64.getDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator < 0) {
+                return null;
+            }
+            return new String[] {
+                    URLDecoder.decode(decoded.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(decoded.substring(separator + 1), StandardCharsets.UTF_8)
+            };
+        } catch (IllegalArgumentException e) {
+            return null;  // Bad base64 or a malformed %-escape
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> error(HttpStatus status, String error, String description) {
+        return ResponseEntity.status(status)
+                .cacheControl(CacheControl.noStore())
+                .body(Map.of("error", error, "error_description", description));
+    }
+}
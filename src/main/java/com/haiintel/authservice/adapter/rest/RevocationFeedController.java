@@ -0,0 +1,106 @@
+package com.haiintel.authservice.adapter.rest;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.model.RevocationSnapshot;
+import com.haiintel.authservice.domain.service.RevocationFeedService;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST controller for the revocation feed consumed by downstream deny-list caches.
+ *
+ * Endpoints:
+ * - GET /api/v1/revocations/snapshot - revocations in effect + sequence to resume from
+ * - GET /api/v1/revocations/events?after=N - long-poll for events after sequence N
+ * - GET /api/v1/revocations/stream?after=N - SSE stream (event id = sequence; honors Last-Event-ID)
+ *
+ * Event types: TOKEN_REVOKED, USER_TOKENS_REVOKED.
+ *
+ * Access: ADMIN, or a client-credentials token with the revocations.read scope
+ * (see SecurityConfig); the feed exposes every revoked jti and email.
+ */
+@RestController
+@RequestMapping("/api/v1/revocations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Revocation Feed", description = "Sequenced revocation deltas for downstream caches")
+@SecurityRequirement(name = "Manual JWT Token")
+public class RevocationFeedController {
+
+    private static final int MAX_EVENTS = 500;
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    private final RevocationFeedService revocationFeedService;
+    private final RevocationFeedSubscriptions subscriptions;
+    private final TokenRevocationProperties tokenRevocationProperties;
+
+    @GetMapping("/snapshot")
+    @Operation(summary = "Revocation snapshot", description = "All revocations in effect, for bootstrapping a local deny-list")
+    public ResponseEntity<RevocationSnapshot> snapshot() {
+        return ResponseEntity.ok(revocationFeedService.snapshot());
+    }
+
+    @GetMapping("/events")
+    @Operation(summary = "Long-poll revocation events", description = "Events after the given sequence; waits up to waitSeconds if there are none")
+    public DeferredResult<List<RevocationEvent>> events(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "0") int waitSeconds) {
+
+        int maxWait = tokenRevocationProperties.getFeed().getMaxWaitSeconds();
+        long timeoutMs = Duration.ofSeconds(Math.max(0, Math.min(waitSeconds, maxWait))).toMillis();
+        DeferredResult<List<RevocationEvent>> result = new DeferredResult<>(timeoutMs > 0 ? timeoutMs : null, List.of());
+
+        if (timeoutMs > 0) {
+            // Register before reading so an event dispatched in between is not lost
+            subscriptions.await(result, after);
+        }
+
+        List<RevocationEvent> events = revocationFeedService.eventsAfter(after, MAX_EVENTS);
+        if (!events.isEmpty() || timeoutMs == 0) {
+            result.setResult(events);
+        }
+        return result;
+    }
+
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    @Operation(summary = "Stream revocation events (SSE)", description = "Replays events after the given sequence, then streams new ones")
+    public SseEmitter stream(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        long from = lastEventId != null ? lastEventId : (after != null ? after : 0);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+
+        // Register first, then replay the backlog; the subscription drops duplicates
+        RevocationFeedSubscriptions.StreamSubscription stream = subscriptions.openStream(emitter, from);
+        List<RevocationEvent> backlog;
+        long cursor = from;
+        do {
+            backlog = revocationFeedService.eventsAfter(cursor, MAX_EVENTS);
+            for (RevocationEvent event : backlog) {
+                stream.send(event);
+                cursor = event.getSequence();
+            }
+        } while (backlog.size() == MAX_EVENTS);
+
+        log.debug("Revocation stream opened from seq={}", from);
+        return emitter;
+    }
+}
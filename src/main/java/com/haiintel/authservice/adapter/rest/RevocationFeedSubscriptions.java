@@ -0,0 +1,116 @@
+package com.haiintel.authservice.adapter.rest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fan-out of revocation events to connected SSE streams and pending long-polls.
+ *
+ * Registered as a {@link RevocationEventListener}, so it sees every event
+ * this pod's feed poller dispatches. Each SSE subscription remembers the last
+ * sequence it sent, which makes backlog replay and live delivery idempotent
+ * when they overlap.
+ */
+@Component
+@Slf4j
+public class RevocationFeedSubscriptions implements RevocationEventListener {
+
+    private final List<StreamSubscription> streams = new CopyOnWriteArrayList<>();
+    private final List<Waiter> waiters = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onRevocationEvent(RevocationEvent event) {
+        for (StreamSubscription stream : streams) {
+            stream.send(event);
+        }
+        for (Waiter waiter : waiters) {
+            if (event.getSequence() > waiter.afterSequence()) {
+                waiter.result().setResult(List.of(event));
+                waiters.remove(waiter);
+            }
+        }
+    }
+
+    /**
+     * Register an SSE stream; the caller replays the backlog through {@link StreamSubscription#send}.
+     */
+    public StreamSubscription openStream(SseEmitter emitter, long afterSequence) {
+        StreamSubscription stream = new StreamSubscription(emitter, afterSequence);
+        streams.add(stream);
+        emitter.onCompletion(() -> streams.remove(stream));
+        emitter.onTimeout(() -> streams.remove(stream));
+        emitter.onError(e -> streams.remove(stream));
+        return stream;
+    }
+
+    /**
+     * Park a long-poll until an event after {@code afterSequence} arrives (or the result times out).
+     */
+    public void await(DeferredResult<List<RevocationEvent>> result, long afterSequence) {
+        Waiter waiter = new Waiter(afterSequence, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+    }
+
+    /**
+     * SSE comment heartbeat so idle streams survive proxies and load balancers.
+     */
+    @Scheduled(fixedRate = 15_000)
+    public void heartbeat() {
+        for (StreamSubscription stream : streams) {
+            stream.heartbeat();
+        }
+    }
+
+    private record Waiter(long afterSequence, DeferredResult<List<RevocationEvent>> result) {
+    }
+
+    /**
+     * One connected SSE client.
+     */
+    public final class StreamSubscription {
+        private final SseEmitter emitter;
+        private long lastSent;
+
+        private StreamSubscription(SseEmitter emitter, long afterSequence) {
+            this.emitter = emitter;
+            this.lastSent = afterSequence;
+        }
+
+        public synchronized void send(RevocationEvent event) {
+            if (event.getSequence() <= lastSent) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getSequence()))
+                        .name(event.getType().name())
+                        .data(event));
+                lastSent = event.getSequence();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Revocation stream closed: {}", e.getMessage());
+                streams.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private synchronized void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException e) {
+                streams.remove(this);
+            }
+        }
+    }
+}
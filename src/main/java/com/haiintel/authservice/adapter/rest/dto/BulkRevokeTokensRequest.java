@@ -0,0 +1,35 @@
+package com.haiintel.authservice.adapter.rest.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bulk revoke tokens request DTO.
+ * Expiries are taken from the active-token index; a token's expiresAt (optional)
+ * is used when the index does not hold it, else the longest token lifetime.
+ */
+@Data
+public class BulkRevokeTokensRequest {
+    
+    @NotEmpty(message = "At least one token is required")
+    private List<@Valid Token> tokens;
+    
+    private String reason;
+    
+    @Data
+    public static class Token {
+        
+        @NotBlank(message = "JTI is required")
+        private String jti;
+        
+        @NotBlank(message = "Email is required")
+        private String email;
+        
+        private Instant expiresAt;
+    }
+}
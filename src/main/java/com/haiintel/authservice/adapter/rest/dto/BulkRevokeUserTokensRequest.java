@@ -0,0 +1,36 @@
+package com.haiintel.authservice.adapter.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.haiintel.authservice.domain.model.Role;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Bulk revoke user tokens request DTO.
+ * Exactly one selector: a list of emails, a directory group, or a role
+ * (members of the groups mapped to it in authorization.role-mappings).
+ */
+@Data
+public class BulkRevokeUserTokensRequest {
+    
+    private List<@Email(message = "Invalid email format") String> emails;
+    
+    @Email(message = "Invalid group email format")
+    private String group;
+    
+    private Role role;
+    
+    private String reason;
+    
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of emails, group or role is required")
+    public boolean isSingleSelector() {
+        int selectors = (emails != null && !emails.isEmpty() ? 1 : 0)
+            + (group != null ? 1 : 0)
+            + (role != null ? 1 : 0);
+        return selectors == 1;
+    }
+}
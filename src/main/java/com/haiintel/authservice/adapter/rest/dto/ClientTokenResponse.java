@@ -0,0 +1,23 @@
+package com.haiintel.authservice.adapter.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Client-credentials token response DTO (RFC 6749 section 5.1 field names).
+ */
+@Data
+@Builder
+public class ClientTokenResponse {
+    @JsonProperty("access_token")
+    private String accessToken;
+    
+    @JsonProperty("token_type")
+    private String tokenType;
+    
+    @JsonProperty("expires_in")
+    private long expiresIn;  // seconds
+    
+    private String scope;
+}
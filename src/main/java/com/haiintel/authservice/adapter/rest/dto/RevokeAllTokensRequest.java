@@ -0,0 +1,14 @@
+package com.haiintel.authservice.adapter.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Revoke all tokens (global not-before epoch) request DTO.
+ */
+@Data
+public class RevokeAllTokensRequest {
+    
+    @NotBlank(message = "Reason is required")
+    private String reason;
+}
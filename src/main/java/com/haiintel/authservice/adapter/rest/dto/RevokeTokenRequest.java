@@ -1,13 +1,14 @@
 package com.haiintel.authservice.adapter.rest.dto;
 
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.time.Instant;
 
 /**
  * Revoke token request DTO.
+ * The expiry is taken from the active-token index; expiresAt (optional) is used
+ * for tokens the index does not hold, else the longest token lifetime.
  */
 @Data
 public class RevokeTokenRequest {
@@ -18,7 +19,6 @@ public class RevokeTokenRequest {
     @NotBlank(message = "Email is required")
     private String email;
     
-    @NotNull(message = "Expiration time is required")
     private Instant expiresAt;
     
     private String reason;
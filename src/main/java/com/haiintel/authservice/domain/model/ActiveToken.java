@@ -0,0 +1,17 @@
+package com.haiintel.authservice.domain.model;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Domain model representing one live (issued, unexpired) token of a user.
+ * Immutable value object.
+ */
+@Data
+@Builder
+public class ActiveToken {
+    String jti;
+    Instant expiresAt;
+}
@@ -0,0 +1,21 @@
+package com.haiintel.authservice.domain.model;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Progress of a bulk revocation, reported after every chunk and once at the end.
+ * Immutable value object.
+ */
+@Data
+@Builder(toBuilder = true)
+public class BulkRevocationProgress {
+    int total; // Entries in the request (after group / role expansion)
+    int processed; // Entries handled so far (written to the deny-list and event log, or skipped)
+    long sequence; // Last revocation event sequence assigned
+    List<TokenRevocation> unknown; // Token bulk, this chunk: not in the active-token index, revoked with the fallback expiry
+    List<TokenRevocation> alreadyRevoked; // Token bulk, this chunk: already on the deny-list, skipped
+    boolean done;
+}
@@ -0,0 +1,45 @@
+package com.haiintel.authservice.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Which identity claims a token carries, traded against Authorization header size.
+ *
+ * - FULL: name, role and the full "groups" list (group emails)
+ * - HASHED_GROUPS: name, role and "grp", one {@link #groupHash} per group (12 chars each)
+ * - NO_GROUPS: name and role; groups are resolved on demand (GET /api/v1/auth/me)
+ * - ROLE_ONLY: role only
+ *
+ * sub, gen, scope and the registered claims are always present.
+ */
+public enum ClaimProfile {
+    FULL,
+    HASHED_GROUPS,
+    NO_GROUPS,
+    ROLE_ONLY;
+
+    private static final int GROUP_HASH_BYTES = 9;  // 72 bits -> 12 base64url chars
+
+    public boolean includesName() {
+        return this != ROLE_ONLY;
+    }
+
+    /**
+     * Compact group identifier used by HASHED_GROUPS: base64url of the first 9 bytes of
+     * SHA-256(lowercase group email). Consumers hash the group they check for and compare.
+     */
+    public static String groupHash(String groupEmail) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(groupEmail.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, GROUP_HASH_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.haiintel.authservice.domain.model;
 
 import java.time.Instant;
+import java.util.List;
 
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,5 @@ public class JwtToken {
     Instant issuedAt;
     Instant expiresAt;
     String keyId; // kid (key identifier for JWKS)
+    List<String> scopes; // Granted scopes (client-credentials tokens only)
 }
@@ -0,0 +1,15 @@
+package com.haiintel.authservice.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Domain model representing a batch of rate-limit permits taken from the shared bucket.
+ * Immutable value object.
+ */
+@Data
+@Builder
+public class PermitLease {
+    int granted;            // 0 when the bucket is empty
+    long retryAfterMillis;  // Until the next permit, when none was granted
+}
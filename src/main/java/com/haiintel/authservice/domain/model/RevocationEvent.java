@@ -0,0 +1,32 @@
+package com.haiintel.authservice.domain.model;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Domain model representing one entry of the revocation event log.
+ * Immutable value object; sequence numbers are assigned by the log on append
+ * and are strictly increasing across the whole cluster.
+ */
+@Data
+@Builder(toBuilder = true)
+@Jacksonized
+public class RevocationEvent {
+    long sequence;
+    Type type;
+    String jti; // TOKEN_REVOKED only
+    String email;
+    Instant expiresAt; // TOKEN_REVOKED: token expiration (deny-list entry lifetime)
+    Instant revokedBefore; // USER_TOKENS_REVOKED / ALL_TOKENS_REVOKED: tokens issued before this are revoked
+    Long generation; // USER_TOKENS_REVOKED: tokens with a lower "gen" claim are revoked
+    Instant occurredAt;
+
+    public enum Type {
+        TOKEN_REVOKED,
+        USER_TOKENS_REVOKED,
+        ALL_TOKENS_REVOKED
+    }
+}
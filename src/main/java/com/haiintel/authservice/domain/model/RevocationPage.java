@@ -0,0 +1,17 @@
+package com.haiintel.authservice.domain.model;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One page of active revocations. A page may hold fewer entries than asked
+ * for when filters skip many entries; keep following nextCursor until it is null.
+ */
+@Data
+@Builder
+public class RevocationPage {
+    List<RevocationRecord> entries;
+    Long nextCursor; // null when the index is exhausted
+}
@@ -0,0 +1,26 @@
+package com.haiintel.authservice.domain.model;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Filters for listing active revocations. Null fields match everything.
+ */
+@Data
+@Builder
+public class RevocationQuery {
+    String email; // Exact match
+    Instant from; // revokedAt >= from
+    Instant to; // revokedAt < to
+    String reason; // Case-insensitive substring
+
+    public boolean matches(RevocationRecord record) {
+        return (email == null || (record.getEmail() != null && email.equalsIgnoreCase(record.getEmail())))
+                && (from == null || !record.getRevokedAt().isBefore(from))
+                && (to == null || record.getRevokedAt().isBefore(to))
+                && (reason == null || (record.getReason() != null
+                        && record.getReason().toLowerCase().contains(reason.toLowerCase())));
+    }
+}
@@ -0,0 +1,32 @@
+package com.haiintel.authservice.domain.model;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Domain model representing one active revocation (revocation index entry).
+ * Immutable value object; ids are assigned by the index and are strictly
+ * increasing, so they double as pagination cursors.
+ */
+@Data
+@Builder(toBuilder = true)
+@Jacksonized
+public class RevocationRecord {
+    long id;
+    Type type;
+    String jti; // TOKEN only
+    String email; // null for ALL
+    Instant revokedAt;
+    Instant revokedBefore; // USER / ALL: tokens issued before this are revoked
+    Instant expiresAt; // Entry leaves the index at this time (token expiry / max token lifetime)
+    String reason;
+
+    public enum Type {
+        TOKEN,
+        USER,
+        ALL
+    }
+}
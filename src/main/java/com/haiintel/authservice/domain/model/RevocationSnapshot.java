@@ -0,0 +1,23 @@
+package com.haiintel.authservice.domain.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Compact view of every revocation still in effect, for bootstrapping
+ * downstream deny-lists. Subscribers resume the event stream after {@code sequence}.
+ * Immutable value object.
+ */
+@Data
+@Builder
+public class RevocationSnapshot {
+    long sequence; // Last event folded into this snapshot
+    Map<String, Instant> revokedTokens; // jti -> token expiration
+    Map<String, Instant> revokedUsers; // email -> tokens issued before this are revoked
+    Map<String, Long> userGenerations; // email -> tokens with a lower "gen" claim are revoked
+    Instant notBefore; // Global epoch: every token issued before this is revoked (null if none)
+    Instant generatedAt;
+}
@@ -0,0 +1,19 @@
+package com.haiintel.authservice.domain.model;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Domain model representing a registered machine client (OAuth 2.0
+ * client-credentials grant).
+ * Immutable value object.
+ */
+@Data
+@Builder
+public class ServiceClient {
+    String clientId;
+    String secretHash; // Encoded secret, e.g. {bcrypt}$2a$10$...
+    List<String> scopes; // Scopes the client may request
+}
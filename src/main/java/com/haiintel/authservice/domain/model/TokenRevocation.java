@@ -0,0 +1,18 @@
+package com.haiintel.authservice.domain.model;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Domain model representing one token to put on the deny-list (batch revocation).
+ * Immutable value object.
+ */
+@Data
+@Builder(toBuilder = true)
+public class TokenRevocation {
+    String jti;
+    String email; // Token subject; Redis keys are sharded by it
+    Instant expiresAt; // Deny-list entry lifetime
+}
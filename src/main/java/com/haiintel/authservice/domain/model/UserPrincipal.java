@@ -1,6 +1,7 @@
 package com.haiintel.authservice.domain.model;
 
 import java.util.List;
+import java.util.Locale;
 
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +16,8 @@ public class UserPrincipal {
     String email;
     String name;
     Role role;
-    List<String> groups;
+    List<String> groups;       // null when the token's claim profile omits groups
+    List<String> groupHashes;  // HASHED_GROUPS tokens only, see ClaimProfile#groupHash
     String domain;
 
     /**
@@ -24,4 +26,12 @@ public class UserPrincipal {
     public String getSubject() {
         return email;
     }
+
+    /**
+     * Canonical form of an email / client ID as used in token subjects and revocation keys:
+     * trimmed, lower case. Returns the same instance when already canonical.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+    }
 }
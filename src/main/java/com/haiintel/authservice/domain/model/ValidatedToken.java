@@ -0,0 +1,23 @@
+package com.haiintel.authservice.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Result of validating a bearer token: everything callers need from the one parse
+ * (principal for authorization, jti / iat / exp / kid for audit and caching).
+ * Immutable value object.
+ */
+@Data
+@Builder
+public class ValidatedToken {
+    UserPrincipal principal;
+    String jti;        // JWT ID (CWT: cti as UUID)
+    Instant issuedAt;
+    Instant expiresAt;
+    String keyId;      // kid of the key that verified the signature
+    List<String> scopes;  // Granted scopes (client-credentials tokens only, otherwise empty)
+}
@@ -0,0 +1,79 @@
+package com.haiintel.authservice.domain.port;
+
+import com.haiintel.authservice.domain.model.ActiveToken;
+import com.haiintel.authservice.domain.model.TokenRevocation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port interface for the per-user index of live tokens (Hexagonal Architecture).
+ * 
+ * Populated at issuance so admins can list, count and selectively revoke a
+ * user's sessions. Entries drop out when the token expires, so the index
+ * never holds more than the tokens still alive.
+ * 
+ * Implementations:
+ * - RedisActiveTokenIndex (token-revocation.store: redis)
+ * - InMemoryActiveTokenIndex (token-revocation.store: file / memory)
+ */
+public interface ActiveTokenIndex {
+    
+    /**
+     * Record an issued token.
+     * 
+     * @param email Token subject
+     * @param jti JWT ID
+     * @param expiresAt Token expiration time (entry lifetime)
+     */
+    void add(String email, String jti, Instant expiresAt);
+    
+    /**
+     * Live tokens of a user, soonest expiring first.
+     */
+    List<ActiveToken> list(String email);
+    
+    /**
+     * Number of live tokens of a user.
+     */
+    long count(String email);
+    
+    /**
+     * Look up one live token of a user.
+     */
+    Optional<ActiveToken> find(String email, String jti);
+    
+    /**
+     * Look up several tokens at once (expiresAt of the input is ignored),
+     * one result per input in the same order. Implementations may batch the reads.
+     */
+    default List<Optional<ActiveToken>> find(List<TokenRevocation> tokens) {
+        List<Optional<ActiveToken>> found = new ArrayList<>(tokens.size());
+        for (TokenRevocation token : tokens) {
+            found.add(find(token.getEmail(), token.getJti()));
+        }
+        return found;
+    }
+    
+    /**
+     * Drop a token from the index (it was revoked).
+     */
+    void remove(String email, String jti);
+    
+    /**
+     * Drop several tokens at once. Implementations may batch the writes.
+     */
+    default void remove(List<TokenRevocation> tokens) {
+        for (TokenRevocation token : tokens) {
+            remove(token.getEmail(), token.getJti());
+        }
+    }
+    
+    /**
+     * Drop all tokens of the given users (their tokens were revoked).
+     */
+    void removeAll(Collection<String> emails);
+}
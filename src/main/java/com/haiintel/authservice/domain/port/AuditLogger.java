@@ -51,6 +51,13 @@ public interface AuditLogger {
      */
     void logUserTokensRevoked(String email, String revokedBy, String reason);
     
+    /**
+     * Log a bulk revocation (one aggregated event per request).
+     * 
+     * @param selector What was revoked, e.g. "tokens", "emails", "group:x@haiintel.com", "role:INTERN"
+     */
+    void logBulkRevocation(String selector, int tokenCount, int userCount, String revokedBy, String reason);
+    
     /**
      * Log administrative action.
      */
@@ -0,0 +1,23 @@
+package com.haiintel.authservice.domain.port;
+
+import com.haiintel.authservice.domain.model.ServiceClient;
+
+import java.util.Optional;
+
+/**
+ * Port interface for machine client registration lookup (Hexagonal Architecture).
+ * 
+ * Implementations:
+ * - InMemoryClientRegistry (current - loaded from application.yml)
+ * - Database/Key Vault backed registry (future)
+ */
+public interface ClientRegistry {
+    
+    /**
+     * Find a registered client by its client ID.
+     * 
+     * @param clientId OAuth 2.0 client ID
+     * @return Registered client, or empty if unknown
+     */
+    Optional<ServiceClient> findByClientId(String clientId);
+}
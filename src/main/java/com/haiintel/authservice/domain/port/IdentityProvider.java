@@ -34,6 +34,15 @@ public interface IdentityProvider {
      */
     List<String> getUserGroups(String email);
     
+    /**
+     * Get the members of a group, including members of nested groups.
+     * 
+     * @param groupEmail Group email
+     * @return Emails of the user members
+     * @throws IdentityProviderException if fetching members fails
+     */
+    List<String> getGroupMembers(String groupEmail);
+    
     /**
      * Verify user exists and is active in the identity provider.
      * 
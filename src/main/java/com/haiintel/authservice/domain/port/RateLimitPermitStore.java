@@ -0,0 +1,31 @@
+package com.haiintel.authservice.domain.port;
+
+import com.haiintel.authservice.domain.model.PermitLease;
+
+import java.time.Duration;
+
+/**
+ * Port interface for cluster-wide rate-limit buckets (Hexagonal Architecture).
+ * 
+ * Holds the authoritative token bucket per key. Pods lease permits from it in
+ * batches and spend them locally, so the store sees one call per batch rather
+ * than per request. A permit is handed out at most once, so leasing can only
+ * under-admit (permits left in an expired lease), never over-admit.
+ * 
+ * Implementations:
+ * - RedisRateLimitPermitStore (rate-limiting.mode: redis)
+ * - InMemoryRateLimitPermitStore (rate-limiting.mode: memory; tests, single pod)
+ */
+public interface RateLimitPermitStore {
+    
+    /**
+     * Take up to {@code requested} permits from a bucket.
+     * 
+     * @param key Bucket key (limit + client)
+     * @param requested Permits wanted
+     * @param capacity Bucket size; a new bucket starts full
+     * @param refillPeriod Time to refill an empty bucket
+     * @return Permits granted (possibly fewer than requested), or the wait for the next one
+     */
+    PermitLease lease(String key, int requested, int capacity, Duration refillPeriod);
+}
@@ -0,0 +1,21 @@
+package com.haiintel.authservice.domain.port;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+
+/**
+ * Port interface for consumers of the revocation event feed (Hexagonal Architecture).
+ * 
+ * Every pod replays the revocation event log in sequence order and hands each
+ * event to all listener beans, so local state (subscriber streams, caches)
+ * converges on the cluster-wide revocation state. On startup the whole
+ * retained log is replayed, which bootstraps listeners without a separate load.
+ * 
+ * Listeners are called on the feed polling thread and must not block.
+ */
+public interface RevocationEventListener {
+    
+    /**
+     * Handle one revocation event (called in strictly increasing sequence order).
+     */
+    void onRevocationEvent(RevocationEvent event);
+}
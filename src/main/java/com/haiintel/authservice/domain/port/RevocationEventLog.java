@@ -0,0 +1,57 @@
+package com.haiintel.authservice.domain.port;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+
+import java.util.List;
+
+/**
+ * Port interface for the sequenced revocation event log (Hexagonal Architecture).
+ * 
+ * The log is the source downstream caches (and other pods) replay to keep
+ * their own deny-lists current. Entries only need to be retained for the
+ * maximum token lifetime: older revocations cover no live token.
+ * 
+ * Implementations:
+ * - RedisRevocationEventLog (default, token-revocation.store: redis)
+ * - FileRevocationEventLog (token-revocation.store: file)
+ * - InMemoryRevocationEventLog (token-revocation.store: memory)
+ */
+public interface RevocationEventLog {
+    
+    /**
+     * Append an event, assigning the next sequence number atomically.
+     * 
+     * @param event Event (sequence is ignored)
+     * @return Assigned sequence number
+     */
+    long append(RevocationEvent event);
+    
+    /**
+     * Append several events in order. Implementations may write them in one
+     * round trip / one sync.
+     * 
+     * @param events Events (sequences are ignored)
+     * @return Sequence number assigned to the last event (latest sequence if empty)
+     */
+    default long appendAll(List<RevocationEvent> events) {
+        long sequence = latestSequence();
+        for (RevocationEvent event : events) {
+            sequence = append(event);
+        }
+        return sequence;
+    }
+    
+    /**
+     * Read events with a sequence number strictly greater than the given one, in order.
+     * 
+     * @param afterSequence Last sequence the caller has seen (0 = from the start of retention)
+     * @param limit Maximum number of events to return
+     * @return Events in sequence order
+     */
+    List<RevocationEvent> readAfter(long afterSequence, int limit);
+    
+    /**
+     * Highest sequence number assigned so far (0 if the log is empty).
+     */
+    long latestSequence();
+}
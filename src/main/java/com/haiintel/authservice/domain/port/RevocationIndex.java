@@ -0,0 +1,39 @@
+package com.haiintel.authservice.domain.port;
+
+import com.haiintel.authservice.domain.model.RevocationPage;
+import com.haiintel.authservice.domain.model.RevocationQuery;
+import com.haiintel.authservice.domain.model.RevocationRecord;
+
+import java.util.List;
+
+/**
+ * Port interface for the index of active revocations (Hexagonal Architecture).
+ * 
+ * Lets admins list what is currently revoked without scanning the deny-list
+ * keyspace. Entries are ordered by id (insertion order) and drop out once
+ * they expire; implementations prune expired entries a few at a time rather
+ * than by full scans.
+ * 
+ * Implementations:
+ * - RedisRevocationIndex (token-revocation.store: redis)
+ * - InMemoryRevocationIndex (token-revocation.store: file / memory)
+ */
+public interface RevocationIndex {
+    
+    /**
+     * Add revocations to the index, assigning ids in order.
+     * 
+     * @param records Records (ids are ignored)
+     */
+    void record(List<RevocationRecord> records);
+    
+    /**
+     * List active revocations with an id above the cursor, matching the query.
+     * 
+     * @param query Filters
+     * @param afterId Cursor (0 for the first page)
+     * @param limit Maximum number of entries
+     * @return Matching entries and the cursor of the next page
+     */
+    RevocationPage page(RevocationQuery query, long afterId, int limit);
+}
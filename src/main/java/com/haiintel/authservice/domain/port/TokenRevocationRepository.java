@@ -1,12 +1,20 @@
 package com.haiintel.authservice.domain.port;
 
+import com.haiintel.authservice.domain.model.TokenRevocation;
+
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Port interface for token revocation storage (Hexagonal Architecture).
  * 
  * Implementations:
- * - RedisTokenRevocationRepository (current)
+ * - RedisTokenRevocationRepository (default, token-revocation.store: redis),
+ *   wrapped by ResilientTokenRevocationRepository for Redis outages
+ * - MappedFileTokenRevocationRepository (token-revocation.store: file)
+ * - InMemoryTokenRevocationRepository (token-revocation.store: memory)
  * - CosmosDBTokenRevocationRepository (future - Azure)
  * 
  * ✅ P0 FIX: Token revocation support
@@ -18,9 +26,21 @@ public interface TokenRevocationRepository {
      * Revoke a specific token by its JTI.
      * 
      * @param jti JWT ID (unique token identifier)
+     * @param email Token subject (keeps the token's and user's entries on one shard)
      * @param expiresAt Token expiration time (for TTL)
      */
-    void revokeToken(String jti, Instant expiresAt);
+    void revokeToken(String jti, String email, Instant expiresAt);
+    
+    /**
+     * Revoke several tokens at once. Implementations may batch the writes.
+     * 
+     * @param tokens Tokens to revoke
+     */
+    default void revokeTokens(List<TokenRevocation> tokens) {
+        for (TokenRevocation token : tokens) {
+            revokeToken(token.getJti(), token.getEmail(), token.getExpiresAt());
+        }
+    }
     
     /**
      * Revoke all tokens for a specific user.
@@ -30,13 +50,26 @@ public interface TokenRevocationRepository {
      */
     void revokeAllUserTokens(String email, Instant issuedBefore);
     
+    /**
+     * Revoke all tokens of several users. Implementations may batch the writes.
+     * 
+     * @param emails User emails
+     * @param issuedBefore Revoke all tokens issued before this time
+     */
+    default void revokeAllUserTokens(List<String> emails, Instant issuedBefore) {
+        for (String email : emails) {
+            revokeAllUserTokens(email, issuedBefore);
+        }
+    }
+    
     /**
      * Check if a token is revoked.
      * 
      * @param jti JWT ID
+     * @param email Token subject
      * @return true if token is revoked
      */
-    boolean isTokenRevoked(String jti);
+    boolean isTokenRevoked(String jti, String email);
     
     /**
      * Check if all user tokens issued before a certain time are revoked.
@@ -46,5 +79,50 @@ public interface TokenRevocationRepository {
      * @return true if user tokens are revoked
      */
     boolean areUserTokensRevoked(String email, Instant issuedAt);
+    
+    /**
+     * Combined check: token revoked, or all user tokens issued before it revoked.
+     * Implementations may answer both in one round trip.
+     * 
+     * @param jti JWT ID
+     * @param email Token subject
+     * @param issuedAt Token issued time
+     * @return true if the token must be rejected
+     */
+    default boolean isRevoked(String jti, String email, Instant issuedAt) {
+        return isTokenRevoked(jti, email) || areUserTokensRevoked(email, issuedAt);
+    }
+    
+    /**
+     * Current revocation generation of a user (0 if never revoked).
+     * Stamped into tokens at issuance as the "gen" claim.
+     * 
+     * @param email User email
+     * @return Current generation
+     */
+    long getUserGeneration(String email);
+    
+    /**
+     * Advance the user's revocation generation: every token stamped with a
+     * lower generation is revoked. Counters never expire, so a generation is
+     * never reused.
+     * 
+     * @param email User email
+     * @return New generation
+     */
+    long incrementUserGeneration(String email);
+    
+    /**
+     * Advance the revocation generation of several users. Implementations may batch the writes.
+     * 
+     * @param emails User emails
+     * @return New generation per user
+     */
+    default Map<String, Long> incrementUserGenerations(List<String> emails) {
+        Map<String, Long> generations = new LinkedHashMap<>();
+        for (String email : emails) {
+            generations.put(email, incrementUserGeneration(email));
+        }
+        return generations;
+    }
 }
-
@@ -2,8 +2,12 @@ package com.haiintel.authservice.domain.service;
 
 import com.haiintel.authservice.domain.model.JwtToken;
 import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.model.ValidatedToken;
 import com.haiintel.authservice.domain.port.AuditLogger;
 import com.haiintel.authservice.domain.port.IdentityProvider;
+import com.haiintel.authservice.infrastructure.config.GoogleWorkspaceProperties;
+import java.util.List;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +25,7 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final RoleResolver roleResolver;
     private final AuditLogger auditLogger;
+    private final GoogleWorkspaceProperties googleWorkspaceProperties;
     
     /**
      * Authenticate user with OAuth 2.0 authorization code and issue JWT token.
@@ -62,15 +67,32 @@ public class AuthenticationService {
     }
     
     /**
-     * Validate JWT token and return user principal.
+     * Validate JWT token and audit it (jti from the same parse, no second one).
      * 
      * @param token JWT token string
-     * @return User principal
+     * @return Validated token
+     */
+    public ValidatedToken validateToken(String token) {
+        ValidatedToken validated = jwtService.validateToken(token);
+        auditLogger.logTokenValidated(validated.getJti(), validated.getPrincipal().getEmail());
+        return validated;
+    }
+
+    /**
+     * Fill in groups omitted by a compact claim profile (cached Directory lookup).
+     * Only workspace users are looked up; service clients keep an empty list.
+     *
+     * @param user Principal from a validated token
+     * @return Principal with groups
      */
-    public UserPrincipal validateToken(String token) {
-        UserPrincipal user = jwtService.validateToken(token);
-        auditLogger.logTokenValidated(jwtService.extractJti(token), user.getEmail());
-        return user;
+    public UserPrincipal resolveGroups(UserPrincipal user) {
+        if (user.getGroups() != null) {
+            return user;
+        }
+        boolean workspaceUser = user.getEmail().endsWith("@" + googleWorkspaceProperties.getDomain());
+        return user.toBuilder()
+                .groups(workspaceUser ? identityProvider.getUserGroups(user.getEmail()) : List.of())
+                .build();
     }
 }
 
@@ -0,0 +1,169 @@
+package com.haiintel.authservice.domain.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haiintel.authservice.domain.model.JwtToken;
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.ServiceClient;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.port.ClientRegistry;
+import com.haiintel.authservice.infrastructure.config.AuthorizationProperties;
+import com.haiintel.authservice.infrastructure.config.ClientCredentialsProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Domain service for the OAuth 2.0 client-credentials grant.
+ *
+ * Verifies machine client secrets against the client registry and issues
+ * short-lived JWT tokens. Secret verification results are cached (keyed by
+ * client ID + SHA-256 of the presented secret) so the deliberately slow
+ * password hash is computed once per client rather than once per call.
+ */
+@Service
+@Slf4j
+public class ClientCredentialsService {
+
+    private final ClientRegistry clientRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final ClientCredentialsProperties properties;
+    private final AuthorizationProperties authorizationProperties;
+    private final Cache<String, Boolean> verificationCache;
+
+    public ClientCredentialsService(
+            ClientRegistry clientRegistry,
+            PasswordEncoder passwordEncoder,
+            JwtService jwtService,
+            ClientCredentialsProperties properties,
+            AuthorizationProperties authorizationProperties) {
+        this.clientRegistry = clientRegistry;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.properties = properties;
+        this.authorizationProperties = authorizationProperties;
+        this.verificationCache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getVerificationCache().getTtlSeconds(), TimeUnit.SECONDS)
+                .maximumSize(properties.getVerificationCache().getMaxSize())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Authenticate a machine client and issue a short-lived JWT token.
+     *
+     * @param clientId OAuth 2.0 client ID
+     * @param clientSecret Raw client secret
+     * @param requestedScopes Requested scopes (empty = all scopes registered for the client)
+     * @return JWT token
+     * @throws InvalidClientException if the client is unknown or the secret does not match
+     * @throws InvalidScopeException if a requested scope is not registered for the client
+     */
+    public JwtToken issueToken(String clientId, String clientSecret, Collection<String> requestedScopes) {
+        if (!properties.isEnabled()) {
+            throw new InvalidClientException("Client-credentials grant is disabled");
+        }
+
+        ServiceClient client = clientRegistry.findByClientId(clientId)
+                .orElseThrow(() -> new InvalidClientException("Unknown client: " + clientId));
+
+        if (!verifySecret(client, clientSecret)) {
+            log.warn("Client secret mismatch: clientId={}", clientId);
+            throw new InvalidClientException("Invalid client credentials");
+        }
+
+        List<String> grantedScopes = resolveScopes(client, requestedScopes);
+        Role role = resolveRole(grantedScopes);
+
+        UserPrincipal principal = UserPrincipal.builder()
+                .email(client.getClientId())
+                .name(client.getClientId())
+                .role(role)
+                .groups(List.of())
+                .build();
+
+        JwtToken token = jwtService.issueServiceToken(
+                principal, grantedScopes, Duration.ofMinutes(properties.getTokenTtlMinutes()));
+
+        log.info("Service token issued: jti={}, clientId={}, role={}, scopes={}",
+                token.getJti(), clientId, role, grantedScopes);
+        return token;
+    }
+
+    /**
+     * Scopes granted for a request: the requested subset, or everything the client is registered for.
+     */
+    public List<String> resolveScopes(ServiceClient client, Collection<String> requestedScopes) {
+        if (requestedScopes == null || requestedScopes.isEmpty()) {
+            return client.getScopes();
+        }
+
+        for (String scope : requestedScopes) {
+            if (!client.getScopes().contains(scope)) {
+                throw new InvalidScopeException("Scope not allowed for client: " + scope);
+            }
+        }
+        return List.copyOf(requestedScopes);
+    }
+
+    /**
+     * Resolve role from granted scopes.
+     * Returns the highest privilege role mapped by any scope, falling back to the default role.
+     */
+    private Role resolveRole(List<String> scopes) {
+        return properties.getScopeMappings().stream()
+                .filter(mapping -> scopes.contains(mapping.getScope()))
+                .map(ClientCredentialsProperties.ScopeMapping::getRole)
+                .reduce(Role::max)
+                .orElse(authorizationProperties.getDefaultRole());
+    }
+
+    private boolean verifySecret(ServiceClient client, String clientSecret) {
+        if (clientSecret == null || clientSecret.isEmpty()) {
+            return false;
+        }
+
+        String cacheKey = client.getClientId() + ":" + sha256(clientSecret);
+        return verificationCache.get(cacheKey,
+                key -> passwordEncoder.matches(clientSecret, client.getSecretHash()));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Exception for unknown clients or bad secrets (OAuth 2.0 "invalid_client").
+     */
+    public static class InvalidClientException extends RuntimeException {
+        public InvalidClientException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Exception for scopes outside the client's registration (OAuth 2.0 "invalid_scope").
+     */
+    public static class InvalidScopeException extends RuntimeException {
+        public InvalidScopeException(String message) {
+            super(message);
+        }
+    }
+}
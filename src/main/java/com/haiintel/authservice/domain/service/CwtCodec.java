@@ -0,0 +1,341 @@
+package com.haiintel.authservice.domain.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * CBOR Web Tokens (RFC 8392): a COSE_Sign1 (RFC 9052) over a CBOR claims map,
+ * tagged 61(18(...)) and base64url-encoded for use as a bearer token.
+ *
+ * Only what the service issues is supported: RS256 (COSE alg -257), definite-length
+ * items, integer / byte string / text string / array / map values. Failures are
+ * reported with the jjwt exception types so metrics and the rejected-token cache
+ * treat both formats alike.
+ */
+public final class CwtCodec {
+
+    // CWT claim keys (RFC 8392 section 4)
+    public static final long ISS = 1;
+    public static final long SUB = 2;
+    public static final long AUD = 3;
+    public static final long EXP = 4;
+    public static final long IAT = 6;
+    public static final long CTI = 7;
+
+    private static final long ALG_RS256 = -257;
+    private static final long HEADER_ALG = 1;
+    private static final long HEADER_KID = 4;
+    private static final byte[] TAGS = {(byte) 0xd8, 61, (byte) 0xd2};  // 61(CWT) 18(COSE_Sign1)
+    private static final String PREFIX = Base64.getUrlEncoder().withoutPadding().encodeToString(TAGS);  // "2D3S"
+    private static final int MAX_DEPTH = 8;
+
+    private CwtCodec() {
+    }
+
+    /**
+     * Cheap format check: every token issued by {@link #sign} starts with the CWT and COSE_Sign1 tags.
+     */
+    public static boolean isCwt(String token) {
+        return token.startsWith(PREFIX);
+    }
+
+    /**
+     * Sign a claims map (Long keys for registered claims, String keys for private ones).
+     */
+    public static String sign(Map<Object, Object> claims, String kid, PrivateKey privateKey) {
+        Map<Object, Object> protectedHeader = new LinkedHashMap<>();
+        protectedHeader.put(HEADER_ALG, ALG_RS256);
+        protectedHeader.put(HEADER_KID, kid.getBytes(StandardCharsets.UTF_8));
+        byte[] protectedBytes = encode(protectedHeader);
+        byte[] payload = encode(claims);
+
+        byte[] signature;
+        try {
+            Signature signer = Signature.getInstance("SHA256withRSA");
+            signer.initSign(privateKey);
+            signer.update(sigStructure(protectedBytes, payload));
+            signature = signer.sign();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("COSE signing failed", e);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length + signature.length + 64);
+        out.writeBytes(TAGS);
+        encode(out, List.of(protectedBytes, Map.of(), payload, signature), 0);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    /**
+     * Verify the COSE signature and return the claims (Long keys for integer labels).
+     * Registered claims (exp, iss, aud) are checked by the caller.
+     *
+     * @throws SignatureException if the signature does not verify
+     * @throws MalformedJwtException if the token is not a well-formed CWT
+     */
+    public static Map<Object, Object> verify(String token, PublicKey publicKey) {
+        List<?> sign1 = sign1(token);
+        byte[] protectedBytes = bytes(sign1.get(0));
+        byte[] payload = bytes(sign1.get(2));
+        Object alg = map(decode(protectedBytes)).get(HEADER_ALG);
+        if (!Long.valueOf(ALG_RS256).equals(alg)) {
+            throw new UnsupportedJwtException("Unsupported COSE algorithm: " + alg);
+        }
+        try {
+            Signature verifier = Signature.getInstance("SHA256withRSA");
+            verifier.initVerify(publicKey);
+            verifier.update(sigStructure(protectedBytes, payload));
+            if (!verifier.verify(bytes(sign1.get(3)))) {
+                throw new SignatureException("COSE signature does not match");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new SignatureException("COSE signature verification failed", e);
+        }
+        return map(decode(payload));
+    }
+
+    /**
+     * Claims without signature verification (logging / audit only).
+     */
+    public static Map<Object, Object> claimsUnverified(String token) {
+        return map(decode(bytes(sign1(token).get(2))));
+    }
+
+    /**
+     * COSE_KeySet (RFC 9052 section 7) with one RSA key (RFC 8230): kty 3, kid, alg RS256, n, e.
+     */
+    public static byte[] coseKeySet(String kid, RSAPublicKey publicKey) {
+        Map<Object, Object> key = new LinkedHashMap<>();
+        key.put(1L, 3L);                                             // kty: RSA
+        key.put(2L, kid.getBytes(StandardCharsets.UTF_8));           // kid
+        key.put(3L, ALG_RS256);                                      // alg
+        key.put(-1L, unsigned(publicKey.getModulus().toByteArray()));        // n
+        key.put(-2L, unsigned(publicKey.getPublicExponent().toByteArray())); // e
+        return encode(List.of(key));
+    }
+
+    private static List<?> sign1(String token) {
+        if (!isCwt(token)) {
+            throw new MalformedJwtException("Not a CWT");
+        }
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Invalid base64url in CWT", e);
+        }
+        Reader reader = new Reader(raw, TAGS.length);
+        Object value = reader.read(0);
+        if (reader.position != raw.length || !(value instanceof List<?> sign1) || sign1.size() != 4) {
+            throw new MalformedJwtException("Invalid COSE_Sign1 structure");
+        }
+        return sign1;
+    }
+
+    private static byte[] sigStructure(byte[] protectedBytes, byte[] payload) {
+        return encode(List.of("Signature1", protectedBytes, new byte[0], payload));
+    }
+
+    private static byte[] unsigned(byte[] bytes) {
+        return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static byte[] bytes(Object value) {
+        if (value instanceof byte[] bytes) {
+            return bytes;
+        }
+        throw new MalformedJwtException("Expected CBOR byte string");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> map(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return (Map<Object, Object>) map;
+        }
+        throw new MalformedJwtException("Expected CBOR map");
+    }
+
+    // CBOR (RFC 8949), definite lengths only
+
+    static byte[] encode(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        encode(out, value, 0);
+        return out.toByteArray();
+    }
+
+    static Object decode(byte[] bytes) {
+        Reader reader = new Reader(bytes, 0);
+        Object value = reader.read(0);
+        if (reader.position != bytes.length) {
+            throw new MalformedJwtException("Trailing bytes after CBOR item");
+        }
+        return value;
+    }
+
+    private static void encode(ByteArrayOutputStream out, Object value, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("CBOR nesting too deep");
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            long n = ((Number) value).longValue();
+            head(out, n >= 0 ? 0 : 1, n >= 0 ? n : -1 - n);
+        } else if (value instanceof byte[] bytes) {
+            head(out, 2, bytes.length);
+            out.writeBytes(bytes);
+        } else if (value instanceof String text) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            head(out, 3, utf8.length);
+            out.writeBytes(utf8);
+        } else if (value instanceof List<?> list) {
+            head(out, 4, list.size());
+            for (Object item : list) {
+                encode(out, item, depth + 1);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            head(out, 5, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                encode(out, entry.getKey(), depth + 1);
+                encode(out, entry.getValue(), depth + 1);
+            }
+        } else if (value instanceof Boolean flag) {
+            out.write(flag ? 0xf5 : 0xf4);
+        } else {
+            throw new IllegalArgumentException("Unsupported CBOR value: " + value);
+        }
+    }
+
+    private static void head(ByteArrayOutputStream out, int major, long argument) {
+        int type = major << 5;
+        if (argument < 24) {
+            out.write(type | (int) argument);
+        } else if (argument < 0x100) {
+            out.write(type | 24);
+            out.write((int) argument);
+        } else if (argument < 0x10000) {
+            out.write(type | 25);
+            out.write((int) (argument >>> 8));
+            out.write((int) argument);
+        } else if (argument < 0x100000000L) {
+            out.write(type | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write((int) (argument >>> shift));
+            }
+        } else {
+            out.write(type | 27);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (argument >>> shift));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        private Object read(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new MalformedJwtException("CBOR nesting too deep");
+            }
+            int initial = next();
+            int major = initial >>> 5;
+            int info = initial & 0x1f;
+            if (major == 7) {
+                return switch (info) {
+                    case 20 -> Boolean.FALSE;
+                    case 21 -> Boolean.TRUE;
+                    case 22 -> null;
+                    default -> throw new MalformedJwtException("Unsupported CBOR simple value: " + info);
+                };
+            }
+            long argument = argument(info);
+            switch (major) {
+                case 0:
+                    return argument;
+                case 1:
+                    return -1 - argument;
+                case 2:
+                    return take(argument);
+                case 3:
+                    return new String(take(argument), StandardCharsets.UTF_8);
+                case 4: {
+                    List<Object> list = new ArrayList<>(length(argument));
+                    for (long i = 0; i < argument; i++) {
+                        list.add(read(depth + 1));
+                    }
+                    return list;
+                }
+                case 5: {
+                    Map<Object, Object> map = new LinkedHashMap<>(length(argument) * 2);
+                    for (long i = 0; i < argument; i++) {
+                        map.put(read(depth + 1), read(depth + 1));
+                    }
+                    return map;
+                }
+                default:  // 6: tags are only expected before the COSE_Sign1 array
+                    throw new MalformedJwtException("Unexpected CBOR tag");
+            }
+        }
+
+        private long argument(int info) {
+            if (info < 24) {
+                return info;
+            }
+            int size = switch (info) {
+                case 24 -> 1;
+                case 25 -> 2;
+                case 26 -> 4;
+                case 27 -> 8;
+                default -> throw new MalformedJwtException("Indefinite or reserved CBOR length");
+            };
+            long value = 0;
+            for (int i = 0; i < size; i++) {
+                value = (value << 8) | next();
+            }
+            if (value < 0) {
+                throw new MalformedJwtException("CBOR integer out of range");
+            }
+            return value;
+        }
+
+        private int length(long count) {
+            // Every item takes at least one byte: bounds allocation by the input size
+            if (count > bytes.length - position) {
+                throw new MalformedJwtException("CBOR length exceeds input");
+            }
+            return (int) count;
+        }
+
+        private byte[] take(long count) {
+            int length = length(count);
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        private int next() {
+            if (position >= bytes.length) {
+                throw new MalformedJwtException("Truncated CBOR");
+            }
+            return bytes[position++] & 0xff;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.haiintel.authservice.domain.service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * RS256 verification of the tokens this service issues (see {@link TemplateJwtEncoder}),
+ * without building a jjwt parser or a generic claims map.
+ *
+ * Only tokens whose header segment is exactly the one issued for the current kid take this
+ * path ({@link #supports}); anything else goes to the jjwt reference parser. Segments are
+ * base64url-decoded into per-thread buffers, the signature is checked with a per-thread
+ * Signature (initialized once per key) and only the known claims are read with a streaming
+ * JSON parser, unknown ones skipped.
+ *
+ * Checks and failures match the jjwt parser as JwtService configures it: signature, then
+ * exp / nbf (no clock skew), then required iss and aud, with the same exception types.
+ */
+public final class FastJwtVerifier {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte[] BASE64URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final String headerPrefix;  // base64url header + '.'
+    private final String issuer;
+    private final String audience;
+    private final ThreadLocal<Buffers> buffers;
+
+    public FastJwtVerifier(PublicKey publicKey, String kid, String issuer, String audience) {
+        this.headerPrefix = TemplateJwtEncoder.encodedHeader(kid) + ".";
+        this.issuer = issuer;
+        this.audience = audience;
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(publicKey));
+    }
+
+    /**
+     * Whether the token was issued for the current key (same header bytes).
+     */
+    public boolean supports(String token) {
+        return token.startsWith(headerPrefix);
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException as the jjwt parser would for the same token
+     */
+    public TokenClaims verify(String token) {
+        int payloadStart = headerPrefix.length();
+        int signatureDot = token.indexOf('.', payloadStart);
+        if (signatureDot < 0 || token.indexOf('.', signatureDot + 1) >= 0) {
+            throw new MalformedJwtException("JWT must have exactly 3 segments");
+        }
+
+        Buffers b = buffers.get();
+        byte[] signingInput = b.ascii(token, signatureDot);
+        int signatureLength = decode(token, signatureDot + 1, token.length(), b.signature);
+        try {
+            b.verifier.update(signingInput, 0, signatureDot);
+            if (!b.verifier.verify(b.signature, 0, signatureLength)) {
+                throw new SignatureException("JWT signature does not match locally computed signature");
+            }
+        } catch (GeneralSecurityException e) {
+            buffers.remove();  // Signature state unknown: start over on this thread
+            throw new SignatureException("JWT signature verification failed", e);
+        }
+
+        int payloadLength = decode(token, payloadStart, signatureDot, b.payload(signatureDot - payloadStart));
+        Claims claims = read(b.payload, payloadLength);
+
+        long now = System.currentTimeMillis();
+        if (claims.expiresAt != null && now > claims.expiresAt * 1000) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + claims.expiresAt);
+        }
+        if (claims.notBefore != null && now < claims.notBefore * 1000) {
+            throw new PrematureJwtException(null, null, "JWT not valid before " + claims.notBefore);
+        }
+        if (claims.issuer == null) {
+            throw new MissingClaimException(null, null, "iss", issuer, "Missing 'iss' claim");
+        }
+        if (!issuer.equals(claims.issuer)) {
+            throw new IncorrectClaimException(null, null, "iss", issuer, "Unexpected 'iss' claim");
+        }
+        if (!claims.audienceMatched) {
+            throw claims.audienceSeen
+                    ? new IncorrectClaimException(null, null, "aud", audience, "Unexpected 'aud' claim")
+                    : new MissingClaimException(null, null, "aud", audience, "Missing 'aud' claim");
+        }
+        if (claims.subject == null || claims.jti == null || claims.issuedAt == null || claims.role == null) {
+            throw new MissingClaimException(null, null, "sub/jti/iat/role", null, "Missing sub, jti, iat or role");
+        }
+        return new TokenClaims(claims.subject, claims.jti, Instant.ofEpochSecond(claims.issuedAt),
+                claims.expiresAt == null ? null : Instant.ofEpochSecond(claims.expiresAt), claims.generation,
+                claims.role, claims.name, claims.groups, claims.groupHashes, TokenClaims.scopes(claims.scope));
+    }
+
+    private Claims read(byte[] payload, int length) {
+        Claims claims = new Claims();
+        try (JsonParser parser = JSON.createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedJwtException("JWT payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "sub" -> claims.subject = text(parser, field);
+                    case "jti" -> claims.jti = text(parser, field);
+                    case "role" -> claims.role = text(parser, field);
+                    case "name" -> claims.name = text(parser, field);
+                    case "iss" -> claims.issuer = text(parser, field);
+                    case "iat" -> claims.issuedAt = number(parser, field);
+                    case "exp" -> claims.expiresAt = number(parser, field);
+                    case "nbf" -> claims.notBefore = number(parser, field);
+                    case "gen" -> claims.generation = number(parser, field);
+                    case "groups" -> claims.groups = texts(parser, field);
+                    case "grp" -> claims.groupHashes = texts(parser, field);
+                    case "aud" -> readAudience(parser, claims);
+                    case "scope" -> claims.scope = scope(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                throw new MalformedJwtException("Invalid JWT payload JSON");
+            }
+        } catch (IOException e) {
+            throw new MalformedJwtException("Invalid JWT payload JSON", e);
+        }
+        return claims;
+    }
+
+    private void readAudience(JsonParser parser, Claims claims) throws IOException {
+        claims.audienceSeen = true;
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            claims.audienceMatched = audience.equals(parser.getText());
+            return;
+        }
+        for (String value : texts(parser, "aud")) {
+            claims.audienceMatched |= audience.equals(value);
+        }
+    }
+
+    private static String text(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new MalformedJwtException("Claim '" + field + "' must be a string");
+        }
+        return parser.getText();
+    }
+
+    // Non-string values grant nothing (same as the jjwt path), so they are skipped, not rejected
+    private static String scope(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Long number(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            throw new MalformedJwtException("Claim '" + field + "' must be an integer");
+        }
+        return parser.getLongValue();
+    }
+
+    private static List<String> texts(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new MalformedJwtException("Claim '" + field + "' must be an array");
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(text(parser, field));
+        }
+        return values;
+    }
+
+    /**
+     * Unpadded base64url of {@code token[from, to)} into {@code target}.
+     *
+     * @return Decoded length
+     */
+    private static int decode(String token, int from, int to, byte[] target) {
+        int length = to - from;
+        if (length % 4 == 1 || (length * 3) / 4 > target.length) {
+            throw new MalformedJwtException("Invalid base64url segment length");
+        }
+        int position = 0;
+        int bits = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            int value = c < 128 ? BASE64URL_VALUES[c] : -1;
+            if (value < 0) {
+                throw new MalformedJwtException("Invalid base64url character");
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                target[position++] = (byte) (bits >> 16);
+                target[position++] = (byte) (bits >> 8);
+                target[position++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 3) {
+            target[position++] = (byte) (bits >> 10);
+            target[position++] = (byte) (bits >> 2);
+        } else if (count == 2) {
+            target[position++] = (byte) (bits >> 4);
+        }
+        return position;
+    }
+
+    /**
+     * Mutable scratch for one payload; only the claims JwtService uses.
+     */
+    private static final class Claims {
+        private String subject;
+        private String jti;
+        private String role;
+        private String name;
+        private String issuer;
+        private Long issuedAt;
+        private Long expiresAt;
+        private Long notBefore;
+        private Long generation;
+        private List<String> groups;
+        private List<String> groupHashes;
+        private String scope;
+        private boolean audienceSeen;
+        private boolean audienceMatched;
+    }
+
+    private static final class Buffers {
+        private final Signature verifier;
+        private final byte[] signature = new byte[512];  // Up to 4096-bit RSA
+        private byte[] payload = new byte[2048];
+        private byte[] ascii = new byte[4096];
+
+        private Buffers(PublicKey publicKey) {
+            try {
+                verifier = Signature.getInstance("SHA256withRSA");
+                verifier.initVerify(publicKey);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("RS256 verifier unavailable", e);
+            }
+        }
+
+        private byte[] payload(int encodedLength) {
+            if (payload.length < encodedLength) {
+                payload = new byte[encodedLength];
+            }
+            return payload;
+        }
+
+        /**
+         * The signing input (header.payload) as bytes. Non-ASCII never verifies: it is
+         * rejected when the payload is decoded.
+         */
+        private byte[] ascii(String token, int length) {
+            if (ascii.length < length) {
+                ascii = new byte[length];
+            }
+            for (int i = 0; i < length; i++) {
+                ascii[i] = (byte) token.charAt(i);
+            }
+            return ascii;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.haiintel.authservice.domain.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fleet-wide "not-before" epoch: every token issued before it is revoked.
+ *
+ * The emergency lever for key compromise or incidents. Validation checks it
+ * with one comparison against a local field, ahead of any per-jti or per-user
+ * lookup, so it adds no I/O per request.
+ *
+ * The epoch is stored in the revocation event log (ALL_TOKENS_REVOKED events)
+ * and reaches every pod through the revocation feed, like user generations:
+ * the pod that raises it applies it at once, the others within one feed poll
+ * interval (token-revocation.feed.poll-interval-ms, the propagation bound),
+ * and a starting pod picks it up from the replayed log before it reports
+ * ready (RevocationFeedHealthIndicator). Retention
+ * covers the maximum token lifetime, so an epoch that has dropped out of the
+ * log no longer covers any live token.
+ */
+@Service
+@Slf4j
+public class GlobalRevocationEpoch implements RevocationEventListener {
+
+    private final AtomicLong notBeforeEpochSecond = new AtomicLong();
+
+    /**
+     * Check whether a token is revoked by the global epoch.
+     *
+     * @param issuedAt "iat" claim of the token
+     * @return true if the token was issued before the epoch
+     */
+    public boolean isRevoked(Instant issuedAt) {
+        return issuedAt.getEpochSecond() < notBeforeEpochSecond.get();
+    }
+
+    /**
+     * Raise the epoch; it only moves forward.
+     */
+    public void advance(Instant notBefore) {
+        long epoch = notBeforeEpochSecond.accumulateAndGet(notBefore.getEpochSecond(), Math::max);
+        log.info("Global revocation epoch: notBefore={}", Instant.ofEpochSecond(epoch));
+    }
+
+    /**
+     * Current epoch, or null if it was never raised (within the feed retention).
+     */
+    public Instant getNotBefore() {
+        long epoch = notBeforeEpochSecond.get();
+        return epoch == 0 ? null : Instant.ofEpochSecond(epoch);
+    }
+
+    @Override
+    public void onRevocationEvent(RevocationEvent event) {
+        if (event.getType() == RevocationEvent.Type.ALL_TOKENS_REVOKED && event.getRevokedBefore() != null) {
+            advance(event.getRevokedBefore());
+        }
+    }
+}
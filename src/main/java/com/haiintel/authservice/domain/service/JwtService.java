@@ -1,29 +1,48 @@
 package com.haiintel.authservice.domain.service;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
+import com.haiintel.authservice.domain.model.ClaimProfile;
 import com.haiintel.authservice.domain.model.JwtToken;
 import com.haiintel.authservice.domain.model.Role;
 import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.model.ValidatedToken;
+import com.haiintel.authservice.domain.port.ActiveTokenIndex;
 import com.haiintel.authservice.domain.port.TokenRevocationRepository;
 import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.metrics.AuthMetrics;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,8 +50,8 @@ import lombok.extern.slf4j.Slf4j;
  * Domain service for JWT token operations.
  * 
  * ✅ P0 FIX: JWT expiration = 1 hour (was 8 hours)
- * ✅ P1 FIX: kid generation = timestamp-based (was date-based)
- * ✅ P0 FIX: Token revocation check
+ * ✅ P1 FIX: kid = RFC 7638 thumbprint (was date-based)
+ * ✅ P0 FIX: Token revocation check (see README, Token Verification)
  */
 @Service
 @RequiredArgsConstructor
@@ -41,9 +60,19 @@ public class JwtService {
 
     private final JwtProperties jwtProperties;
     private final TokenRevocationRepository tokenRevocationRepository;
+    private final UserRevocationGenerations userRevocationGenerations;
+    private final GlobalRevocationEpoch globalRevocationEpoch;
+    private final ActiveTokenIndex activeTokenIndex;
+    private final RejectedTokenCache rejectedTokenCache;
+    private final AuthMetrics authMetrics;
+    private final RevocationFeedService revocationFeedService;
 
     private PrivateKey privateKey;
     private PublicKey publicKey;
+    private String keyId;
+    private TemplateJwtEncoder jwtEncoder;
+    private FastJwtVerifier fastVerifier;
+    private JwtParser jwtParser;
 
     /**
      * Issue JWT token for authenticated user.
@@ -52,101 +81,310 @@ public class JwtService {
      * @return JWT token
      */
     public JwtToken issueToken(UserPrincipal user) {
+        ClaimProfile profile = jwtProperties.getClaims().getProfile();
+        return issueToken(user, Duration.ofHours(jwtProperties.getExpirationHours()), List.of(), "user", profile, false);
+    }
+
+    /**
+     * Issue short-lived JWT token for a machine client (client-credentials grant).
+     * The granted scopes are carried in the space-delimited "scope" claim.
+     * Clients listed in jwt.cwt.clients receive a CBOR Web Token instead of a JWT.
+     * 
+     * @param client Client principal (email = client ID)
+     * @param scopes Granted scopes
+     * @param ttl Token lifetime
+     * @return JWT token
+     */
+    public JwtToken issueServiceToken(UserPrincipal client, List<String> scopes, Duration ttl) {
+        ClaimProfile profile = jwtProperties.getClaims().forClient(client.getEmail());
+        boolean cwt = jwtProperties.getCwt().getClients().contains(client.getEmail());
+        return issueToken(client, ttl, scopes, "service", profile, cwt);
+    }
+
+    private JwtToken issueToken(UserPrincipal user, Duration ttl, List<String> scopes, String tokenType,
+            ClaimProfile profile, boolean cwt) {
+        AuthMetrics.Span span = authMetrics.startIssuance(tokenType);
+        try {
+            JwtToken token = createToken(user, ttl, scopes, profile, cwt);
+            authMetrics.issued(span, true);
+            authMetrics.tokenSize(tokenType, profile, token.getToken().length());
+            return token;
+        } catch (RuntimeException e) {
+            authMetrics.issued(span, false);
+            throw e;
+        }
+    }
+
+    private JwtToken createToken(UserPrincipal user, Duration ttl, List<String> scopes, ClaimProfile profile,
+            boolean cwt) {
         Instant now = Instant.now();
-        Instant expiresAt = now.plus(jwtProperties.getExpirationHours(), ChronoUnit.HOURS);
-        String jti = UUID.randomUUID().toString();
+        Instant expiresAt = now.plus(ttl);
+        UUID id = UUID.randomUUID();
+        String jti = id.toString();
+        String subject = UserPrincipal.normalizeEmail(user.getEmail());  // Revocation keys are built from it
 
-        // ✅ P1 FIX: Timestamp-based kid (supports multiple rotations per day)
-        String kid = generateKeyId();
+        String kid = getKeyId();
 
-        String token = Jwts.builder()
-                .header()
-                .keyId(kid)
-                .and()
-                .subject(user.getEmail())
-                .claim("name", user.getName())
-                .claim("role", user.getRole().name())
-                .claim("groups", user.getGroups())
-                .issuer(jwtProperties.getIssuer())
-                .audience().add(jwtProperties.getAudience()).and()
-                .issuedAt(Date.from(now))
-                .expiration(Date.from(expiresAt))
-                .id(jti)
-                .signWith(getPrivateKey())
-                .compact();
-
-        log.debug("Issued JWT token: jti={}, sub={}, exp={}", jti, user.getEmail(), expiresAt);
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", user.getRole().name());
+        claims.put("gen", tokenRevocationRepository.getUserGeneration(subject));
+        if (profile.includesName()) {
+            claims.put("name", user.getName());
+        }
+        List<String> groups = user.getGroups() == null ? List.of() : user.getGroups();
+        if (profile == ClaimProfile.FULL) {
+            claims.put("groups", groups);
+        } else if (profile == ClaimProfile.HASHED_GROUPS) {
+            claims.put("grp", groups.stream().map(ClaimProfile::groupHash).toList());
+        }
+        if (!scopes.isEmpty()) {
+            claims.put("scope", String.join(" ", scopes));
+        }
+
+        String token = authMetrics.timeSigning(cwt
+                ? () -> signCwt(subject, claims, now, expiresAt, id, kid)
+                : () -> getJwtEncoder().encode(subject, claims, jwtProperties.getIssuer(),
+                        jwtProperties.getAudience(), now.getEpochSecond(), expiresAt.getEpochSecond(), jti));
+
+        log.debug("Issued JWT token: jti={}, sub={}, exp={}", jti, subject, expiresAt);
+
+        // Index is for listing / selective revocation only; never fail issuance on it
+        try {
+            activeTokenIndex.add(subject, jti, expiresAt);
+        } catch (RuntimeException e) {
+            log.warn("Failed to index issued token: jti={}, sub={}: {}", jti, subject, e.getMessage());
+        }
 
         return JwtToken.builder()
                 .token(token)
                 .jti(jti)
-                .subject(user.getEmail())
+                .subject(subject)
                 .role(user.getRole())
                 .issuedAt(now)
                 .expiresAt(expiresAt)
                 .keyId(kid)
+                .scopes(scopes)
                 .build();
     }
 
     /**
-     * Validate JWT token and return user principal.
+     * CWT with the JWT's registered claims under their CWT labels; cti is the jti UUID as 16 bytes.
+     */
+    private String signCwt(String subject, Map<String, Object> claims, Instant issuedAt, Instant expiresAt,
+            UUID id, String kid) {
+        Map<Object, Object> cwtClaims = new LinkedHashMap<>();
+        cwtClaims.put(CwtCodec.ISS, jwtProperties.getIssuer());
+        cwtClaims.put(CwtCodec.SUB, subject);
+        cwtClaims.put(CwtCodec.AUD, jwtProperties.getAudience());
+        cwtClaims.put(CwtCodec.EXP, expiresAt.getEpochSecond());
+        cwtClaims.put(CwtCodec.IAT, issuedAt.getEpochSecond());
+        cwtClaims.put(CwtCodec.CTI, uuidBytes(id));
+        cwtClaims.putAll(claims);
+        return CwtCodec.sign(cwtClaims, kid, getPrivateKey());
+    }
+
+    /**
+     * Validate JWT token and return the principal with the token's identifiers.
+     * The token is parsed once; callers take jti / iat / exp from the result.
      * 
      * ✅ P0 FIX: Check token revocation
      * 
-     * @param token JWT token string
-     * @return User principal
+     * @param token JWT or CWT token string
+     * @return Validated token
      * @throws io.jsonwebtoken.JwtException if token is invalid
      */
-    public UserPrincipal validateToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getPublicKey())
-                .requireIssuer(jwtProperties.getIssuer())
-                .requireAudience(jwtProperties.getAudience())
-                .build()
+    public ValidatedToken validateToken(String token) {
+        AuthMetrics.Span span = authMetrics.startValidation();
+        String rejectedBefore = rejectedTokenCache.rejectionReason(token);
+        if (rejectedBefore != null) {
+            authMetrics.validated(span, rejectedBefore);
+            throw new RejectedTokenException(rejectedBefore);
+        }
+        try {
+            ValidatedToken validated = verify(token);
+            authMetrics.validated(span, "valid");
+            return validated;
+        } catch (TokenRevokedException e) {
+            authMetrics.validated(span, e.getReason());
+            rejectedTokenCache.reject(token, e.getReason());
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            String reason = AuthMetrics.failureReason(e);
+            authMetrics.validated(span, reason);
+            rejectedTokenCache.reject(token, reason);
+            throw e;
+        }
+    }
+
+    private ValidatedToken verify(String token) {
+        TokenClaims claims;
+        if (CwtCodec.isCwt(token)) {
+            claims = verifyCwt(token);
+        } else if (jwtProperties.isFastVerify() && getFastVerifier().supports(token)) {
+            claims = getFastVerifier().verify(token);
+        } else {
+            claims = parseWithJjwt(token);
+        }
+        return checkRevocation(claims);
+    }
+
+    /**
+     * Reference path (jwt.fast-verify: false, or tokens not issued for the current kid).
+     */
+    private TokenClaims parseWithJjwt(String token) {
+        Claims claims = getJwtParser()
                 .parseSignedClaims(token)
                 .getPayload();
+        Date expiration = claims.getExpiration();
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.getId(),
+                claims.getIssuedAt().toInstant(),
+                expiration == null ? null : expiration.toInstant(),
+                claims.get("gen") instanceof Number gen ? gen.longValue() : null,
+                (String) claims.get("role"),
+                (String) claims.get("name"),
+                stringList(claims.get("groups")),
+                stringList(claims.get("grp")),
+                TokenClaims.scopes(claims.get("scope")));
+    }
 
-        String jti = claims.getId();
-        String email = claims.getSubject();
-        Instant issuedAt = claims.getIssuedAt().toInstant();
+    /**
+     * Same checks as the JWT parser applies: signature, iss, aud, exp (no clock skew), then revocation.
+     */
+    private TokenClaims verifyCwt(String token) {
+        Map<Object, Object> cwtClaims = CwtCodec.verify(token, getPublicKey());
+        if (!(cwtClaims.get(CwtCodec.EXP) instanceof Long exp) || !(cwtClaims.get(CwtCodec.IAT) instanceof Long iat)
+                || !(cwtClaims.get(CwtCodec.CTI) instanceof byte[] cti) || cti.length != 16
+                || !(cwtClaims.get(CwtCodec.SUB) instanceof String email)) {
+            throw new MissingClaimException(null, null, "exp/iat/cti/sub", null, "Missing CWT claims");
+        }
+        if (!jwtProperties.getIssuer().equals(cwtClaims.get(CwtCodec.ISS))) {
+            throw new IncorrectClaimException(null, null, "iss", cwtClaims.get(CwtCodec.ISS), "Unexpected CWT issuer");
+        }
+        if (!jwtProperties.getAudience().equals(cwtClaims.get(CwtCodec.AUD))) {
+            throw new IncorrectClaimException(null, null, "aud", cwtClaims.get(CwtCodec.AUD), "Unexpected CWT audience");
+        }
+        if (Instant.now().getEpochSecond() >= exp) {
+            throw new ExpiredJwtException(null, null, "CWT expired at " + Instant.ofEpochSecond(exp));
+        }
 
-        // ✅ P0 FIX: Check if token is revoked
-        if (tokenRevocationRepository.isTokenRevoked(jti)) {
-            log.warn("Token revoked: jti={}", jti);
-            throw new TokenRevokedException("Token has been revoked");
+        return new TokenClaims(
+                email,
+                uuid(cti).toString(),
+                Instant.ofEpochSecond(iat),
+                Instant.ofEpochSecond(exp),
+                cwtClaims.get("gen") instanceof Long gen ? gen : null,
+                (String) cwtClaims.get("role"),
+                (String) cwtClaims.get("name"),
+                stringList(cwtClaims.get("groups")),
+                stringList(cwtClaims.get("grp")),
+                TokenClaims.scopes(cwtClaims.get("scope")));
+    }
+
+    /**
+     * Revocation checks shared by all token formats and parsers.
+     */
+    private ValidatedToken checkRevocation(TokenClaims claims) {
+        String jti = claims.jti();
+        String email = UserPrincipal.normalizeEmail(claims.subject());  // Tokens issued before subjects were normalized
+        Instant issuedAt = claims.issuedAt();
+
+        // Fleet-wide epoch: one comparison, before any per-jti / per-user lookup
+        if (globalRevocationEpoch.isRevoked(issuedAt)) {
+            log.debug("Token issued before global revocation epoch: jti={}, issuedAt={}", jti, issuedAt);
+            throw new TokenRevokedException(
+                    "All tokens issued before " + globalRevocationEpoch.getNotBefore() + " have been revoked", "revoked_all");
         }
 
-        if (tokenRevocationRepository.areUserTokensRevoked(email, issuedAt)) {
-            log.warn("User tokens revoked: email={}, issuedAt={}", email, issuedAt);
-            throw new TokenRevokedException("All user tokens have been revoked");
+        // ✅ P0 FIX: Check if token is revoked
+        // Generation-stamped tokens: jti lookup + in-memory integer comparison;
+        // legacy tokens, and every token while the feed is not current (the generation
+        // map may lag other pods): combined jti + user timestamp check (one round trip, one shard)
+        Long generation = claims.generation();
+        if (generation != null && revocationFeedService.isCurrent()) {
+            if (authMetrics.timeRevocationCheck("token", () -> tokenRevocationRepository.isTokenRevoked(jti, email))) {
+                log.debug("Token revoked: jti={}", jti);
+                throw new TokenRevokedException("Token has been revoked", "revoked_token");
+            }
+            if (userRevocationGenerations.isRevoked(email, generation)) {
+                log.debug("User tokens revoked: email={}, issuedAt={}", email, issuedAt);
+                throw new TokenRevokedException("All user tokens have been revoked", "revoked_user");
+            }
+        } else {
+            if (authMetrics.timeRevocationCheck("combined", () -> tokenRevocationRepository.isRevoked(jti, email, issuedAt))) {
+                log.debug("Token revoked: jti={}, email={}, issuedAt={}", jti, email, issuedAt);
+                throw new TokenRevokedException("Token has been revoked", "revoked");
+            }
+            // Whatever the map has seen still applies (e.g. this pod's own revocations)
+            if (generation != null && userRevocationGenerations.isRevoked(email, generation)) {
+                log.debug("User tokens revoked: email={}, issuedAt={}", email, issuedAt);
+                throw new TokenRevokedException("All user tokens have been revoked", "revoked_user");
+            }
         }
 
-        return UserPrincipal.builder()
+        UserPrincipal user = UserPrincipal.builder()
                 .email(email)
-                .name(claims.get("name", String.class))
-                .role(Role.valueOf(claims.get("role", String.class)))
-                .groups(claims.get("groups", List.class))
+                .name(claims.name())
+                .role(Role.valueOf(claims.role()))
+                .groups(claims.groups())       // null: omitted by the claim profile
+                .groupHashes(claims.groupHashes())
+                .build();
+        return ValidatedToken.builder()
+                .principal(user)
+                .jti(jti)
+                .issuedAt(issuedAt)
+                .expiresAt(claims.expiresAt())
+                .keyId(getKeyId())             // Only the current key verifies, whatever the header says
+                .scopes(claims.scopes())
                 .build();
     }
 
+    @SuppressWarnings("unchecked")
+    private static List<String> stringList(Object value) {
+        return value instanceof List<?> list ? (List<String>) list : null;
+    }
+
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
     /**
-     * Extract JTI from token without full validation.
+     * Key ID for JWKS: RFC 7638 JWK thumbprint of the public key.
+     * Stable across pods and restarts, so verifiers can index keys by kid;
+     * changes with every key rotation (any number per day).
      */
-    public String extractJti(String token) {
-        return Jwts.parser()
-                .unsecured()
-                .build()
-                .parseUnsecuredClaims(token)
-                .getPayload()
-                .getId();
+    public String getKeyId() {
+        if (keyId == null) {
+            RSAPublicKey rsaPublicKey = (RSAPublicKey) getPublicKey();
+            String canonicalJwk = "{\"e\":\"" + base64UrlUnsigned(rsaPublicKey.getPublicExponent())
+                    + "\",\"kty\":\"RSA\",\"n\":\"" + base64UrlUnsigned(rsaPublicKey.getModulus()) + "\"}";
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256")
+                        .digest(canonicalJwk.getBytes(StandardCharsets.UTF_8));
+                keyId = Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+        return keyId;
     }
 
     /**
-     * Generate key ID for JWKS.
-     * ✅ P1 FIX: Timestamp-based (was date-based, only 1 rotation per day)
+     * Base64url encoding of an unsigned big-endian integer (RFC 7518 section 6.3.1),
+     * i.e. without the sign byte BigInteger.toByteArray() prepends.
      */
-    private String generateKeyId() {
-        return String.valueOf(Instant.now().getEpochSecond());
+    public static String base64UrlUnsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
     /**
@@ -173,6 +411,32 @@ public class JwtService {
         return publicKey;
     }
 
+    private TemplateJwtEncoder getJwtEncoder() {
+        if (jwtEncoder == null) {
+            jwtEncoder = new TemplateJwtEncoder(getPrivateKey(), getKeyId());
+        }
+        return jwtEncoder;
+    }
+
+    private FastJwtVerifier getFastVerifier() {
+        if (fastVerifier == null) {
+            fastVerifier = new FastJwtVerifier(getPublicKey(), getKeyId(), jwtProperties.getIssuer(),
+                    jwtProperties.getAudience());
+        }
+        return fastVerifier;
+    }
+
+    private JwtParser getJwtParser() {
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser()
+                    .verifyWith(getPublicKey())
+                    .requireIssuer(jwtProperties.getIssuer())
+                    .requireAudience(jwtProperties.getAudience())
+                    .build();
+        }
+        return jwtParser;
+    }
+
     /**
      * Get private key for signing.
      */
@@ -200,9 +464,36 @@ public class JwtService {
     /**
      * Custom exception for revoked tokens.
      */
+    @Getter
     public static class TokenRevokedException extends RuntimeException {
+        private final String reason;  // Metrics outcome: revoked_all | revoked_token | revoked_user | revoked
+
         public TokenRevokedException(String message) {
+            this(message, "revoked");
+        }
+
+        public TokenRevokedException(String message, String reason) {
             super(message);
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * Token rejected again from {@link RejectedTokenCache}. Built without a stack trace:
+     * it is thrown for every replay of a bad token.
+     */
+    @Getter
+    public static class RejectedTokenException extends JwtException {
+        private final String reason;  // Reason of the original rejection
+
+        public RejectedTokenException(String reason) {
+            super("Token rejected: " + reason);
+            this.reason = reason;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
         }
     }
 }
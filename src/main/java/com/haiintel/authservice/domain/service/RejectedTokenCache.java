@@ -0,0 +1,77 @@
+package com.haiintel.authservice.domain.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Short-lived negative cache of rejected tokens, keyed by SHA-256 digest.
+ *
+ * A client replaying an expired or forged token is answered from here (one hash,
+ * one map lookup) instead of an RSA verify plus exception per request.
+ *
+ * Only rejections that cannot turn into an accept are cached: expiry, signature,
+ * claims, malformed input, global / user-level revocation. Per-jti revocation
+ * results are not, since under FAIL_CLOSED they may only reflect a Redis outage.
+ */
+@Service
+public class RejectedTokenCache {
+
+    private static final Set<String> CACHEABLE_REASONS = Set.of(
+            "expired", "bad_signature", "bad_claims", "malformed", "unsupported", "revoked_all", "revoked_user");
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final Cache<String, String> rejected;
+
+    public RejectedTokenCache(JwtProperties properties, MeterRegistry meterRegistry) {
+        JwtProperties.RejectedTokens config = properties.getRejectedTokens();
+        this.enabled = config.isEnabled();
+        this.rejected = Caffeine.newBuilder()
+                .expireAfterWrite(config.getTtlSeconds(), TimeUnit.SECONDS)
+                .maximumSize(config.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rejected, "rejectedTokens");
+    }
+
+    /**
+     * @return the cached rejection reason, or null if the token was not rejected recently
+     */
+    public String rejectionReason(String token) {
+        return enabled ? rejected.getIfPresent(digest(token)) : null;
+    }
+
+    /**
+     * Remember a rejection, if its reason is final (see class comment).
+     */
+    public void reject(String token, String reason) {
+        if (enabled && CACHEABLE_REASONS.contains(reason)) {
+            rejected.put(digest(token), reason);
+        }
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+}
@@ -0,0 +1,230 @@
+package com.haiintel.authservice.domain.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.model.RevocationSnapshot;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+import com.haiintel.authservice.domain.port.RevocationEventLog;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Domain service for the revocation event feed.
+ *
+ * Each pod polls the revocation event log, keeps the most recent events in
+ * memory and dispatches them to every {@link RevocationEventListener} in
+ * sequence order. Subscriber reads are answered from the in-memory buffer
+ * whenever the requested position is still inside it, so streaming clients
+ * do not translate into Redis reads.
+ *
+ * token-revocation.feed.poll-interval-ms bounds propagation: a revocation made
+ * on another pod reaches this pod's listeners at most one interval (plus the
+ * log read) later. Until the first full replay has succeeded the pod holds no
+ * revocations from other pods, so it reports not ready (RevocationFeedHealthIndicator).
+ * Once polls stop succeeding for two intervals the feed is no longer current
+ * (isCurrent), and JwtService stops trusting the local generation map alone.
+ */
+@Service
+@Slf4j
+public class RevocationFeedService {
+
+    private final RevocationEventLog revocationEventLog;
+    private final ObjectProvider<RevocationEventListener> listeners;
+    private final TokenRevocationProperties.Feed properties;
+
+    private final Deque<RevocationEvent> recentEvents = new ArrayDeque<>();
+    private volatile long lastSequence;
+    private volatile boolean replayed;
+    private volatile Instant lastSuccessfulPoll;
+
+    public RevocationFeedService(
+            RevocationEventLog revocationEventLog,
+            ObjectProvider<RevocationEventListener> listeners,
+            TokenRevocationProperties properties) {
+        this.revocationEventLog = revocationEventLog;
+        this.listeners = listeners;
+        this.properties = properties.getFeed();
+    }
+
+    /**
+     * Pull new events from the log and dispatch them to listeners.
+     * The first run replays the whole retained log.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.feed.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            List<RevocationEvent> batch;
+            do {
+                batch = revocationEventLog.readAfter(lastSequence, properties.getBatchSize());
+                for (RevocationEvent event : batch) {
+                    if (event.getSequence() <= lastSequence) {
+                        continue;
+                    }
+                    remember(event);
+                    dispatch(event);
+                    lastSequence = event.getSequence();
+                }
+            } while (batch.size() == properties.getBatchSize());
+            lastSuccessfulPoll = Instant.now();
+            if (!replayed) {
+                replayed = true;
+                log.info("Revocation log replayed up to seq={}", lastSequence);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Revocation feed poll failed (lastSequence={}): {}", lastSequence, e.getMessage());
+        }
+    }
+
+    /**
+     * Events after the given sequence number, in order.
+     *
+     * @param afterSequence Last sequence the caller has seen
+     * @param limit Maximum number of events
+     * @return Events (empty if the caller is up to date)
+     */
+    public List<RevocationEvent> eventsAfter(long afterSequence, int limit) {
+        synchronized (recentEvents) {
+            RevocationEvent oldest = recentEvents.peekFirst();
+            if (afterSequence >= lastSequence && lastSequence > 0) {
+                return List.of();
+            }
+            if (oldest != null && afterSequence >= oldest.getSequence() - 1) {
+                List<RevocationEvent> events = new ArrayList<>();
+                for (RevocationEvent event : recentEvents) {
+                    if (event.getSequence() > afterSequence) {
+                        events.add(event);
+                        if (events.size() == limit) {
+                            break;
+                        }
+                    }
+                }
+                return events;
+            }
+        }
+        return revocationEventLog.readAfter(afterSequence, limit);
+    }
+
+    /**
+     * Fold the retained log into the set of revocations still in effect.
+     */
+    public RevocationSnapshot snapshot() {
+        Instant now = Instant.now();
+        Instant userCutoff = now.minus(Duration.ofMinutes(properties.getRetentionMinutes()));
+        long sequence = revocationEventLog.latestSequence();
+
+        Map<String, Instant> revokedTokens = new HashMap<>();
+        Map<String, Instant> revokedUsers = new HashMap<>();
+        Map<String, Long> userGenerations = new HashMap<>();
+        Instant notBefore = null;
+
+        long cursor = 0;
+        fold:
+        while (cursor < sequence) {
+            List<RevocationEvent> batch = revocationEventLog.readAfter(cursor, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (RevocationEvent event : batch) {
+                if (event.getSequence() > sequence) {
+                    break fold;
+                }
+                switch (event.getType()) {
+                    case TOKEN_REVOKED -> {
+                        if (event.getExpiresAt() != null && event.getExpiresAt().isAfter(now)) {
+                            revokedTokens.put(event.getJti(), event.getExpiresAt());
+                        }
+                    }
+                    case USER_TOKENS_REVOKED -> {
+                        if (event.getRevokedBefore() != null && event.getRevokedBefore().isAfter(userCutoff)) {
+                            revokedUsers.merge(event.getEmail(), event.getRevokedBefore(),
+                                (a, b) -> a.isAfter(b) ? a : b);
+                            if (event.getGeneration() != null) {
+                                userGenerations.merge(event.getEmail(), event.getGeneration(), Math::max);
+                            }
+                        }
+                    }
+                    case ALL_TOKENS_REVOKED -> {
+                        if (event.getRevokedBefore() != null
+                                && (notBefore == null || event.getRevokedBefore().isAfter(notBefore))) {
+                            notBefore = event.getRevokedBefore();
+                        }
+                    }
+                }
+                cursor = event.getSequence();
+            }
+        }
+
+        return RevocationSnapshot.builder()
+                .sequence(sequence)
+                .revokedTokens(revokedTokens)
+                .revokedUsers(revokedUsers)
+                .userGenerations(userGenerations)
+                .notBefore(notBefore)
+                .generatedAt(now)
+                .build();
+    }
+
+    /**
+     * Whether the initial replay of the retained log has completed.
+     */
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    /**
+     * Whether the last successful poll is recent enough (two poll intervals) for
+     * local revocation state to be within the documented propagation bound.
+     */
+    public boolean isCurrent() {
+        Instant last = lastSuccessfulPoll;
+        return last != null
+            && Duration.between(last, Instant.now()).toMillis() <= 2 * properties.getPollIntervalMs();
+    }
+
+    /**
+     * Completion time of the last successful poll, or null before the first one.
+     */
+    public Instant getLastSuccessfulPoll() {
+        return lastSuccessfulPoll;
+    }
+
+    /**
+     * Highest sequence number this pod has dispatched.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    private void remember(RevocationEvent event) {
+        synchronized (recentEvents) {
+            recentEvents.addLast(event);
+            while (recentEvents.size() > properties.getRecentBufferSize()) {
+                recentEvents.removeFirst();
+            }
+        }
+    }
+
+    private void dispatch(RevocationEvent event) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onRevocationEvent(event);
+            } catch (RuntimeException e) {
+                log.error("Revocation listener {} failed for seq={}",
+                        listener.getClass().getSimpleName(), event.getSequence(), e);
+            }
+        });
+    }
+}
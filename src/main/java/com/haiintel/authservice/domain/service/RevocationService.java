@@ -0,0 +1,414 @@
+package com.haiintel.authservice.domain.service;
+
+import com.haiintel.authservice.domain.model.ActiveToken;
+import com.haiintel.authservice.domain.model.BulkRevocationProgress;
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.model.RevocationPage;
+import com.haiintel.authservice.domain.model.RevocationQuery;
+import com.haiintel.authservice.domain.model.RevocationRecord;
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.TokenRevocation;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.port.ActiveTokenIndex;
+import com.haiintel.authservice.domain.port.IdentityProvider;
+import com.haiintel.authservice.domain.port.RevocationEventLog;
+import com.haiintel.authservice.domain.port.RevocationIndex;
+import com.haiintel.authservice.domain.port.TokenRevocationRepository;
+import com.haiintel.authservice.infrastructure.config.AuthorizationProperties;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Domain service for token revocation writes.
+ * Updates the deny-list and appends the matching event to the revocation
+ * event log, so other pods and downstream verifiers learn about it. With the
+ * Redis store both writes are queued together while Redis is down, so a
+ * revocation either fails before anything was written or succeeds (event
+ * sequence 0 while queued).
+ * Bulk revocations do the same per chunk, with batched writes.
+ * Revoked tokens are dropped from the per-user active-token index, and every
+ * revocation is added to the revocation index (with its reason) for listing;
+ * those two are bookkeeping, and a failure there is logged, not rethrown.
+ * Emails are normalized on the way in (see UserPrincipal#normalizeEmail), as
+ * token subjects are at issuance, so revocation keys match what validation reads.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevocationService {
+    
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final RevocationEventLog revocationEventLog;
+    private final UserRevocationGenerations userRevocationGenerations;
+    private final GlobalRevocationEpoch globalRevocationEpoch;
+    private final IdentityProvider identityProvider;
+    private final AuthorizationProperties authorizationProperties;
+    private final TokenRevocationProperties tokenRevocationProperties;
+    private final ActiveTokenIndex activeTokenIndex;
+    private final RevocationIndex revocationIndex;
+    private final JwtProperties jwtProperties;
+    
+    /**
+     * Revoke a specific token.
+     * 
+     * @param jti JWT ID
+     * @param email Token subject
+     * @param expiresAt Token expiration time
+     * @param reason Free-text reason (kept in the revocation index)
+     * @return Logged event (with its sequence number)
+     */
+    public RevocationEvent revokeToken(String jti, String email, Instant expiresAt, String reason) {
+        String user = UserPrincipal.normalizeEmail(email);
+        tokenRevocationRepository.revokeToken(jti, user, expiresAt);
+        
+        RevocationEvent event = append(RevocationEvent.builder()
+            .type(RevocationEvent.Type.TOKEN_REVOKED)
+            .jti(jti)
+            .email(user)
+            .expiresAt(expiresAt));
+        updateIndexes(() -> {
+            activeTokenIndex.remove(user, jti);
+            revocationIndex.record(List.of(tokenRecord(jti, user, expiresAt, event.getOccurredAt(), reason)));
+        });
+        return event;
+    }
+    
+    /**
+     * Revoke all tokens of a user issued before the given time.
+     * 
+     * @param email User email
+     * @param issuedBefore Revoke all tokens issued before this time
+     * @param reason Free-text reason (kept in the revocation index)
+     * @return Logged event (with its sequence number)
+     */
+    public RevocationEvent revokeAllUserTokens(String email, Instant issuedBefore, String reason) {
+        String user = UserPrincipal.normalizeEmail(email);
+        // Increment first: it cannot be queued, so an outage fails the call before any write
+        long generation = tokenRevocationRepository.incrementUserGeneration(user);
+        tokenRevocationRepository.revokeAllUserTokens(user, issuedBefore);
+        userRevocationGenerations.advance(user, generation);
+        
+        RevocationEvent event = append(RevocationEvent.builder()
+            .type(RevocationEvent.Type.USER_TOKENS_REVOKED)
+            .email(user)
+            .revokedBefore(issuedBefore)
+            .generation(generation));
+        updateIndexes(() -> {
+            activeTokenIndex.removeAll(List.of(user));
+            revocationIndex.record(List.of(userRecord(user, issuedBefore, event.getOccurredAt(), reason)));
+        });
+        return event;
+    }
+    
+    /**
+     * Revoke every outstanding token at once by raising the global not-before
+     * epoch. Token "iat" has second precision, so the epoch is the next whole
+     * second: tokens issued during the rest of the current second are rejected too.
+     * 
+     * @param reason Free-text reason (kept in the revocation index)
+     * @return Logged event (with its sequence number); revokedBefore is the new epoch
+     */
+    public RevocationEvent revokeAllTokens(String reason) {
+        Instant notBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        globalRevocationEpoch.advance(notBefore);
+        
+        RevocationEvent event = append(RevocationEvent.builder()
+            .type(RevocationEvent.Type.ALL_TOKENS_REVOKED)
+            .revokedBefore(notBefore));
+        updateIndexes(() -> revocationIndex.record(List.of(RevocationRecord.builder()
+            .type(RevocationRecord.Type.ALL)
+            .revokedAt(event.getOccurredAt())
+            .revokedBefore(notBefore)
+            .expiresAt(notBefore.plus(Duration.ofHours(jwtProperties.getExpirationHours())))
+            .reason(reason)
+            .build())));
+        log.warn("All tokens revoked: notBefore={}, seq={}", notBefore, event.getSequence());
+        return event;
+    }
+    
+    /**
+     * Revoke many tokens, in chunks: one pipelined deny-list write and one
+     * event-log append per chunk. Expiries come from the active-token index;
+     * pairs it does not hold are revoked as in {@link #revokeActiveToken} and
+     * reported as unknown, pairs already on the deny-list are skipped and
+     * reported, so one stale entry never blocks the rest.
+     * 
+     * @param requested Tokens to revoke (expiresAt optional)
+     * @param reason Free-text reason (kept in the revocation index)
+     * @param progress Called after every chunk and once when done
+     * @return Final progress
+     */
+    public BulkRevocationProgress revokeTokens(
+            List<TokenRevocation> requested, String reason, Consumer<BulkRevocationProgress> progress) {
+        checkBulkSize(requested.size());
+        List<TokenRevocation> tokens = requested.stream().map(RevocationService::normalized).toList();
+        return inChunks(tokens, progress, chunk -> {
+            List<Optional<ActiveToken>> found = activeTokenIndex.find(chunk);
+            List<TokenRevocation> revoke = new ArrayList<>();
+            List<TokenRevocation> unknown = new ArrayList<>();
+            List<TokenRevocation> alreadyRevoked = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                TokenRevocation token = chunk.get(i);
+                Optional<ActiveToken> active = found.get(i);
+                if (active.isPresent()) {
+                    revoke.add(token.toBuilder().expiresAt(active.get().getExpiresAt()).build());
+                } else if (tokenRevocationRepository.isTokenRevoked(token.getJti(), token.getEmail())) {
+                    alreadyRevoked.add(token);
+                } else {
+                    TokenRevocation fallback = token.toBuilder().expiresAt(fallbackExpiry(token.getExpiresAt())).build();
+                    unknown.add(fallback);
+                    revoke.add(fallback);
+                }
+            }
+            if (!revoke.isEmpty()) {
+                tokenRevocationRepository.revokeTokens(revoke);
+            }
+            
+            Instant now = Instant.now();
+            long sequence = revocationEventLog.appendAll(revoke.stream()
+                .map(token -> RevocationEvent.builder()
+                    .type(RevocationEvent.Type.TOKEN_REVOKED)
+                    .jti(token.getJti())
+                    .email(token.getEmail())
+                    .expiresAt(token.getExpiresAt())
+                    .occurredAt(now)
+                    .build())
+                .toList());
+            updateIndexes(() -> {
+                activeTokenIndex.remove(revoke);
+                revocationIndex.record(revoke.stream()
+                    .filter(token -> token.getExpiresAt().isAfter(now))
+                    .map(token -> tokenRecord(token.getJti(), token.getEmail(), token.getExpiresAt(), now, reason))
+                    .toList());
+            });
+            return BulkRevocationProgress.builder()
+                .sequence(sequence)
+                .unknown(unknown)
+                .alreadyRevoked(alreadyRevoked)
+                .build();
+        });
+    }
+    
+    /**
+     * Revoke all tokens of many users issued before the given time, in chunks:
+     * pipelined cutoff and generation writes and one event-log append per chunk.
+     * 
+     * @param emails User emails (duplicates are ignored)
+     * @param issuedBefore Revoke all tokens issued before this time
+     * @param reason Free-text reason (kept in the revocation index)
+     * @param progress Called after every chunk and once when done
+     * @return Final progress
+     */
+    public BulkRevocationProgress revokeAllUserTokens(
+            Collection<String> emails, Instant issuedBefore, String reason, Consumer<BulkRevocationProgress> progress) {
+        List<String> users = emails.stream().map(UserPrincipal::normalizeEmail).distinct().toList();
+        checkBulkSize(users.size());
+        return inChunks(users, progress, chunk -> {
+            Map<String, Long> generations = tokenRevocationRepository.incrementUserGenerations(chunk);
+            tokenRevocationRepository.revokeAllUserTokens(chunk, issuedBefore);
+            generations.forEach(userRevocationGenerations::advance);
+            
+            Instant now = Instant.now();
+            long sequence = revocationEventLog.appendAll(generations.entrySet().stream()
+                .map(generation -> RevocationEvent.builder()
+                    .type(RevocationEvent.Type.USER_TOKENS_REVOKED)
+                    .email(generation.getKey())
+                    .revokedBefore(issuedBefore)
+                    .generation(generation.getValue())
+                    .occurredAt(now)
+                    .build())
+                .toList());
+            updateIndexes(() -> {
+                activeTokenIndex.removeAll(chunk);
+                revocationIndex.record(chunk.stream()
+                    .map(email -> userRecord(email, issuedBefore, now, reason))
+                    .toList());
+            });
+            return BulkRevocationProgress.builder().sequence(sequence).build();
+        });
+    }
+    
+    /**
+     * Live tokens of a user, soonest expiring first.
+     */
+    public List<ActiveToken> activeTokens(String email) {
+        return activeTokenIndex.list(UserPrincipal.normalizeEmail(email));
+    }
+    
+    /**
+     * Number of live tokens of a user.
+     */
+    public long activeTokenCount(String email) {
+        return activeTokenIndex.count(UserPrincipal.normalizeEmail(email));
+    }
+    
+    /**
+     * Revoke one token of a user. The expiry is taken from the active-token
+     * index; a token the index does not hold (issued before the index existed,
+     * failed to index, or lost with a per-process index on restart) is revoked
+     * anyway, until the given expiry or else for the longest token lifetime.
+     * 
+     * @param email User email
+     * @param jti JWT ID
+     * @param expiresAt Token expiration if known (optional, used when the index misses)
+     * @param reason Free-text reason (kept in the revocation index)
+     * @return Logged event, or empty if the token is already revoked
+     */
+    public Optional<RevocationEvent> revokeActiveToken(String email, String jti, Instant expiresAt, String reason) {
+        String user = UserPrincipal.normalizeEmail(email);
+        Optional<ActiveToken> active = activeTokenIndex.find(user, jti);
+        if (active.isEmpty() && tokenRevocationRepository.isTokenRevoked(jti, user)) {
+            return Optional.empty();
+        }
+        if (active.isEmpty()) {
+            log.info("Token not in active-token index, revoking until fallback expiry: jti={}, email={}", jti, user);
+        }
+        Instant expiry = active.map(ActiveToken::getExpiresAt).orElseGet(() -> fallbackExpiry(expiresAt));
+        return Optional.of(revokeToken(jti, user, expiry, reason));
+    }
+    
+    /**
+     * List active revocations, oldest first, one page at a time.
+     * 
+     * @param query Filters (user, revocation time range, reason)
+     * @param afterId Cursor from the previous page (0 for the first page)
+     * @param limit Maximum number of entries
+     */
+    public RevocationPage activeRevocations(RevocationQuery query, long afterId, int limit) {
+        return revocationIndex.page(query, afterId, limit);
+    }
+    
+    /**
+     * Members of a directory group (nested groups included).
+     */
+    public List<String> groupMembers(String group) {
+        return identityProvider.getGroupMembers(group);
+    }
+    
+    /**
+     * Members of every group mapped to the given role (authorization.role-mappings).
+     * 
+     * @throws IllegalArgumentException if no group maps to the role
+     */
+    public List<String> roleMembers(Role role) {
+        List<String> groups = authorizationProperties.getRoleMappings().stream()
+            .filter(mapping -> mapping.getRole() == role)
+            .map(AuthorizationProperties.RoleMapping::getGroup)
+            .toList();
+        if (groups.isEmpty()) {
+            throw new IllegalArgumentException("No group is mapped to role " + role);
+        }
+        
+        Set<String> members = new LinkedHashSet<>();
+        for (String group : groups) {
+            members.addAll(identityProvider.getGroupMembers(group));
+        }
+        return List.copyOf(members);
+    }
+    
+    // writeChunk returns the chunk's sequence and report; totals are filled in here
+    private <T> BulkRevocationProgress inChunks(
+            List<T> entries, Consumer<BulkRevocationProgress> progress,
+            Function<List<T>, BulkRevocationProgress> writeChunk) {
+        int chunkSize = tokenRevocationProperties.getBulk().getChunkSize();
+        long sequence = 0;
+        int processed = 0;
+        
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<T> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            BulkRevocationProgress written = writeChunk.apply(chunk);
+            sequence = written.getSequence();
+            processed += chunk.size();
+            progress.accept(written.toBuilder()
+                .total(entries.size())
+                .processed(processed)
+                .build());
+        }
+        
+        BulkRevocationProgress done = BulkRevocationProgress.builder()
+            .total(entries.size())
+            .processed(processed)
+            .sequence(sequence)
+            .done(true)
+            .build();
+        progress.accept(done);
+        log.info("Bulk revocation finished: entries={}, lastSeq={}", processed, sequence);
+        return done;
+    }
+    
+    /**
+     * Reject bulk requests above token-revocation.bulk.max-entries.
+     * 
+     * @throws IllegalArgumentException if the request is too large
+     */
+    public void checkBulkSize(int size) {
+        int max = tokenRevocationProperties.getBulk().getMaxEntries();
+        if (size > max) {
+            throw new IllegalArgumentException("Bulk revocation of " + size + " entries exceeds the limit of " + max);
+        }
+    }
+    
+    // Tokens missing from the active-token index: the caller's expiry, else the longest a token can live
+    private Instant fallbackExpiry(Instant expiresAt) {
+        return expiresAt != null ? expiresAt : Instant.now().plus(Duration.ofHours(jwtProperties.getExpirationHours()));
+    }
+    
+    private static TokenRevocation normalized(TokenRevocation token) {
+        return token.toBuilder().email(UserPrincipal.normalizeEmail(token.getEmail())).build();
+    }
+    
+    private RevocationRecord tokenRecord(String jti, String email, Instant expiresAt, Instant revokedAt, String reason) {
+        return RevocationRecord.builder()
+            .type(RevocationRecord.Type.TOKEN)
+            .jti(jti)
+            .email(email)
+            .revokedAt(revokedAt)
+            .expiresAt(expiresAt)
+            .reason(reason)
+            .build();
+    }
+    
+    // A user cutoff covers no live token once the longest-lived token issued before it has expired
+    private RevocationRecord userRecord(String email, Instant issuedBefore, Instant revokedAt, String reason) {
+        return RevocationRecord.builder()
+            .type(RevocationRecord.Type.USER)
+            .email(email)
+            .revokedAt(revokedAt)
+            .revokedBefore(issuedBefore)
+            .expiresAt(issuedBefore.plus(Duration.ofHours(jwtProperties.getExpirationHours())))
+            .reason(reason)
+            .build();
+    }
+    
+    // Listing / lookup indexes only: the deny-list and event log already enforce the revocation
+    private void updateIndexes(Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            log.warn("Revocation applied, index update failed: {}", e.getMessage());
+        }
+    }
+    
+    private RevocationEvent append(RevocationEvent.RevocationEventBuilder builder) {
+        RevocationEvent event = builder.occurredAt(Instant.now()).build();
+        long sequence = revocationEventLog.append(event);
+        log.debug("Revocation event logged: seq={}, type={}", sequence, event.getType());
+        return event.toBuilder().sequence(sequence).build();
+    }
+}
@@ -0,0 +1,228 @@
+package com.haiintel.authservice.domain.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RS256 JWT encoder for the tokens JwtService issues, without the generic builder.
+ *
+ * The base64url header for the kid is encoded once. Claims are written straight into a
+ * per-thread JSON buffer, base64url-encoded into a per-thread byte buffer and signed
+ * with a per-thread Signature (initialized once per key), so issuance allocates little
+ * beyond the token string and RSA signing dominates.
+ *
+ * Claim values: String, Number, Boolean and List of those; null values are omitted.
+ * Output is a compact JWS any RS256 verifier accepts (jjwt included).
+ */
+public final class TemplateJwtEncoder {
+
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int MAX_SIGNATURE_LENGTH = 512;  // 4096-bit RSA; only sizes the output buffer
+
+    private final byte[] header;  // base64url({"kid":...,"alg":"RS256"})
+    private final ThreadLocal<Buffers> buffers;
+
+    public TemplateJwtEncoder(PrivateKey privateKey, String kid) {
+        this.header = encodedHeader(kid).getBytes(StandardCharsets.US_ASCII);
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(privateKey));
+    }
+
+    /**
+     * The base64url header segment of every token issued for {@code kid}.
+     */
+    static String encodedHeader(String kid) {
+        StringBuilder json = new StringBuilder("{\"kid\":");
+        appendString(json, kid);
+        json.append(",\"alg\":\"RS256\"}");
+        byte[] headerJson = json.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = new byte[base64Length(headerJson.length)];
+        base64(headerJson, headerJson.length, encoded, 0);
+        return new String(encoded, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encode and sign one token.
+     *
+     * @param claims Private claims, written after sub
+     * @param issuedAt iat (epoch seconds)
+     * @param expiresAt exp (epoch seconds)
+     */
+    public String encode(String subject, Map<String, Object> claims, String issuer, String audience,
+            long issuedAt, long expiresAt, String jti) {
+        Buffers b = buffers.get();
+        StringBuilder json = b.json;
+        json.setLength(0);
+        json.append("{\"sub\":");
+        appendString(json, subject);
+        for (Map.Entry<String, Object> claim : claims.entrySet()) {
+            if (claim.getValue() != null) {
+                json.append(',');
+                appendString(json, claim.getKey());
+                json.append(':');
+                appendValue(json, claim.getValue());
+            }
+        }
+        json.append(",\"iss\":");
+        appendString(json, issuer);
+        json.append(",\"aud\":[");
+        appendString(json, audience);
+        json.append("],\"iat\":").append(issuedAt)
+                .append(",\"exp\":").append(expiresAt)
+                .append(",\"jti\":");
+        appendString(json, jti);
+        json.append('}');
+
+        int payloadLength = b.utf8(json);
+        byte[] out = b.out(header.length + 1 + base64Length(payloadLength) + 1 + base64Length(MAX_SIGNATURE_LENGTH));
+        System.arraycopy(header, 0, out, 0, header.length);
+        int position = header.length;
+        out[position++] = '.';
+        position = base64(b.payload, payloadLength, out, position);
+
+        byte[] signature;
+        try {
+            b.signer.update(out, 0, position);
+            signature = b.signer.sign();  // Also resets the Signature for the next token
+        } catch (GeneralSecurityException e) {
+            buffers.remove();  // Signature state unknown: start over on this thread
+            throw new IllegalStateException("JWT signing failed", e);
+        }
+        out[position++] = '.';
+        position = base64(signature, signature.length, out, position);
+        return new String(out, 0, position, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void appendValue(StringBuilder json, Object value) {
+        if (value instanceof String text) {
+            appendString(json, text);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof List<?> list) {
+            json.append('[');
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                appendValue(json, list.get(i));
+            }
+            json.append(']');
+        } else {
+            throw new IllegalArgumentException("Unsupported claim value: " + value.getClass());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c == '\n') {
+                json.append("\\n");
+            } else if (c == '\t') {
+                json.append("\\t");
+            } else if (c == '\r') {
+                json.append("\\r");
+            } else if (c < 0x20) {
+                json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static int base64Length(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /**
+     * Unpadded base64url of {@code source[0, length)} into {@code target} at {@code offset}.
+     *
+     * @return Offset after the last byte written
+     */
+    private static int base64(byte[] source, int length, byte[] target, int offset) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8 | (source[i + 2] & 0xff);
+            target[offset++] = BASE64URL[bits >>> 18];
+            target[offset++] = BASE64URL[(bits >>> 12) & 0x3f];
+            target[offset++] = BASE64URL[(bits >>> 6) & 0x3f];
+            target[offset++] = BASE64URL[bits & 0x3f];
+        }
+        int remaining = length - i;
+        if (remaining > 0) {
+            int bits = (source[i] & 0xff) << 16 | (remaining == 2 ? (source[i + 1] & 0xff) << 8 : 0);
+            target[offset++] = BASE64URL[bits >>> 18];
+            target[offset++] = BASE64URL[(bits >>> 12) & 0x3f];
+            if (remaining == 2) {
+                target[offset++] = BASE64URL[(bits >>> 6) & 0x3f];
+            }
+        }
+        return offset;
+    }
+
+    private static final class Buffers {
+        private final StringBuilder json = new StringBuilder(1024);
+        private final Signature signer;
+        private byte[] payload = new byte[2048];
+        private byte[] out = new byte[4096];
+
+        private Buffers(PrivateKey privateKey) {
+            try {
+                signer = Signature.getInstance("SHA256withRSA");
+                signer.initSign(privateKey);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("RS256 signer unavailable", e);
+            }
+        }
+
+        /**
+         * UTF-8 encode the JSON into {@link #payload}, ASCII fast path.
+         *
+         * @return Encoded length
+         */
+        private int utf8(StringBuilder json) {
+            int length = json.length();
+            if (payload.length < length * 3) {
+                payload = new byte[length * 3];
+            }
+            int position = 0;
+            for (int i = 0; i < length; i++) {
+                char c = json.charAt(i);
+                if (c < 0x80) {
+                    payload[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    payload[position++] = (byte) (0xc0 | c >> 6);
+                    payload[position++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(json.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, json.charAt(++i));
+                    payload[position++] = (byte) (0xf0 | codePoint >> 18);
+                    payload[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                    payload[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                    payload[position++] = (byte) (0x80 | codePoint & 0x3f);
+                } else if (Character.isSurrogate(c)) {
+                    payload[position++] = '?';  // Lone surrogate, as String.getBytes does
+                } else {
+                    payload[position++] = (byte) (0xe0 | c >> 12);
+                    payload[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    payload[position++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+            return position;
+        }
+
+        private byte[] out(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[capacity];
+            }
+            return out;
+        }
+    }
+}
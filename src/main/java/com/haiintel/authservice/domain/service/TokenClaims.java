@@ -0,0 +1,39 @@
+package com.haiintel.authservice.domain.service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The claims JwtService reads from a verified token, whatever the format or parser
+ * (FastJwtVerifier, jjwt, CWT).
+ *
+ * @param subject     sub: user email or client ID
+ * @param jti         JWT ID (CWT: cti as UUID)
+ * @param issuedAt    iat
+ * @param expiresAt   exp
+ * @param generation  gen, null for legacy tokens
+ * @param role        Role name
+ * @param name        Display name, null for role-only tokens
+ * @param groups      Group emails, null when the claim profile omits them
+ * @param groupHashes Group hashes of hashed-groups tokens, otherwise null
+ * @param scopes      Granted scopes ("scope", space-delimited), empty for user tokens
+ */
+public record TokenClaims(
+        String subject,
+        String jti,
+        Instant issuedAt,
+        Instant expiresAt,
+        Long generation,
+        String role,
+        String name,
+        List<String> groups,
+        List<String> groupHashes,
+        List<String> scopes) {
+
+    /**
+     * Scopes of a "scope" claim value; anything but a non-blank string grants none.
+     */
+    static List<String> scopes(Object claim) {
+        return claim instanceof String scope && !scope.isBlank() ? List.of(scope.strip().split("\\s+")) : List.of();
+    }
+}
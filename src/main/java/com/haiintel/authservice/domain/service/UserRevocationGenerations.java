@@ -0,0 +1,74 @@
+package com.haiintel.authservice.domain.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local map of per-user revocation generations.
+ *
+ * Tokens carry the user's generation at issuance ("gen" claim). A revoke-all
+ * advances the generation, so the user-level check during validation is one
+ * integer comparison against this map, with no Redis round trip. Users who were
+ * never revoked have no entry and are answered immediately.
+ *
+ * The map is updated directly on the pod that performs a revocation and via
+ * the revocation feed (USER_TOKENS_REVOKED events) on every other pod, i.e.
+ * within one feed poll interval (token-revocation.feed.poll-interval-ms), the
+ * propagation bound for user revocations. A starting pod is filled by the
+ * feed's initial replay and reports not ready until it has run. Entries expire
+ * after the feed retention window: by then every token stamped with an older
+ * generation has expired.
+ */
+@Service
+@Slf4j
+public class UserRevocationGenerations implements RevocationEventListener {
+
+    private final Cache<String, Long> generations;
+
+    public UserRevocationGenerations(TokenRevocationProperties properties, MeterRegistry meterRegistry) {
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getFeed().getRetentionMinutes(), TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, generations, "userRevocationGenerations");
+    }
+
+    /**
+     * Check whether a token stamped with the given generation is revoked.
+     *
+     * @param email Token subject
+     * @param tokenGeneration "gen" claim of the token
+     * @return true if the user's tokens were revoked after this token was issued
+     */
+    public boolean isRevoked(String email, long tokenGeneration) {
+        Long current = generations.getIfPresent(email);
+        return current != null && tokenGeneration < current;
+    }
+
+    /**
+     * Record a (possibly newer) generation for a user; generations only move forward.
+     */
+    public void advance(String email, long generation) {
+        generations.asMap().merge(email, generation, Math::max);
+        log.debug("User revocation generation: email={}, generation={}", email, generation);
+    }
+
+    @Override
+    public void onRevocationEvent(RevocationEvent event) {
+        if (event.getType() == RevocationEvent.Type.USER_TOKENS_REVOKED && event.getGeneration() != null) {
+            advance(event.getEmail(), event.getGeneration());
+        }
+    }
+}
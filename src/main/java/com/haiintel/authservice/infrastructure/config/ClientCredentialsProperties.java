@@ -0,0 +1,45 @@
+package com.haiintel.authservice.infrastructure.config;
+
+import com.haiintel.authservice.domain.model.Role;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OAuth 2.0 client-credentials grant configuration properties.
+ * Machine clients (batch jobs, internal services) are registered here with a
+ * hashed secret and the scopes they may request.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "client-credentials")
+public class ClientCredentialsProperties {
+    
+    private boolean enabled = true;
+    private int tokenTtlMinutes = 15;
+    private List<Client> clients = new ArrayList<>();
+    private List<ScopeMapping> scopeMappings = new ArrayList<>();
+    private VerificationCache verificationCache = new VerificationCache();
+    
+    @Data
+    public static class Client {
+        private String clientId;
+        private String secretHash;  // e.g. {bcrypt}$2a$10$... (never the raw secret)
+        private List<String> scopes = new ArrayList<>();
+    }
+    
+    @Data
+    public static class ScopeMapping {
+        private String scope;
+        private Role role;
+    }
+    
+    @Data
+    public static class VerificationCache {
+        private int ttlSeconds = 300;
+        private int maxSize = 1000;
+    }
+}
@@ -1,5 +1,12 @@
 package com.haiintel.authservice.infrastructure.config;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.haiintel.authservice.domain.model.ClaimProfile;
+
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -19,5 +26,39 @@ public class JwtProperties {
     private String issuer;
     private String audience;
     private int expirationHours = 1;  // ✅ P0 FIX: 1 hour (was 8)
-}
+    private boolean fastVerify = true;  // false: verify every JWT with the jjwt parser (reference path)
+    private RejectedTokens rejectedTokens = new RejectedTokens();
+    private Claims claims = new Claims();
+    private Cwt cwt = new Cwt();
+
+    /**
+     * Negative cache of rejected tokens (cheap answer to replayed expired / forged tokens).
+     */
+    @Data
+    public static class RejectedTokens {
+        private boolean enabled = true;
+        private long ttlSeconds = 60;
+        private long maxSize = 100_000;  // ~100 bytes per entry
+    }
 
+    /**
+     * Claim profiles (see {@link ClaimProfile}) to keep Authorization headers small.
+     */
+    @Data
+    public static class Claims {
+        private ClaimProfile profile = ClaimProfile.FULL;             // User tokens (one audience: jwt.audience)
+        private Map<String, ClaimProfile> clients = new HashMap<>();  // Overrides by client ID (service tokens)
+
+        public ClaimProfile forClient(String clientId) {
+            return clients.getOrDefault(clientId, profile);
+        }
+    }
+
+    /**
+     * CBOR Web Tokens (COSE-signed) for internal service-to-service hops.
+     */
+    @Data
+    public static class Cwt {
+        private Set<String> clients = new HashSet<>();  // Client-credentials clients issued CWTs instead of JWTs
+    }
+}
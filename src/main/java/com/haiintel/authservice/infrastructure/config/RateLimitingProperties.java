@@ -0,0 +1,57 @@
+package com.haiintel.authservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rate limiting configuration properties (enforced by RateLimitFilter).
+ * 
+ * ✅ P1 FIX: In-app enforcement (was declared here but only applied coarsely by Istio)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limiting")
+public class RateLimitingProperties {
+    
+    private boolean enabled = true;
+    private String mode = "local";  // local (per pod) | redis (cluster-wide, leased) | memory (leased, in-process store)
+    private long maxKeys = 100_000;  // Tracked clients per endpoint; idle buckets are evicted first
+    private List<String> trustedProxies = List.of("127.0.0.0/8", "::1/128");  // CIDRs whose X-Forwarded-For hops are believed
+    private Limit loginEndpoint = new Limit(5, true, false);
+    private Limit meEndpoint = new Limit(60, false, true);
+    private Limit jwksEndpoint = new Limit(100, true, false);
+    private Limit tokenEndpoint = new Limit(30, true, false);  // Client-credentials grant; clients reuse tokens until expiry
+    private Distributed distributed = new Distributed();
+    
+    /**
+     * Permit leasing for mode redis / memory (see LeasingRateLimiter).
+     */
+    @Data
+    public static class Distributed {
+        private double maxLeaseFraction = 0.1;  // Largest batch, as a share of the limit (min 1 permit)
+        private long leaseTtlMs = 1000;         // Unused leased permits are dropped after this
+    }
+    
+    /**
+     * Token bucket refilled at requests-per-minute, holding up to one minute's worth.
+     * Keyed by user for per-user limits on authenticated requests, otherwise by client IP.
+     */
+    @Data
+    public static class Limit {
+        private int requestsPerMinute;
+        private boolean perIp;
+        private boolean perUser;
+        
+        public Limit() {
+        }
+        
+        public Limit(int requestsPerMinute, boolean perIp, boolean perUser) {
+            this.requestsPerMinute = requestsPerMinute;
+            this.perIp = perIp;
+            this.perUser = perUser;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.haiintel.authservice.infrastructure.config;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -13,7 +13,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * ✅ P0 FIX: Redis-based token revocation
  */
 @Configuration
-@ConditionalOnProperty(name = "token-revocation.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
 public class RedisConfig {
     
     @Bean
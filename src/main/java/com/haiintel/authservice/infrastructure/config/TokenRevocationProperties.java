@@ -0,0 +1,77 @@
+package com.haiintel.authservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token revocation configuration properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "token-revocation")
+public class TokenRevocationProperties {
+    
+    private boolean enabled = true;
+    private String store = "redis";  // redis | file | memory
+    private String redisKeyPrefix = "revoked:";
+    private Feed feed = new Feed();
+    private File file = new File();
+    private ClientSideCache clientSideCache = new ClientSideCache();
+    private Resilience resilience = new Resilience();
+    private Bulk bulk = new Bulk();
+    
+    @Data
+    public static class Feed {
+        private long pollIntervalMs = 1000;  // How often each pod pulls new events from the log
+        private int retentionMinutes = 65;   // >= max token lifetime, so a replay rebuilds every live revocation
+        private int batchSize = 500;
+        private int recentBufferSize = 1000; // Events kept in memory to answer subscribers without Redis
+        private int maxWaitSeconds = 30;     // Upper bound for long-poll requests
+    }
+    
+    /**
+     * RESP3 tracking cache for revoked:{email}:user reads (store: redis).
+     */
+    @Data
+    public static class ClientSideCache {
+        private boolean enabled = true;
+        private long maxSize = 100_000;
+        private long ttlMinutes = 10;  // Backstop only; server invalidations evict immediately
+    }
+    
+    /**
+     * Memory-mapped store for single-node / edge installs (store: file).
+     */
+    @Data
+    public static class File {
+        private String path = "/data/revocations.log";
+        private String eventLogPath = "/data/revocation-events.log";
+        private int initialCapacity = 65536;          // Records; the file doubles when full
+        private long compactionIntervalMs = 600_000;  // Rewrites the log without expired entries
+    }
+    
+    /**
+     * Behaviour of the redis store while Redis is unavailable (circuit breaker "redisRevocation").
+     */
+    @Data
+    public static class Resilience {
+        private FailurePolicy failurePolicy = FailurePolicy.FAIL_OPEN;  // For tokens not in the local deny-list
+        private int writeBehindMaxSize = 10_000;  // Revocation writes buffered while Redis is down
+        private long replayIntervalMs = 1000;
+    }
+    
+    /**
+     * Bulk revocation admin endpoints.
+     */
+    @Data
+    public static class Bulk {
+        private int chunkSize = 200;       // Entries per pipeline / event-log append; keep well inside the Redis timeout
+        private int maxEntries = 100_000;  // Per request, after group / role expansion
+    }
+    
+    public enum FailurePolicy {
+        FAIL_OPEN,   // Accept tokens the local deny-list does not know as revoked
+        FAIL_CLOSED  // Reject every token the local deny-list cannot clear
+    }
+}
@@ -0,0 +1,37 @@
+package com.haiintel.authservice.infrastructure.health;
+
+import com.haiintel.authservice.domain.service.RevocationFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness of the local revocation state (user generations, global epoch,
+ * last-known deny-list): out of service until the revocation feed's first
+ * replay of the event log has completed, so a starting pod never accepts
+ * tokens another pod has already revoked.
+ *
+ * After that it stays up even when polls fail: JwtService falls back to the
+ * revocation store while the feed is not current, reported as "current".
+ */
+@Component
+@RequiredArgsConstructor
+public class RevocationFeedHealthIndicator implements HealthIndicator {
+    
+    private final RevocationFeedService revocationFeedService;
+    
+    @Override
+    public Health health() {
+        if (!revocationFeedService.isReplayed()) {
+            return Health.outOfService()
+                .withDetail("status", "replaying revocation log")
+                .build();
+        }
+        return Health.up()
+            .withDetail("lastSequence", revocationFeedService.getLastSequence())
+            .withDetail("lastSuccessfulPoll", revocationFeedService.getLastSuccessfulPoll())
+            .withDetail("current", revocationFeedService.isCurrent())
+            .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.haiintel.authservice.infrastructure.idp;
 import java.io.FileInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -16,12 +17,15 @@ import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.directory.Directory;
 import com.google.api.services.directory.model.Group;
 import com.google.api.services.directory.model.Groups;
+import com.google.api.services.directory.model.Member;
+import com.google.api.services.directory.model.Members;
 import com.google.auth.http.HttpCredentialsAdapter;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.auth.oauth2.ServiceAccountCredentials;
 import com.haiintel.authservice.domain.model.UserPrincipal;
 import com.haiintel.authservice.domain.port.IdentityProvider;
 import com.haiintel.authservice.infrastructure.config.GoogleWorkspaceProperties;
+import com.haiintel.authservice.infrastructure.metrics.AuthMetrics;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * ✅ P1 FIX: Resilience4j circuit breaker (was manual implementation)
  * ✅ P2 FIX: Hexagonal architecture (implements IdentityProvider port)
+ * Remote calls timed as auth.idp.requests{operation, outcome}
  */
 @Component
 @RequiredArgsConstructor
@@ -40,20 +45,21 @@ import lombok.extern.slf4j.Slf4j;
 public class GoogleWorkspaceIdentityProvider implements IdentityProvider {
 
     private final GoogleWorkspaceProperties properties;
+    private final AuthMetrics authMetrics;
     private Directory directoryService;
 
     @Override
     public UserPrincipal authenticate(String authorizationCode) {
         try {
             // Exchange authorization code for tokens
-            GoogleTokenResponse tokenResponse = new GoogleAuthorizationCodeTokenRequest(
+            GoogleTokenResponse tokenResponse = timed("code-exchange", () -> new GoogleAuthorizationCodeTokenRequest(
                     new NetHttpTransport(),
                     GsonFactory.getDefaultInstance(),
                     "https://oauth2.googleapis.com/token",
                     properties.getClientId(),
                     properties.getClientSecret(),
                     authorizationCode,
-                    properties.getRedirectUri()).execute();
+                    properties.getRedirectUri()).execute());
 
             // Get user info from ID token
             String email = tokenResponse.parseIdToken().getPayload().getEmail();
@@ -89,11 +95,11 @@ public class GoogleWorkspaceIdentityProvider implements IdentityProvider {
         try {
             Directory directory = getDirectoryService();
 
-            Groups groups = directory.groups()
+            Groups groups = timed("user-groups", () -> directory.groups()
                     .list()
                     .setUserKey(email)
                     .setDomain(properties.getDomain())
-                    .execute();
+                    .execute());
 
             if (groups.getGroups() == null) {
                 log.warn("No groups found for user: {}", email);
@@ -121,11 +127,46 @@ public class GoogleWorkspaceIdentityProvider implements IdentityProvider {
         return new ArrayList<>(); // Fail-safe: empty groups -> INTERN role
     }
 
+    @Override
+    @CircuitBreaker(name = "googleWorkspace")
+    public List<String> getGroupMembers(String groupEmail) {
+        try {
+            Directory directory = getDirectoryService();
+            List<String> members = new ArrayList<>();
+            String pageToken = null;
+
+            do {
+                String token = pageToken;
+                Members page = timed("group-members", () -> directory.members()
+                        .list(groupEmail)
+                        .setIncludeDerivedMembership(true)  // Members of nested groups too
+                        .setMaxResults(200)
+                        .setPageToken(token)
+                        .execute());
+
+                if (page.getMembers() != null) {
+                    page.getMembers().stream()
+                            .filter(member -> "USER".equals(member.getType()))
+                            .map(Member::getEmail)
+                            .forEach(members::add);
+                }
+                pageToken = page.getNextPageToken();
+            } while (pageToken != null);
+
+            log.info("Fetched members of group {}: count={}", groupEmail, members.size());
+            return members;
+
+        } catch (Exception e) {
+            log.error("Failed to fetch members of group: {}", groupEmail, e);
+            throw new IdentityProviderException("Failed to fetch group members", e);
+        }
+    }
+
     @Override
     public boolean isUserActive(String email) {
         try {
             Directory directory = getDirectoryService();
-            var user = directory.users().get(email).execute();
+            var user = timed("user-status", () -> directory.users().get(email).execute());
             return !user.getSuspended();
         } catch (Exception e) {
             log.error("Failed to check user status: {}", email, e);
@@ -138,6 +179,18 @@ public class GoogleWorkspaceIdentityProvider implements IdentityProvider {
         return "google";
     }
 
+    private <T> T timed(String operation, Callable<T> call) throws Exception {
+        AuthMetrics.Span span = authMetrics.startIdpRequest(operation);
+        try {
+            T result = call.call();
+            authMetrics.idpRequest(span, operation, true);
+            return result;
+        } catch (Exception e) {
+            authMetrics.idpRequest(span, operation, false);
+            throw e;
+        }
+    }
+
     private Directory getDirectoryService() throws Exception {
         if (directoryService == null) {
             GoogleCredentials credentials = ServiceAccountCredentials
@@ -2,6 +2,8 @@ package com.haiintel.authservice.infrastructure.logging;
 
 import com.haiintel.authservice.domain.model.Role;
 import com.haiintel.authservice.domain.port.AuditLogger;
+import com.haiintel.authservice.infrastructure.metrics.AuthMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -18,12 +20,15 @@ import java.util.Map;
  * ✅ P0 FIX: Structured audit logging for compliance (SOC 2, ISO 27001)
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "audit.enabled", havingValue = "true", matchIfMissing = true)
 public class LogbackAuditLogger implements AuditLogger {
     
     private static final org.slf4j.Logger AUDIT_LOG = 
         org.slf4j.LoggerFactory.getLogger("com.haiintel.authservice.infrastructure.logging.AuditLogger");
+
+    private final AuthMetrics authMetrics;
     
     @Override
     public void logAuthentication(String email, String ipAddress, String userAgent) {
@@ -96,6 +101,18 @@ public class LogbackAuditLogger implements AuditLogger {
         logAuditEvent(event);
     }
     
+    @Override
+    public void logBulkRevocation(String selector, int tokenCount, int userCount, String revokedBy, String reason) {
+        Map<String, Object> event = createBaseEvent("BULK_REVOCATION");
+        event.put("selector", selector);
+        event.put("tokenCount", tokenCount);
+        event.put("userCount", userCount);
+        event.put("revokedBy", revokedBy);
+        event.put("reason", reason);
+        
+        logAuditEvent(event);
+    }
+    
     @Override
     public void logAdminAction(String adminEmail, String action, Map<String, Object> details) {
         Map<String, Object> event = createBaseEvent("ADMIN_ACTION");
@@ -121,23 +138,30 @@ public class LogbackAuditLogger implements AuditLogger {
         event.put("eventType", eventType);
         event.put("timestamp", Instant.now().toString());
         event.put("requestId", MDC.get("requestId"));
+        event.put("traceId", MDC.get("traceId"));
         return event;
     }
     
     private void logAuditEvent(Map<String, Object> event) {
-        // Add event to MDC for structured logging
+        // Add event to MDC for structured logging; keep the request's own entries (requestId, traceId)
+        Map<String, String> previous = new HashMap<>();
         event.forEach((key, value) -> {
             if (value != null) {
+                String current = MDC.get(key);
+                if (current != null) {
+                    previous.put(key, current);
+                }
                 MDC.put(key, value.toString());
             }
         });
         
         try {
-            AUDIT_LOG.info("Audit event: {}", event.get("eventType"));
+            String eventType = String.valueOf(event.get("eventType"));
+            authMetrics.timeAuditWrite(eventType, () -> AUDIT_LOG.info("Audit event: {}", eventType));
         } finally {
             // Clean up MDC
             event.keySet().forEach(MDC::remove);
+            previous.forEach(MDC::put);
         }
     }
 }
-
@@ -0,0 +1,38 @@
+package com.haiintel.authservice.infrastructure.logging;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Carries the submitting thread's MDC (requestId, traceId, ...) into tasks run on
+ * Spring's applicationTaskExecutor, which also serves MVC async work such as the
+ * bulk revocation streams. Spring Boot applies a TaskDecorator bean to that executor.
+ *
+ * The worker's own MDC is restored afterwards instead of cleared.
+ */
+@Component
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context == null || context.isEmpty()) {
+            return runnable;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            context.forEach(MDC::put);
+            try {
+                runnable.run();
+            } finally {
+                context.keySet().forEach(MDC::remove);
+                if (previous != null) {
+                    previous.forEach(MDC::put);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.haiintel.authservice.infrastructure.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Tags every request with a {@link TraceContext}: requestId, traceId and spanId in
+ * the MDC, X-Request-ID and traceparent on the response.
+ *
+ * Runs first (before the security chain) so authentication and entry-point logs
+ * carry the IDs. The context is kept as a request attribute and restored on async
+ * and error re-dispatches; async work on the task executor gets it through
+ * {@link MdcTaskDecorator}. Only the keys set here are removed afterwards.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-ID";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String REQUEST_ID = "requestId";
+    public static final String TRACE_ID = "traceId";
+    public static final String SPAN_ID = "spanId";
+
+    private static final String ATTRIBUTE = TraceContext.class.getName();
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        TraceContext context = (TraceContext) request.getAttribute(ATTRIBUTE);
+        if (context == null) {
+            context = TraceContext.from(request.getHeader(TRACEPARENT_HEADER), request.getHeader(REQUEST_ID_HEADER));
+            request.setAttribute(ATTRIBUTE, context);
+            response.setHeader(REQUEST_ID_HEADER, context.getRequestId());
+            response.setHeader(TRACEPARENT_HEADER, context.traceparent());
+        }
+
+        MDC.put(REQUEST_ID, context.getRequestId());
+        MDC.put(TRACE_ID, context.getTraceId());
+        MDC.put(SPAN_ID, context.getSpanId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(TRACE_ID);
+            MDC.remove(SPAN_ID);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,131 @@
+package com.haiintel.authservice.infrastructure.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.Getter;
+
+/**
+ * Per-request trace identifiers (W3C Trace Context) and request ID.
+ *
+ * A valid incoming traceparent keeps its trace ID and becomes our parent span; a
+ * valid incoming X-Request-ID is kept as the request ID. Anything else is generated
+ * from {@link ThreadLocalRandom}: trace IDs only need to be unique, not unpredictable,
+ * so there is no shared SecureRandom (UUID.randomUUID) on the request path.
+ */
+@Getter
+public final class TraceContext {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int TRACEPARENT_LENGTH = 55;  // 00-{32 hex}-{16 hex}-{2 hex}
+    private static final int MAX_REQUEST_ID_LENGTH = 128;
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;  // null when this service started the trace
+    private final String flags;
+    private final String requestId;
+
+    private TraceContext(String traceId, String parentSpanId, String flags, String requestId) {
+        this.traceId = traceId;
+        this.spanId = hex(nonZeroLong());
+        this.parentSpanId = parentSpanId;
+        this.flags = flags;
+        this.requestId = requestId != null ? requestId : traceId;
+    }
+
+    /**
+     * @param traceparent incoming traceparent header (may be null or invalid)
+     * @param requestId incoming X-Request-ID header (may be null or invalid)
+     */
+    public static TraceContext from(String traceparent, String requestId) {
+        String validRequestId = isValidRequestId(requestId) ? requestId : null;
+        if (isValidTraceparent(traceparent)) {
+            return new TraceContext(
+                    traceparent.substring(3, 35), traceparent.substring(36, 52), traceparent.substring(53, 55),
+                    validRequestId);
+        }
+        return new TraceContext(hex(nonZeroLong()) + hex(ThreadLocalRandom.current().nextLong()), null, "01",
+                validRequestId);
+    }
+
+    /**
+     * traceparent header naming this service's span, for responses and outgoing calls.
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-" + flags;
+    }
+
+    /**
+     * Version 00 layout; per spec, a higher version is accepted if it starts with one.
+     */
+    static boolean isValidTraceparent(String value) {
+        if (value == null || value.length() < TRACEPARENT_LENGTH
+                || (value.length() > TRACEPARENT_LENGTH && value.charAt(TRACEPARENT_LENGTH) != '-')) {
+            return false;
+        }
+        if (value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return false;
+        }
+        String version = value.substring(0, 2);
+        if (!isHex(version, 0, 2) || version.equals("ff") || (version.equals("00") && value.length() != TRACEPARENT_LENGTH)) {
+            return false;
+        }
+        return isHex(value, 3, 35) && !isZero(value, 3, 35)
+                && isHex(value, 36, 52) && !isZero(value, 36, 52)
+                && isHex(value, 53, 55);
+    }
+
+    /**
+     * Request IDs end up in logs and response headers: bounded length, no separators or control characters.
+     */
+    static boolean isValidRequestId(String value) {
+        if (value == null || value.isEmpty() || value.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == ':';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long nonZeroLong() {
+        long value;
+        do {
+            value = ThreadLocalRandom.current().nextLong();
+        } while (value == 0);
+        return value;
+    }
+
+    private static String hex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,71 @@
+package com.haiintel.authservice.infrastructure.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the auth hot paths, emitted by {@link AuthMetrics}
+ * next to the matching timers. Duration is the event's own start/end; stack traces
+ * are off to keep per-request cost at a field write when a recording is running
+ * (and a no-op otherwise).
+ *
+ * Recorded on demand through the jfr actuator endpoint ({@link FlightRecordingEndpoint});
+ * view with JDK Mission Control or {@code jfr print --events 'com.haiintel.auth.*'}.
+ */
+public final class AuthFlightEvents {
+
+    private AuthFlightEvents() {
+    }
+
+    @Category({"Auth Service"})
+    @StackTrace(false)
+    abstract static class AuthEvent extends Event {
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("com.haiintel.auth.TokenIssuance")
+    @Label("Token Issuance")
+    @Description("JWT issuance: generation lookup, signing, active-token indexing")
+    static class TokenIssuance extends AuthEvent {
+        @Label("Token Type")
+        String tokenType;
+    }
+
+    @Name("com.haiintel.auth.TokenVerification")
+    @Label("Token Verification")
+    @Description("JWT validation: signature, claims, revocation")
+    static class TokenVerification extends AuthEvent {
+    }
+
+    @Name("com.haiintel.auth.RevocationLookup")
+    @Label("Revocation Lookup")
+    @Description("Revocation store lookup during validation")
+    static class RevocationLookup extends AuthEvent {
+        @Label("Check")
+        String check;
+
+        @Label("Store")
+        String store;
+    }
+
+    @Name("com.haiintel.auth.IdpRequest")
+    @Label("Identity Provider Request")
+    @Description("Google code exchange or Directory call")
+    static class IdpRequest extends AuthEvent {
+        @Label("Operation")
+        String operation;
+    }
+
+    @Name("com.haiintel.auth.AuditWrite")
+    @Label("Audit Write")
+    @Description("Audit log event write")
+    static class AuditWrite extends AuthEvent {
+        @Label("Event Type")
+        String eventType;
+    }
+}
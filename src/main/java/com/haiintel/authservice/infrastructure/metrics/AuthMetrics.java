@@ -0,0 +1,210 @@
+package com.haiintel.authservice.infrastructure.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.haiintel.authservice.domain.model.ClaimProfile;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters for the authentication hot paths.
+ *
+ * - auth.token.sign: JWT signing (RSA)
+ * - auth.token.validations{outcome}: full validation (signature, claims,
+ *   revocation), tagged "valid" or the failure reason
+ * - auth.revocation.checks{check, store}: revocation store lookups during validation
+ * - auth.idp.requests{operation, outcome}: Google code exchange and Directory calls
+ * - auth.token.size{type, profile}: issued token length in bytes (the Authorization header payload)
+ *
+ * All but auth.token.size are timers, so each also counts its events. SLO histogram buckets are set
+ * per prefix under management.metrics.distribution.slo (application.yml).
+ * Circuit-breaker state comes from resilience4j (resilience4j.circuitbreaker.state)
+ * and cache statistics from the cache.* meters.
+ *
+ * The same call sites, plus token issuance and audit writes, emit the JFR events in
+ * {@link AuthFlightEvents} for per-request drill-down in an on-demand recording.
+ */
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final String store;
+    private final Timer sign;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DistributionSummary> tokenSizes = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry meterRegistry, TokenRevocationProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.store = properties.isEnabled() ? properties.getStore() : "memory";
+        this.sign = Timer.builder("auth.token.sign")
+                .description("JWT signing")
+                .register(meterRegistry);
+    }
+
+    public <T> T timeSigning(Supplier<T> signing) {
+        return sign.record(signing);
+    }
+
+    /**
+     * Start a token issuance (JFR only; signing itself is timed by {@link #timeSigning}).
+     *
+     * @param tokenType "user" or "service"
+     */
+    public Span startIssuance(String tokenType) {
+        AuthFlightEvents.TokenIssuance event = new AuthFlightEvents.TokenIssuance();
+        event.tokenType = tokenType;
+        return new Span(null, event);
+    }
+
+    public void issued(Span span, boolean success) {
+        span.stop(null, success ? "success" : "error");
+    }
+
+    /**
+     * Record the size of an issued token.
+     *
+     * @param tokenType "user" or "service"
+     */
+    public void tokenSize(String tokenType, ClaimProfile profile, int bytes) {
+        tokenSizes.computeIfAbsent(tokenType + ":" + profile, key -> DistributionSummary.builder("auth.token.size")
+                .description("Issued token size")
+                .baseUnit("bytes")
+                .tags("type", tokenType, "profile", profile.name().toLowerCase())
+                .register(meterRegistry))
+                .record(bytes);
+    }
+
+    public Span startValidation() {
+        return new Span(Timer.start(meterRegistry), new AuthFlightEvents.TokenVerification());
+    }
+
+    /**
+     * Record one token validation.
+     *
+     * @param outcome "valid" or a failure reason (see {@link #failureReason})
+     */
+    public void validated(Span span, String outcome) {
+        span.stop(timer("auth.token.validations", "Token validations by outcome", "outcome", outcome), outcome);
+    }
+
+    /**
+     * Time a revocation store lookup.
+     *
+     * @param check "token" (jti only) or "combined" (jti + user cutoff)
+     */
+    public boolean timeRevocationCheck(String check, Supplier<Boolean> lookup) {
+        AuthFlightEvents.RevocationLookup event = new AuthFlightEvents.RevocationLookup();
+        event.check = check;
+        event.store = store;
+        Span span = new Span(Timer.start(meterRegistry), event);
+        Timer timer = timer("auth.revocation.checks", "Revocation store lookups", "check", check, "store", store);
+        try {
+            boolean revoked = lookup.get();
+            span.stop(timer, revoked ? "revoked" : "not_revoked");
+            return revoked;
+        } catch (RuntimeException e) {
+            span.stop(timer, "error");
+            throw e;
+        }
+    }
+
+    /**
+     * Start one identity provider call.
+     *
+     * @param operation e.g. "code-exchange", "user-groups", "group-members"
+     */
+    public Span startIdpRequest(String operation) {
+        AuthFlightEvents.IdpRequest event = new AuthFlightEvents.IdpRequest();
+        event.operation = operation;
+        return new Span(Timer.start(meterRegistry), event);
+    }
+
+    public void idpRequest(Span span, String operation, boolean success) {
+        String outcome = success ? "success" : "error";
+        span.stop(timer("auth.idp.requests", "Identity provider calls", "operation", operation, "outcome", outcome),
+                outcome);
+    }
+
+    /**
+     * Run one audit log write (JFR only; includes the synchronous file + console appenders).
+     */
+    public void timeAuditWrite(String eventType, Runnable write) {
+        AuthFlightEvents.AuditWrite event = new AuthFlightEvents.AuditWrite();
+        event.eventType = eventType;
+        Span span = new Span(null, event);
+        try {
+            write.run();
+            span.stop(null, "success");
+        } catch (RuntimeException e) {
+            span.stop(null, "error");
+            throw e;
+        }
+    }
+
+    /**
+     * Validation failure reason for a JWT parsing / verification exception.
+     */
+    public static String failureReason(RuntimeException e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof SignatureException) {
+            return "bad_signature";
+        }
+        if (e instanceof IncorrectClaimException || e instanceof MissingClaimException) {
+            return "bad_claims";
+        }
+        if (e instanceof MalformedJwtException || e instanceof IllegalArgumentException) {
+            return "malformed";
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        }
+        return "invalid";
+    }
+
+    /**
+     * An in-flight measurement: a timer sample (if the operation has a meter) and a begun
+     * JFR event. The event is only filled in and committed when a recording wants it.
+     */
+    public static final class Span {
+        private final Timer.Sample sample;
+        private final AuthFlightEvents.AuthEvent event;
+
+        private Span(Timer.Sample sample, AuthFlightEvents.AuthEvent event) {
+            this.sample = sample;
+            this.event = event;
+            event.begin();
+        }
+
+        private void stop(Timer timer, String outcome) {
+            if (sample != null) {
+                sample.stop(timer);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return timers.computeIfAbsent(name + ":" + String.join(":", tags), key -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+}
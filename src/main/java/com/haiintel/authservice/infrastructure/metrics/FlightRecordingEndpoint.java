@@ -0,0 +1,138 @@
+package com.haiintel.authservice.infrastructure.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-demand, time-boxed JFR recordings (admin only, see SecurityConfig).
+ *
+ * - POST /actuator/jfr {"durationSeconds": 120, "settings": "profile"}: start
+ *   (one at a time; stops by itself after the duration, capped at 10 minutes)
+ * - GET /actuator/jfr: state of the current / last recording
+ * - DELETE /actuator/jfr: stop early
+ * - GET /actuator/jfr/{id}: download the .jfr file
+ *
+ * Captures the {@link AuthFlightEvents} plus the JDK's own events (GC, locks,
+ * allocation, sockets) from the "default" or "profile" settings.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class FlightRecordingEndpoint {
+
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(60);
+    private static final Duration MAX_DURATION = Duration.ofMinutes(10);
+    private static final long MAX_SIZE_BYTES = 256L * 1024 * 1024;
+    private static final int STATUS_CONFLICT = 409;
+
+    private Recording recording;
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(
+            @Nullable Integer durationSeconds, @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), STATUS_CONFLICT);
+        }
+        String settingsName = settings != null ? settings : "default";
+        if (!settingsName.equals("default") && !settingsName.equals("profile")) {
+            return new WebEndpointResponse<>(
+                    Map.of("error", "settings must be 'default' or 'profile'"), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration duration = durationSeconds != null && durationSeconds > 0
+                ? Duration.ofSeconds(durationSeconds) : DEFAULT_DURATION;
+        if (duration.compareTo(MAX_DURATION) > 0) {
+            duration = MAX_DURATION;
+        }
+
+        Recording next;
+        try {
+            next = new Recording(Configuration.getConfiguration(settingsName));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load JFR settings: " + settingsName, e);
+        }
+        next.setName("auth-service");
+        next.setToDisk(true);
+        next.setDuration(duration);
+        next.setMaxSize(MAX_SIZE_BYTES);
+        if (recording != null) {
+            recording.close();  // Previous recording's data is dropped once a new one starts
+        }
+        recording = next;
+        recording.start();
+        log.info("JFR recording started: id={}, settings={}, duration={}", recording.getId(), settingsName, duration);
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("id", recording.getId());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("duration", recording.getDuration());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("JFR recording stopped: id={}", recording.getId());
+        }
+        return status();
+    }
+
+    /**
+     * Download a recording. A running recording streams what has been written so far.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector long id) {
+        if (recording == null || recording.getId() != id) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            InputStream stream = recording.getStream(null, null);
+            if (stream == null) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            return new WebEndpointResponse<>(new InputStreamResource(stream), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JFR recording " + id, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
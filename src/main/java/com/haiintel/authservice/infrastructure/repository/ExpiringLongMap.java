@@ -0,0 +1,106 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent String -> long map whose entries expire at a per-entry deadline.
+ *
+ * Keys are spread over independent {@link ConcurrentHashMap} stripes, so a
+ * burst of revocations resizes one small table at a time instead of one large
+ * one. Reads take no lock and check the deadline themselves; a
+ * {@link HierarchicalTimingWheel} removes dead entries as their deadline passes,
+ * so memory tracks the live set without ever scanning it.
+ *
+ * Values only move forward: {@link #putMax} keeps the larger value and the
+ * later deadline. Entries are immutable; an update installs a new entry and
+ * the superseded one drops out of the wheel without touching the map.
+ */
+public final class ExpiringLongMap {
+
+    /** Returned by {@link #get} for absent or expired keys. */
+    public static final long MISSING = Long.MIN_VALUE;
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final ConcurrentHashMap<String, Entry>[] stripes;
+    private final int shift;
+    private final HierarchicalTimingWheel<Entry> wheel;
+
+    @SuppressWarnings("unchecked")
+    public ExpiringLongMap(int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(count);
+        this.wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, System.currentTimeMillis(), Entry::expiresAtMillis);
+    }
+
+    /**
+     * Current value, or {@link #MISSING} if absent or past its deadline.
+     */
+    public long get(String key) {
+        Entry entry = stripe(key).get(key);
+        return entry == null || entry.expiresAtMillis <= System.currentTimeMillis() ? MISSING : entry.value;
+    }
+
+    /**
+     * Store {@code value} until {@code expiresAtMillis}, keeping whichever of the
+     * existing and new values (and deadlines) is larger.
+     */
+    public void putMax(String key, long value, long expiresAtMillis) {
+        Entry[] installed = new Entry[1];
+        stripe(key).compute(key, (k, existing) -> {
+            if (existing != null && existing.value >= value && existing.expiresAtMillis >= expiresAtMillis) {
+                return existing;
+            }
+            installed[0] = existing == null
+                ? new Entry(k, value, expiresAtMillis)
+                : new Entry(k, Math.max(existing.value, value), Math.max(existing.expiresAtMillis, expiresAtMillis));
+            return installed[0];
+        });
+        if (installed[0] != null && installed[0].expiresAtMillis != Long.MAX_VALUE) {
+            synchronized (wheel) {
+                wheel.schedule(installed[0]);
+            }
+        }
+    }
+
+    /**
+     * Remove every entry whose deadline has passed. Cost is proportional to the
+     * number of elapsed ticks and expiring entries, not to the map size.
+     */
+    public void expire(long nowMillis) {
+        synchronized (wheel) {
+            // Remove only the exact entry: a newer one for the same key stays
+            wheel.advance(nowMillis, entry -> stripe(entry.key).remove(entry.key, entry));
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Entry> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, Entry> stripe(String key) {
+        // Fibonacci hashing on the top bits: ConcurrentHashMap indexes its own table by the low ones
+        return shift == 32 ? stripes[0] : stripes[(key.hashCode() * 0x9E3779B9) >>> shift];
+    }
+
+    private record Entry(String key, long value, long expiresAtMillis) {
+        // Identity equality so remove(key, entry) never drops a newer entry with equal fields
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
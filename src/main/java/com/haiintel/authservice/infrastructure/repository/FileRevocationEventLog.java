@@ -0,0 +1,209 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventLog;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * File-based implementation of the revocation event log (token-revocation.store: file).
+ *
+ * Events are appended as JSON lines and fsynced; the retained window is also
+ * held in memory, which is where reads are served from. On startup the file is
+ * replayed (a torn last line is skipped) and rewritten without expired events.
+ * The newest event is always kept so sequence numbers keep increasing across
+ * restarts and subscribers can resume from their cursor.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'file'")
+public class FileRevocationEventLog implements RevocationEventLog {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    private final Deque<RevocationEvent> events = new ArrayDeque<>();
+    private long latestSequence;
+    private FileChannel channel;
+
+    public FileRevocationEventLog(ObjectMapper objectMapper, TokenRevocationProperties properties) {
+        this.path = Paths.get(properties.getFile().getEventLogPath());
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofMinutes(properties.getFeed().getRetentionMinutes());
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                RevocationEvent event = parse(line);
+                if (event != null && event.getSequence() > latestSequence) {
+                    events.addLast(event);
+                    latestSequence = event.getSequence();
+                }
+            }
+        }
+        rewrite();
+        log.info("Revocation event log recovered: path={}, events={}, latestSequence={}", path, events.size(), latestSequence);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public synchronized long append(RevocationEvent event) {
+        RevocationEvent sequenced = event.toBuilder().sequence(latestSequence + 1).build();
+        try {
+            channel.write(ByteBuffer.wrap(toLine(sequenced)));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append revocation event to " + path, e);
+        }
+        latestSequence = sequenced.getSequence();
+        events.addLast(sequenced);
+        pruneExpired();
+        log.debug("Revocation event appended: seq={}, type={}", latestSequence, event.getType());
+        return latestSequence;
+    }
+
+    /**
+     * One write and one fsync for the whole batch.
+     */
+    @Override
+    public synchronized long appendAll(List<RevocationEvent> batch) {
+        List<RevocationEvent> sequenced = new ArrayList<>(batch.size());
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        long sequence = latestSequence;
+        for (RevocationEvent event : batch) {
+            RevocationEvent next = event.toBuilder().sequence(++sequence).build();
+            sequenced.add(next);
+            lines.writeBytes(toLine(next));
+        }
+        try {
+            channel.write(ByteBuffer.wrap(lines.toByteArray()));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append revocation events to " + path, e);
+        }
+        latestSequence = sequence;
+        events.addAll(sequenced);
+        pruneExpired();
+        log.debug("Revocation events appended: count={}, lastSeq={}", batch.size(), latestSequence);
+        return latestSequence;
+    }
+
+    @Override
+    public synchronized List<RevocationEvent> readAfter(long afterSequence, int limit) {
+        List<RevocationEvent> result = new ArrayList<>();
+        for (RevocationEvent event : events) {
+            if (event.getSequence() > afterSequence) {
+                result.add(event);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long latestSequence() {
+        return latestSequence;
+    }
+
+    /**
+     * Rewrite the file with only the retained events.
+     */
+    @Scheduled(
+        initialDelayString = "${token-revocation.file.compaction-interval-ms:600000}",
+        fixedDelayString = "${token-revocation.file.compaction-interval-ms:600000}")
+    public synchronized void compact() {
+        try {
+            rewrite();
+        } catch (IOException e) {
+            log.error("Revocation event log compaction failed, keeping current file: {}", e.getMessage());
+        }
+    }
+
+    private void rewrite() throws IOException {
+        pruneExpired();
+        Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (RevocationEvent event : events) {
+                out.write(ByteBuffer.wrap(toLine(event)));
+            }
+            out.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Drop events past the retention window, always keeping the newest one.
+     */
+    private void pruneExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        while (events.size() > 1 && events.peekFirst().getOccurredAt() != null
+                && events.peekFirst().getOccurredAt().isBefore(cutoff)) {
+            events.removeFirst();
+        }
+    }
+
+    private byte[] toLine(RevocationEvent event) {
+        try {
+            return (objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize revocation event", e);
+        }
+    }
+
+    private RevocationEvent parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, RevocationEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable revocation event line (torn write?): {}", line);
+            return null;
+        }
+    }
+}
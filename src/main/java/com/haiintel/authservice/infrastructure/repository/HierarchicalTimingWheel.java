@@ -0,0 +1,144 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hierarchical timing wheel: schedules items for expiry at a deadline and hands
+ * them back once it has passed, without ever scanning the live set.
+ *
+ * Four levels of 64 buckets; a level-n bucket spans 64^n ticks, so with a
+ * one-second tick the wheel covers about 194 days directly (later deadlines
+ * park in the top level and are re-filed on each rotation). Scheduling is O(1).
+ * Advancing is O(1) per elapsed tick plus the items that cascade down a level,
+ * and each item cascades at most three times.
+ *
+ * Deadlines are rounded up to whole ticks: an item is never returned early and
+ * at most one tick late. Callers that need exact expiry must still compare the
+ * deadline on read; the wheel only bounds how long dead entries linger.
+ *
+ * Not thread-safe on its own; {@link ExpiringLongMap} serializes access.
+ *
+ * @param <T> Scheduled item; its deadline (epoch millis) is read via the given function
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private static final int LEVELS = 4;
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final ToLongFunction<T> deadline;
+    private final List<List<T>> buckets = new ArrayList<>(LEVELS * SLOTS);
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis, ToLongFunction<T> deadline) {
+        this.tickMillis = tickMillis;
+        this.deadline = deadline;
+        this.currentTick = startMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            buckets.add(null);
+        }
+    }
+
+    /**
+     * Schedule an item. Items whose deadline has already passed are returned on the next advance.
+     */
+    public void schedule(T item) {
+        size++;
+        file(item, expiryTick(item), null);
+    }
+
+    /**
+     * Move the wheel to {@code nowMillis}, passing every item whose deadline has been reached to {@code expired}.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        expireBucket(0, (int) (currentTick & MASK), expired);
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Re-file higher buckets whose span starts at this tick; items due now fall straight out
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (BITS * level)) & MASK), expired);
+                }
+            }
+            expireBucket(0, (int) (currentTick & MASK), expired);
+        }
+    }
+
+    /**
+     * Number of scheduled items not yet returned.
+     */
+    public int size() {
+        return size;
+    }
+
+    private long expiryTick(T item) {
+        long millis = deadline.applyAsLong(item);
+        return millis / tickMillis + (millis % tickMillis == 0 ? 0 : 1);
+    }
+
+    private void file(T item, long expiryTick, Consumer<T> expired) {
+        if (expiryTick <= currentTick) {
+            if (expired != null) {
+                size--;
+                expired.accept(item);
+            } else {
+                add(0, (int) (currentTick & MASK), item);
+            }
+            return;
+        }
+        // Lowest level where the deadline is fewer than 64 of that level's ticks away
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * level;
+            if ((expiryTick >>> shift) - (currentTick >>> shift) < SLOTS) {
+                add(level, (int) ((expiryTick >>> shift) & MASK), item);
+                return;
+            }
+        }
+        // Beyond the top level's range: park in its last bucket and re-file on rotation
+        int shift = BITS * (LEVELS - 1);
+        add(LEVELS - 1, (int) (((currentTick >>> shift) + MASK) & MASK), item);
+    }
+
+    private void add(int level, int slot, T item) {
+        int index = level * SLOTS + slot;
+        List<T> bucket = buckets.get(index);
+        if (bucket == null) {
+            bucket = new ArrayList<>(4);
+            buckets.set(index, bucket);
+        }
+        bucket.add(item);
+    }
+
+    private void cascade(int level, int slot, Consumer<T> expired) {
+        List<T> bucket = buckets.set(level * SLOTS + slot, null);
+        if (bucket != null) {
+            for (T item : bucket) {
+                file(item, expiryTick(item), expired);
+            }
+        }
+    }
+
+    private void expireBucket(int level, int slot, Consumer<T> expired) {
+        List<T> bucket = buckets.get(level * SLOTS + slot);
+        if (bucket == null) {
+            return;
+        }
+        buckets.set(level * SLOTS + slot, null);
+        for (T item : bucket) {
+            if (expiryTick(item) <= currentTick) {
+                size--;
+                expired.accept(item);
+            } else {
+                // Scheduled already-due at an earlier tick position, or filed mid-advance
+                file(item, expiryTick(item), expired);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.ActiveToken;
+import com.haiintel.authservice.domain.port.ActiveTokenIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-user index of live tokens, for the file and memory stores.
+ *
+ * State is per process and lost on restart: a restarted pod lists only the
+ * tokens it issued since. Expired entries are trimmed on issuance and by a
+ * periodic sweep, which also drops users with no live token left.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("!${token-revocation.enabled:true} or '${token-revocation.store:redis}' != 'redis'")
+public class InMemoryActiveTokenIndex implements ActiveTokenIndex {
+
+    // email -> (jti -> expiry epoch ms)
+    private final ConcurrentHashMap<String, Map<String, Long>> tokensByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(String email, String jti, Instant expiresAt) {
+        long now = System.currentTimeMillis();
+        tokensByUser.compute(email, (key, tokens) -> {
+            Map<String, Long> live = tokens == null ? new ConcurrentHashMap<>() : tokens;
+            live.values().removeIf(expiry -> expiry <= now);
+            live.put(jti, expiresAt.toEpochMilli());
+            return live;
+        });
+    }
+
+    @Override
+    public List<ActiveToken> list(String email) {
+        long now = System.currentTimeMillis();
+        return tokensByUser.getOrDefault(email, Map.of()).entrySet().stream()
+            .filter(entry -> entry.getValue() > now)
+            .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+            .map(entry -> ActiveToken.builder()
+                .jti(entry.getKey())
+                .expiresAt(Instant.ofEpochMilli(entry.getValue()))
+                .build())
+            .toList();
+    }
+
+    @Override
+    public long count(String email) {
+        long now = System.currentTimeMillis();
+        return tokensByUser.getOrDefault(email, Map.of()).values().stream()
+            .filter(expiry -> expiry > now)
+            .count();
+    }
+
+    @Override
+    public Optional<ActiveToken> find(String email, String jti) {
+        Long expiry = tokensByUser.getOrDefault(email, Map.of()).get(jti);
+        if (expiry == null || expiry <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(ActiveToken.builder()
+            .jti(jti)
+            .expiresAt(Instant.ofEpochMilli(expiry))
+            .build());
+    }
+
+    @Override
+    public void remove(String email, String jti) {
+        tokensByUser.computeIfPresent(email, (key, tokens) -> {
+            tokens.remove(jti);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    @Override
+    public void removeAll(Collection<String> emails) {
+        emails.forEach(tokensByUser::remove);
+    }
+
+    /**
+     * Drop expired tokens and users left without one.
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void expireEntries() {
+        long now = System.currentTimeMillis();
+        for (String email : tokensByUser.keySet()) {
+            tokensByUser.computeIfPresent(email, (key, tokens) -> {
+                tokens.values().removeIf(expiry -> expiry <= now);
+                return tokens.isEmpty() ? null : tokens;
+            });
+        }
+    }
+}
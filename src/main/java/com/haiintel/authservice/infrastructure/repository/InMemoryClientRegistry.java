@@ -0,0 +1,40 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.ServiceClient;
+import com.haiintel.authservice.domain.port.ClientRegistry;
+import com.haiintel.authservice.infrastructure.config.ClientCredentialsProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory client registry loaded from configuration (client-credentials.clients).
+ */
+@Repository
+@Slf4j
+public class InMemoryClientRegistry implements ClientRegistry {
+    
+    private final Map<String, ServiceClient> clients;
+    
+    public InMemoryClientRegistry(ClientCredentialsProperties properties) {
+        this.clients = properties.getClients().stream()
+            .map(client -> ServiceClient.builder()
+                .clientId(client.getClientId())
+                .secretHash(client.getSecretHash())
+                .scopes(List.copyOf(client.getScopes()))
+                .build())
+            .collect(Collectors.toUnmodifiableMap(ServiceClient::getClientId, Function.identity()));
+        
+        log.info("Loaded {} machine client(s) for client-credentials grant", clients.size());
+    }
+    
+    @Override
+    public Optional<ServiceClient> findByClientId(String clientId) {
+        return Optional.ofNullable(clients.get(clientId));
+    }
+}
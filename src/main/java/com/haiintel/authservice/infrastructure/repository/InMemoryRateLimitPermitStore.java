@@ -0,0 +1,85 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.PermitLease;
+import com.haiintel.authservice.domain.port.RateLimitPermitStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process stand-in for {@link RedisRateLimitPermitStore}: same bucket arithmetic,
+ * one JVM. For tests, benchmarks and single-pod installs.
+ *
+ * Full buckets are dropped every minute (a missing bucket starts full).
+ */
+@Repository
+@ConditionalOnProperty(name = "rate-limiting.mode", havingValue = "memory")
+public class InMemoryRateLimitPermitStore implements RateLimitPermitStore {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public InMemoryRateLimitPermitStore() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param clock Nanosecond clock (virtual time in simulations)
+     */
+    public InMemoryRateLimitPermitStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public PermitLease lease(String key, int requested, int capacity, Duration refillPeriod) {
+        PermitLease[] lease = new PermitLease[1];
+        buckets.compute(key, (k, bucket) -> {
+            long now = clock.getAsLong();
+            double perNano = (double) capacity / refillPeriod.toNanos();
+            if (bucket == null) {
+                bucket = new Bucket(capacity, perNano, now);
+            }
+            bucket.refill(now);
+            int granted = (int) Math.min(requested, Math.floor(bucket.tokens));
+            bucket.tokens -= granted;
+            long retryAfterMillis = granted == 0 ? (long) Math.ceil((1 - bucket.tokens) / perNano / 1_000_000) : 0;
+            lease[0] = PermitLease.builder().granted(granted).retryAfterMillis(retryAfterMillis).build();
+            return bucket;
+        });
+        return lease[0];
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFullBuckets() {
+        long now = clock.getAsLong();
+        for (String key : buckets.keySet()) {
+            buckets.computeIfPresent(key, (k, bucket) -> {
+                bucket.refill(now);
+                return bucket.tokens >= bucket.capacity ? null : bucket;
+            });
+        }
+    }
+
+    private static final class Bucket {
+        private final int capacity;
+        private final double perNano;
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(int capacity, double perNano, long now) {
+            this.capacity = capacity;
+            this.perNano = perNano;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + Math.max(0, now - refilledAt) * perNano);
+            refilledAt = now;
+        }
+    }
+}
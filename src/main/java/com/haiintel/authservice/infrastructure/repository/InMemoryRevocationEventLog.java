@@ -0,0 +1,66 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventLog;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * In-memory implementation of the revocation event log, paired with
+ * {@link InMemoryTokenRevocationRepository}. Single process, lost on restart.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("!${token-revocation.enabled:true} or '${token-revocation.store:redis}' == 'memory'")
+public class InMemoryRevocationEventLog implements RevocationEventLog {
+
+    private final Duration retention;
+    private final Deque<RevocationEvent> events = new ArrayDeque<>();
+    private long latestSequence;
+
+    public InMemoryRevocationEventLog(TokenRevocationProperties properties) {
+        this.retention = Duration.ofMinutes(properties.getFeed().getRetentionMinutes());
+    }
+
+    @Override
+    public synchronized long append(RevocationEvent event) {
+        RevocationEvent sequenced = event.toBuilder().sequence(++latestSequence).build();
+        events.addLast(sequenced);
+
+        Instant cutoff = Instant.now().minus(retention);
+        while (events.size() > 1 && events.peekFirst().getOccurredAt() != null
+                && events.peekFirst().getOccurredAt().isBefore(cutoff)) {
+            events.removeFirst();
+        }
+        log.debug("Revocation event appended: seq={}, type={}", latestSequence, event.getType());
+        return latestSequence;
+    }
+
+    @Override
+    public synchronized List<RevocationEvent> readAfter(long afterSequence, int limit) {
+        List<RevocationEvent> result = new ArrayList<>();
+        for (RevocationEvent event : events) {
+            if (event.getSequence() > afterSequence) {
+                result.add(event);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long latestSequence() {
+        return latestSequence;
+    }
+}
@@ -0,0 +1,64 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.RevocationPage;
+import com.haiintel.authservice.domain.model.RevocationQuery;
+import com.haiintel.authservice.domain.model.RevocationRecord;
+import com.haiintel.authservice.domain.port.RevocationIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of active revocations, for the file and memory stores.
+ * Single process, lost on restart.
+ *
+ * Entries are kept by id; a priority queue ordered by expiry lets every write
+ * prune the expired head instead of scanning.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("!${token-revocation.enabled:true} or '${token-revocation.store:redis}' != 'redis'")
+public class InMemoryRevocationIndex implements RevocationIndex {
+
+    private final TreeMap<Long, RevocationRecord> entries = new TreeMap<>();
+    private final PriorityQueue<RevocationRecord> byExpiry =
+        new PriorityQueue<>(Comparator.comparing(RevocationRecord::getExpiresAt));
+    private long lastId;
+
+    @Override
+    public synchronized void record(List<RevocationRecord> records) {
+        for (RevocationRecord record : records) {
+            RevocationRecord indexed = record.toBuilder().id(++lastId).build();
+            entries.put(indexed.getId(), indexed);
+            byExpiry.add(indexed);
+        }
+
+        Instant now = Instant.now();
+        while (!byExpiry.isEmpty() && !byExpiry.peek().getExpiresAt().isAfter(now)) {
+            entries.remove(byExpiry.poll().getId());
+        }
+        log.debug("Revocations indexed: count={}, lastId={}", records.size(), lastId);
+    }
+
+    @Override
+    public synchronized RevocationPage page(RevocationQuery query, long afterId, int limit) {
+        List<RevocationRecord> page = new ArrayList<>();
+        Instant now = Instant.now();
+        for (RevocationRecord record : entries.tailMap(afterId, false).values()) {
+            if (record.getExpiresAt().isAfter(now) && query.matches(record)) {
+                page.add(record);
+                if (page.size() == limit) {
+                    return RevocationPage.builder().entries(page).nextCursor(record.getId()).build();
+                }
+            }
+        }
+        return RevocationPage.builder().entries(page).build();
+    }
+}
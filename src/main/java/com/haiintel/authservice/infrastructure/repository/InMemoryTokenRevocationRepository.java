@@ -0,0 +1,98 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.port.TokenRevocationRepository;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory implementation of token revocation repository.
+ *
+ * Used for token-revocation.store: memory, and as the fallback when
+ * token-revocation.enabled is false, so revocation keeps working in-process
+ * (dev, tests, benchmarks) without Redis. State is per process and lost on
+ * restart; use the redis or file store in production.
+ *
+ * Entries live in {@link ExpiringLongMap}s and expire at the same TTLs the
+ * Redis keys carry (token expiration / max token lifetime). Generations never
+ * expire, matching revoked:{email}:gen.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("!${token-revocation.enabled:true} or '${token-revocation.store:redis}' == 'memory'")
+public class InMemoryTokenRevocationRepository implements TokenRevocationRepository {
+
+    private static final int STRIPES = 4 * Runtime.getRuntime().availableProcessors();
+
+    private final ExpiringLongMap revokedTokens = new ExpiringLongMap(STRIPES);
+    private final ExpiringLongMap revokedUsers = new ExpiringLongMap(STRIPES);
+    private final ConcurrentHashMap<String, Long> generations = new ConcurrentHashMap<>();
+    private final long maxTokenLifetimeMillis;
+
+    public InMemoryTokenRevocationRepository(JwtProperties jwtProperties) {
+        this.maxTokenLifetimeMillis = Duration.ofHours(jwtProperties.getExpirationHours()).toMillis();
+    }
+
+    @Override
+    public void revokeToken(String jti, String email, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            log.warn("Token already expired, not adding to revocation list: jti={}", jti);
+            return;
+        }
+        revokedTokens.putMax(jti, expiresAtMillis, expiresAtMillis);
+        log.info("Token revoked: jti={}, expiresAt={}", jti, expiresAt);
+    }
+
+    @Override
+    public void revokeAllUserTokens(String email, Instant issuedBefore) {
+        revokedUsers.putMax(email, issuedBefore.getEpochSecond(), System.currentTimeMillis() + maxTokenLifetimeMillis);
+        log.info("All user tokens revoked: email={}, issuedBefore={}", email, issuedBefore);
+    }
+
+    @Override
+    public boolean isTokenRevoked(String jti, String email) {
+        return revokedTokens.get(jti) != ExpiringLongMap.MISSING;
+    }
+
+    @Override
+    public boolean areUserTokensRevoked(String email, Instant issuedAt) {
+        long cutoff = revokedUsers.get(email);
+        return cutoff != ExpiringLongMap.MISSING && issuedAt.getEpochSecond() < cutoff;
+    }
+
+    @Override
+    public long getUserGeneration(String email) {
+        return generations.getOrDefault(email, 0L);
+    }
+
+    @Override
+    public long incrementUserGeneration(String email) {
+        long generation = generations.merge(email, 1L, Long::sum);
+        log.info("User revocation generation advanced: email={}, generation={}", email, generation);
+        return generation;
+    }
+
+    /**
+     * Drop entries whose TTL has passed (timing wheel, no scan).
+     */
+    @Scheduled(fixedRate = 1000)
+    public void expireEntries() {
+        long now = System.currentTimeMillis();
+        revokedTokens.expire(now);
+        revokedUsers.expire(now);
+    }
+
+    /**
+     * Number of live revoked-token entries (for footprint reporting).
+     */
+    public int revokedTokenCount() {
+        return revokedTokens.size();
+    }
+}
@@ -0,0 +1,443 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.TokenRevocation;
+import com.haiintel.authservice.domain.port.TokenRevocationRepository;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * File-backed implementation of token revocation repository, for single-node
+ * and edge installs without Redis (token-revocation.store: file).
+ *
+ * Storage: an append-only, memory-mapped log of fixed 32-byte records
+ * <pre>
+ * [0] type (1 = token, 2 = user cutoff, 3 = user generation)
+ * [4] CRC32C of bytes 8..31 and the type
+ * [8] key (64-bit hash of jti or email)
+ * [16] value (token expiry millis | cutoff epoch second | generation)
+ * [24] expiry millis (record can be dropped after this)
+ * </pre>
+ * Every append is forced to disk before the call returns; a batch of token
+ * revocations is written in full and forced once. On startup the log
+ * is replayed into off-heap indexes; replay stops at the first record with a
+ * bad CRC (a torn write from a crash), which is then overwritten.
+ *
+ * Lookups hash the key without copying it and probe an {@link OffHeapLongIndex}:
+ * no allocation, no lock, no I/O. Keys are stored as 64-bit hashes; with a
+ * million live revocations the chance of any false positive is about 10^-7.
+ *
+ * Compaction periodically rewrites the live entries into a new file and swaps
+ * it in with an atomic rename, so a crash at any point leaves a complete log.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'file'")
+public class MappedFileTokenRevocationRepository implements TokenRevocationRepository {
+
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 32;
+    private static final long MAGIC = 0x4155_5448_5256_4B31L; // "AUTHRVK1"
+    private static final int VERSION = 1;
+
+    private static final byte TOKEN = 1;
+    private static final byte USER_CUTOFF = 2;
+    private static final byte USER_GENERATION = 3;
+
+    private final Path path;
+    private final Path compactPath;
+    private final int initialCapacity;
+    private final long maxTokenLifetimeMillis;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+
+    // Readers only touch the indexes; everything else is guarded by writeLock
+    private volatile Indexes indexes;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int writeOffset;
+
+    public MappedFileTokenRevocationRepository(TokenRevocationProperties properties, JwtProperties jwtProperties) {
+        this.path = Paths.get(properties.getFile().getPath());
+        this.compactPath = path.resolveSibling(path.getFileName() + ".compact");
+        this.initialCapacity = properties.getFile().getInitialCapacity();
+        this.maxTokenLifetimeMillis = Duration.ofHours(jwtProperties.getExpirationHours()).toMillis();
+    }
+
+    /**
+     * Map the log (creating it if needed) and rebuild the indexes from it.
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        writeLock.lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            // Leftover from a compaction interrupted before its rename; the log itself is intact
+            Files.deleteIfExists(compactPath);
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), HEADER_BYTES + (long) initialCapacity * RECORD_BYTES);
+            mapped = map(channel, size);
+
+            if (mapped.getLong(0) == 0) {
+                writeHeader(mapped);
+                mapped.force();
+            } else if (mapped.getLong(0) != MAGIC || mapped.getInt(8) != VERSION) {
+                throw new IllegalStateException("Not a revocation log (or unsupported version): " + path);
+            }
+
+            recover();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (channel != null) {
+                mapped.force();
+                channel.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void revokeToken(String jti, String email, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            log.warn("Token already expired, not adding to revocation log: jti={}", jti);
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            long key = OffHeapLongIndex.hash(jti);
+            append(TOKEN, key, expiresAtMillis, expiresAtMillis);
+            indexes.tokens.put(key, expiresAtMillis, Math::max);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Token revoked: jti={}, expiresAt={}", jti, expiresAt);
+    }
+
+    @Override
+    public void revokeTokens(List<TokenRevocation> tokens) {
+        long now = System.currentTimeMillis();
+        int revoked = 0;
+
+        writeLock.lock();
+        try {
+            int from = writeOffset;
+            for (TokenRevocation token : tokens) {
+                long expiresAtMillis = token.getExpiresAt().toEpochMilli();
+                if (expiresAtMillis <= now) {
+                    continue;
+                }
+                long key = OffHeapLongIndex.hash(token.getJti());
+                write(TOKEN, key, expiresAtMillis, expiresAtMillis);
+                indexes.tokens.put(key, expiresAtMillis, Math::max);
+                revoked++;
+            }
+            if (writeOffset > from) {
+                mapped.force(from, writeOffset - from);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Tokens revoked (batch): count={}, skippedExpired={}", revoked, tokens.size() - revoked);
+    }
+
+    @Override
+    public void revokeAllUserTokens(String email, Instant issuedBefore) {
+        long cutoff = issuedBefore.getEpochSecond();
+
+        writeLock.lock();
+        try {
+            long key = OffHeapLongIndex.hash(email);
+            append(USER_CUTOFF, key, cutoff, cutoff * 1000 + maxTokenLifetimeMillis);
+            indexes.userCutoffs.put(key, cutoff, Math::max);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("All user tokens revoked: email={}, issuedBefore={}", email, issuedBefore);
+    }
+
+    @Override
+    public boolean isTokenRevoked(String jti, String email) {
+        long expiresAtMillis = indexes.tokens.get(OffHeapLongIndex.hash(jti));
+        return expiresAtMillis != OffHeapLongIndex.MISSING && expiresAtMillis > System.currentTimeMillis();
+    }
+
+    @Override
+    public boolean areUserTokensRevoked(String email, Instant issuedAt) {
+        long cutoff = indexes.userCutoffs.get(OffHeapLongIndex.hash(email));
+        return cutoff != OffHeapLongIndex.MISSING && issuedAt.getEpochSecond() < cutoff;
+    }
+
+    @Override
+    public long getUserGeneration(String email) {
+        long generation = indexes.userGenerations.get(OffHeapLongIndex.hash(email));
+        return generation == OffHeapLongIndex.MISSING ? 0 : generation;
+    }
+
+    @Override
+    public long incrementUserGeneration(String email) {
+        long generation;
+        writeLock.lock();
+        try {
+            long key = OffHeapLongIndex.hash(email);
+            generation = getUserGeneration(email) + 1;
+            append(USER_GENERATION, key, generation, Long.MAX_VALUE);
+            indexes.userGenerations.put(key, generation, Math::max);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("User revocation generation advanced: email={}, generation={}", email, generation);
+        return generation;
+    }
+
+    /**
+     * Rewrite the log with only the entries that can still match a live token.
+     * Generations are kept forever so they are never reused.
+     */
+    @Scheduled(
+        initialDelayString = "${token-revocation.file.compaction-interval-ms:600000}",
+        fixedDelayString = "${token-revocation.file.compaction-interval-ms:600000}")
+    public void compact() {
+        writeLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            int recordsBefore = recordCount();
+            Indexes current = indexes;
+            Indexes live = new Indexes(initialCapacity);
+
+            current.tokens.forEach((key, expiresAtMillis) -> {
+                if (expiresAtMillis > now) {
+                    live.tokens.put(key, expiresAtMillis, null);
+                }
+            });
+            current.userCutoffs.forEach((key, cutoff) -> {
+                if (cutoff * 1000 + maxTokenLifetimeMillis > now) {
+                    live.userCutoffs.put(key, cutoff, null);
+                }
+            });
+            current.userGenerations.forEach((key, generation) -> live.userGenerations.put(key, generation, null));
+
+            int liveRecords = live.tokens.size() + live.userCutoffs.size() + live.userGenerations.size();
+            if (liveRecords == recordsBefore) {
+                return;
+            }
+
+            long size = HEADER_BYTES + (long) Math.max(initialCapacity, liveRecords * 2) * RECORD_BYTES;
+            int offset;
+            try (FileChannel out = FileChannel.open(compactPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer target = map(out, size);
+                writeHeader(target);
+                int[] cursor = {HEADER_BYTES};
+                live.tokens.forEach((key, expiresAtMillis) ->
+                    cursor[0] = writeRecord(target, cursor[0], TOKEN, key, expiresAtMillis, expiresAtMillis));
+                live.userCutoffs.forEach((key, cutoff) ->
+                    cursor[0] = writeRecord(target, cursor[0], USER_CUTOFF, key, cutoff, cutoff * 1000 + maxTokenLifetimeMillis));
+                live.userGenerations.forEach((key, generation) ->
+                    cursor[0] = writeRecord(target, cursor[0], USER_GENERATION, key, generation, Long.MAX_VALUE));
+                target.force();
+                offset = cursor[0];
+            }
+
+            Files.move(compactPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+
+            channel.close();
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mapped = map(channel, size);
+            writeOffset = offset;
+            indexes = live;
+
+            log.info("Revocation log compacted: path={}, records={} -> {}", path, recordsBefore, liveRecords);
+        } catch (IOException e) {
+            log.error("Revocation log compaction failed, keeping current log: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Off-heap bytes held by the lookup indexes (the mapped file is page cache, not counted).
+     */
+    public long indexFootprintBytes() {
+        Indexes current = indexes;
+        return current.tokens.footprintBytes() + current.userCutoffs.footprintBytes() + current.userGenerations.footprintBytes();
+    }
+
+    /**
+     * Number of records currently in the log (live and superseded).
+     */
+    int recordCount() {
+        return (writeOffset - HEADER_BYTES) / RECORD_BYTES;
+    }
+
+    private void recover() {
+        Indexes recovered = new Indexes(initialCapacity);
+        long now = System.currentTimeMillis();
+        int offset = HEADER_BYTES;
+        int records = 0;
+
+        while (offset + RECORD_BYTES <= mapped.capacity()) {
+            byte type = mapped.get(offset);
+            if (type == 0) {
+                break;
+            }
+            long key = mapped.getLong(offset + 8);
+            long value = mapped.getLong(offset + 16);
+            long expiresAtMillis = mapped.getLong(offset + 24);
+            if (mapped.getInt(offset + 4) != checksum(type, key, value, expiresAtMillis)) {
+                log.warn("Revocation log: discarding torn record at offset {} and everything after it", offset);
+                discardFrom(offset);
+                break;
+            }
+            if (expiresAtMillis > now) {
+                apply(recovered, type, key, value);
+            }
+            offset += RECORD_BYTES;
+            records++;
+        }
+
+        writeOffset = offset;
+        indexes = recovered;
+        log.info("Revocation log recovered: path={}, records={}, tokens={}, users={}, generations={}",
+            path, records, recovered.tokens.size(), recovered.userCutoffs.size(), recovered.userGenerations.size());
+    }
+
+    private void apply(Indexes target, byte type, long key, long value) {
+        switch (type) {
+            case TOKEN -> target.tokens.put(key, value, Math::max);
+            case USER_CUTOFF -> target.userCutoffs.put(key, value, Math::max);
+            case USER_GENERATION -> target.userGenerations.put(key, value, Math::max);
+            default -> log.warn("Revocation log: unknown record type {}", type);
+        }
+    }
+
+    /**
+     * Zero everything from a torn record up to the end of the written region.
+     */
+    private void discardFrom(int offset) {
+        for (int i = offset; i + RECORD_BYTES <= mapped.capacity() && mapped.get(i) != 0; i += RECORD_BYTES) {
+            mapped.put(i, new byte[RECORD_BYTES]);
+        }
+        mapped.force();
+    }
+
+    private void append(byte type, long key, long value, long expiresAtMillis) {
+        int offset = writeOffset;
+        write(type, key, value, expiresAtMillis);
+        mapped.force(offset, RECORD_BYTES);
+    }
+
+    /** Write a record without forcing it; callers force the written range. */
+    private void write(byte type, long key, long value, long expiresAtMillis) {
+        if (writeOffset + RECORD_BYTES > mapped.capacity()) {
+            grow();
+        }
+        writeRecord(mapped, writeOffset, type, key, value, expiresAtMillis);
+        writeOffset += RECORD_BYTES;
+    }
+
+    private int writeRecord(MappedByteBuffer target, int offset, byte type, long key, long value, long expiresAtMillis) {
+        scratch.clear();
+        scratch.put(0, type)
+            .putInt(4, checksum(type, key, value, expiresAtMillis))
+            .putLong(8, key)
+            .putLong(16, value)
+            .putLong(24, expiresAtMillis);
+        target.put(offset, scratch, 0, RECORD_BYTES);
+        return offset + RECORD_BYTES;
+    }
+
+    private int checksum(byte type, long key, long value, long expiresAtMillis) {
+        ByteBuffer body = ByteBuffer.allocate(25).order(ByteOrder.LITTLE_ENDIAN)
+            .putLong(key).putLong(value).putLong(expiresAtMillis).put(type)
+            .flip();
+        crc.reset();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private void grow() {
+        long size = (long) mapped.capacity() * 2;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Revocation log is full: " + path);
+        }
+        try {
+            mapped.force();
+            mapped = map(channel, size);
+            log.info("Revocation log grown: path={}, bytes={}", path, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to grow revocation log " + path, e);
+        }
+    }
+
+    private void syncDirectory() {
+        Path directory = path.toAbsolutePath().getParent();
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Directory fsync not supported for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static void writeHeader(MappedByteBuffer target) {
+        target.putLong(0, MAGIC).putInt(8, VERSION);
+    }
+
+    /**
+     * One index per record type, swapped as a unit on compaction.
+     */
+    private static final class Indexes {
+        final OffHeapLongIndex tokens;
+        final OffHeapLongIndex userCutoffs;
+        final OffHeapLongIndex userGenerations;
+
+        Indexes(int initialCapacity) {
+            this.tokens = new OffHeapLongIndex(initialCapacity);
+            this.userCutoffs = new OffHeapLongIndex(Math.max(16, initialCapacity / 16));
+            this.userGenerations = new OffHeapLongIndex(Math.max(16, initialCapacity / 16));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Off-heap open-addressing hash index from 64-bit key hashes to long values.
+ *
+ * Slots are 16 bytes (key, value) in a direct buffer with linear probing.
+ * Key 0 marks an empty slot, so callers must never pass 0 (see {@link #hash}).
+ * There is no removal: the owner rebuilds the index when compacting.
+ *
+ * Concurrency: one writer at a time (callers serialize writes), any number of
+ * lock-free readers. A new slot's value is written before its key is published
+ * with release semantics, and readers load keys with acquire semantics, so a
+ * visible key always has its value. Growth builds a new table and publishes it
+ * through a volatile field. Lookups allocate nothing.
+ */
+final class OffHeapLongIndex {
+
+    /** Returned by {@link #get} for absent keys. */
+    static final long MISSING = Long.MIN_VALUE;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int SLOT_BYTES = 16;
+    private static final double MAX_LOAD = 0.6;
+
+    private volatile ByteBuffer table;
+    private int capacity; // power of two
+    private int size;
+
+    OffHeapLongIndex(int initialCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(16, initialCapacity - 1) << 1);
+        this.table = ByteBuffer.allocateDirect(capacity * SLOT_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 64-bit hash of a string, never 0. Iterates chars directly (no byte[] copy).
+     */
+    static long hash(CharSequence value) {
+        long h = 0x9E3779B97F4A7C15L ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        // murmur3 fmix64 finalizer
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    long get(long key) {
+        ByteBuffer t = table;
+        int mask = t.capacity() / SLOT_BYTES - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (true) {
+            int offset = slot * SLOT_BYTES;
+            long k = (long) LONGS.getAcquire(t, offset);
+            if (k == key) {
+                return (long) LONGS.getAcquire(t, offset + 8);
+            }
+            if (k == 0) {
+                return MISSING;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Insert or update; with a merge function the stored value becomes merge(old, value).
+     * Caller must hold the writer lock.
+     */
+    void put(long key, long value, LongBinaryOperator merge) {
+        if (size + 1 > capacity * MAX_LOAD) {
+            grow();
+        }
+        if (insert(table, capacity, key, value, merge)) {
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visit every entry (caller must hold the writer lock).
+     */
+    void forEach(LongLongConsumer consumer) {
+        ByteBuffer t = table;
+        for (int slot = 0; slot < capacity; slot++) {
+            long k = (long) LONGS.get(t, slot * SLOT_BYTES);
+            if (k != 0) {
+                consumer.accept(k, (long) LONGS.get(t, slot * SLOT_BYTES + 8));
+            }
+        }
+    }
+
+    /**
+     * Approximate off-heap footprint in bytes.
+     */
+    long footprintBytes() {
+        return (long) capacity * SLOT_BYTES;
+    }
+
+    private static boolean insert(ByteBuffer t, int capacity, long key, long value, LongBinaryOperator merge) {
+        int mask = capacity - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (true) {
+            int offset = slot * SLOT_BYTES;
+            long k = (long) LONGS.get(t, offset);
+            if (k == key) {
+                long old = (long) LONGS.get(t, offset + 8);
+                LONGS.setRelease(t, offset + 8, merge == null ? value : merge.applyAsLong(old, value));
+                return false;
+            }
+            if (k == 0) {
+                LONGS.set(t, offset + 8, value);
+                LONGS.setRelease(t, offset, key);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        int newCapacity = capacity << 1;
+        ByteBuffer newTable = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES).order(ByteOrder.nativeOrder());
+        ByteBuffer old = table;
+        for (int slot = 0; slot < capacity; slot++) {
+            long k = (long) LONGS.get(old, slot * SLOT_BYTES);
+            if (k != 0) {
+                insert(newTable, newCapacity, k, (long) LONGS.get(old, slot * SLOT_BYTES + 8), null);
+            }
+        }
+        capacity = newCapacity;
+        table = newTable;
+    }
+
+    @FunctionalInterface
+    interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+}
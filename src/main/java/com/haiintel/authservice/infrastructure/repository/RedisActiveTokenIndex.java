@@ -0,0 +1,151 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.ActiveToken;
+import com.haiintel.authservice.domain.model.TokenRevocation;
+import com.haiintel.authservice.domain.port.ActiveTokenIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Redis-based per-user index of live tokens.
+ *
+ * Redis key, hash-tagged like the user's revocation keys (same cluster slot):
+ * - revoked:{email}:active -> sorted set, score = expiry (epoch ms), member = jti
+ *
+ * Expired members are trimmed lazily on every issuance and skipped by reads
+ * (score range starts at now); the key itself expires with its last token,
+ * so idle users cost nothing.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
+public class RedisActiveTokenIndex implements ActiveTokenIndex {
+
+    // Trim expired, add, then keep the key alive until its latest expiry
+    private static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+        redis.call('ZADD', KEYS[1], ARGV[2], ARGV[3])
+        local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+        redis.call('PEXPIREAT', KEYS[1], tonumber(last[2]))
+        return redis.call('ZCARD', KEYS[1])
+        """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    static String activeKey(String email) {
+        return "revoked:{" + email + "}:active";
+    }
+
+    @Override
+    public void add(String email, String jti, Instant expiresAt) {
+        Long live = redisTemplate.execute(ADD_SCRIPT, List.of(activeKey(email)),
+            String.valueOf(System.currentTimeMillis()), String.valueOf(expiresAt.toEpochMilli()), jti);
+        log.debug("Active token indexed: email={}, jti={}, live={}", email, jti, live);
+    }
+
+    @Override
+    public List<ActiveToken> list(String email) {
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+            .rangeByScoreWithScores(activeKey(email), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+
+        List<ActiveToken> tokens = new ArrayList<>();
+        if (entries == null) {
+            return tokens;
+        }
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            tokens.add(ActiveToken.builder()
+                .jti(entry.getValue())
+                .expiresAt(Instant.ofEpochMilli(entry.getScore().longValue()))
+                .build());
+        }
+        return tokens;
+    }
+
+    @Override
+    public long count(String email) {
+        Long count = redisTemplate.opsForZSet()
+            .count(activeKey(email), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public Optional<ActiveToken> find(String email, String jti) {
+        Double score = redisTemplate.opsForZSet().score(activeKey(email), jti);
+        if (score == null || score.longValue() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(ActiveToken.builder()
+            .jti(jti)
+            .expiresAt(Instant.ofEpochMilli(score.longValue()))
+            .build());
+    }
+
+    @Override
+    public List<Optional<ActiveToken>> find(List<TokenRevocation> tokens) {
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        List<Object> scores = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (TokenRevocation token : tokens) {
+                connection.zSetCommands().zScore(
+                    activeKey(token.getEmail()).getBytes(StandardCharsets.UTF_8),
+                    token.getJti().getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        long now = System.currentTimeMillis();
+        List<Optional<ActiveToken>> found = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            found.add(scores.get(i) instanceof Double score && score.longValue() > now
+                ? Optional.of(ActiveToken.builder()
+                    .jti(tokens.get(i).getJti())
+                    .expiresAt(Instant.ofEpochMilli(score.longValue()))
+                    .build())
+                : Optional.empty());
+        }
+        return found;
+    }
+
+    @Override
+    public void remove(String email, String jti) {
+        redisTemplate.opsForZSet().remove(activeKey(email), jti);
+    }
+
+    @Override
+    public void remove(List<TokenRevocation> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (TokenRevocation token : tokens) {
+                connection.zSetCommands().zRem(
+                    activeKey(token.getEmail()).getBytes(StandardCharsets.UTF_8),
+                    token.getJti().getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAll(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        redisTemplate.delete(emails.stream().map(RedisActiveTokenIndex::activeKey).toList());
+    }
+}
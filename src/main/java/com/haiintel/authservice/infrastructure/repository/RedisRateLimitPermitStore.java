@@ -0,0 +1,73 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.PermitLease;
+import com.haiintel.authservice.domain.port.RateLimitPermitStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis-based rate-limit buckets, shared by all pods.
+ *
+ * Redis key (one per limit and client, expires once the bucket would be full again):
+ * - ratelimit:{key} -> hash {t: tokens (fractional), ts: last refill (epoch ms)}
+ *
+ * Refill, take and expiry run in one Lua script against the Redis clock (TIME), so
+ * pod clock skew does not matter and concurrent leases never hand out a permit twice.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rate-limiting.mode", havingValue = "redis")
+public class RedisRateLimitPermitStore implements RateLimitPermitStore {
+
+    // ARGV: capacity, refill period (ms), requested -> {granted, retry after (ms)}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LEASE_SCRIPT = RedisScript.of("""
+        local time = redis.call('TIME')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        local capacity = tonumber(ARGV[1])
+        local period = tonumber(ARGV[2])
+        local state = redis.call('HMGET', KEYS[1], 't', 'ts')
+        local tokens = tonumber(state[1])
+        local last = tonumber(state[2])
+        if tokens == nil or last == nil then
+            tokens = capacity
+        else
+            tokens = math.min(capacity, tokens + math.max(0, now - last) * capacity / period)
+        end
+        local granted = math.min(tonumber(ARGV[3]), math.floor(tokens))
+        tokens = tokens - granted
+        redis.call('HSET', KEYS[1], 't', tostring(tokens), 'ts', now)
+        redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) * period / capacity) + 1000)
+        local retry = 0
+        if granted == 0 then
+            retry = math.ceil((1 - tokens) * period / capacity)
+        end
+        return {granted, retry}
+        """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    static String bucketKey(String key) {
+        return "ratelimit:{" + key + "}";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PermitLease lease(String key, int requested, int capacity, Duration refillPeriod) {
+        List<Long> result = redisTemplate.execute(LEASE_SCRIPT, List.of(bucketKey(key)),
+            String.valueOf(capacity), String.valueOf(refillPeriod.toMillis()), String.valueOf(requested));
+        if (result == null || result.size() != 2) {
+            throw new IllegalStateException("Unexpected rate-limit script result: " + result);
+        }
+        return PermitLease.builder()
+            .granted(result.get(0).intValue())
+            .retryAfterMillis(result.get(1))
+            .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventLog;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis-based implementation of the revocation event log.
+ *
+ * Redis keys (hash-tagged so both live in one cluster slot):
+ * - revoked:{feed}:seq -> last assigned sequence number
+ * - revoked:{feed}:log -> sorted set, score = sequence, member = "{sequence}|{event JSON}"
+ *
+ * Sequence assignment and insertion happen in one Lua script, so a reader can
+ * never observe sequence N+1 before N. Entries older than the retention window
+ * are pruned a few at a time on each append rather than by full scans.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
+public class RedisRevocationEventLog implements RevocationEventLog {
+
+    private static final RedisScript<Long> APPEND_SCRIPT = RedisScript.of("""
+        local seq = redis.call('INCR', KEYS[1])
+        redis.call('ZADD', KEYS[2], seq, seq .. '|' .. ARGV[1])
+        return seq
+        """, Long.class);
+
+    // Appends ARGV in order under consecutive sequences; returns the last one
+    private static final RedisScript<Long> APPEND_ALL_SCRIPT = RedisScript.of("""
+        local last = redis.call('INCRBY', KEYS[1], #ARGV)
+        local seq = last - #ARGV
+        for i = 1, #ARGV do
+            seq = seq + 1
+            redis.call('ZADD', KEYS[2], seq, seq .. '|' .. ARGV[i])
+        end
+        return last
+        """, Long.class);
+
+    private static final int PRUNE_BATCH = 50;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final String sequenceKey;
+    private final String logKey;
+
+    public RedisRevocationEventLog(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            TokenRevocationProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofMinutes(properties.getFeed().getRetentionMinutes());
+        this.sequenceKey = properties.getRedisKeyPrefix() + "{feed}:seq";
+        this.logKey = properties.getRedisKeyPrefix() + "{feed}:log";
+    }
+
+    @Override
+    public long append(RevocationEvent event) {
+        Long sequence = redisTemplate.execute(APPEND_SCRIPT, List.of(sequenceKey, logKey), toJson(event));
+        log.debug("Revocation event appended: seq={}, type={}", sequence, event.getType());
+
+        pruneExpired();
+        return sequence == null ? 0 : sequence;
+    }
+
+    @Override
+    public long appendAll(List<RevocationEvent> events) {
+        if (events.isEmpty()) {
+            return latestSequence();
+        }
+        Object[] json = new Object[events.size()];
+        for (int i = 0; i < json.length; i++) {
+            json[i] = toJson(events.get(i));
+        }
+
+        Long last = redisTemplate.execute(APPEND_ALL_SCRIPT, List.of(sequenceKey, logKey), json);
+        log.debug("Revocation events appended: count={}, lastSeq={}", events.size(), last);
+
+        pruneExpired();
+        return last == null ? 0 : last;
+    }
+
+    @Override
+    public List<RevocationEvent> readAfter(long afterSequence, int limit) {
+        Set<String> members = redisTemplate.opsForZSet()
+            .rangeByScore(logKey, afterSequence + 1, Double.POSITIVE_INFINITY, 0, limit);
+
+        List<RevocationEvent> events = new ArrayList<>();
+        if (members == null) {
+            return events;
+        }
+        for (String member : members) {
+            RevocationEvent event = parse(member);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public long latestSequence() {
+        String value = redisTemplate.opsForValue().get(sequenceKey);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    /**
+     * Drop the oldest entries once they fall out of the retention window.
+     * Sequence order is time order, so only the head of the set needs checking.
+     */
+    private void pruneExpired() {
+        Set<String> oldest = redisTemplate.opsForZSet().range(logKey, 0, PRUNE_BATCH - 1);
+        if (oldest == null) {
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(retention);
+        List<String> expired = new ArrayList<>();
+        for (String member : oldest) {
+            RevocationEvent event = parse(member);
+            if (event != null && event.getOccurredAt() != null && !event.getOccurredAt().isBefore(cutoff)) {
+                break;
+            }
+            expired.add(member);
+        }
+
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForZSet().remove(logKey, expired.toArray());
+            log.debug("Pruned {} expired revocation events", expired.size());
+        }
+    }
+
+    private String toJson(RevocationEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize revocation event", e);
+        }
+    }
+
+    private RevocationEvent parse(String member) {
+        int separator = member.indexOf('|');
+        try {
+            long sequence = Long.parseLong(member.substring(0, separator));
+            return objectMapper.readValue(member.substring(separator + 1), RevocationEvent.class)
+                .toBuilder()
+                .sequence(sequence)
+                .build();
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.error("Invalid revocation event in log: {}", member);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haiintel.authservice.domain.model.RevocationPage;
+import com.haiintel.authservice.domain.model.RevocationQuery;
+import com.haiintel.authservice.domain.model.RevocationRecord;
+import com.haiintel.authservice.domain.port.RevocationIndex;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis-based index of active revocations.
+ *
+ * Redis keys, spread over {@value #SHARDS} shards (entry id modulo shard count)
+ * so no single cluster slot holds the whole index:
+ * - revoked:{index}:seq -> last assigned id
+ * - revoked:{index:N}:entries -> sorted set, score = id, member = "{id}|{record JSON}"
+ * - revoked:{index:N}:expiry -> sorted set, score = expiry (epoch ms), member = id
+ *
+ * Ids come from one INCRBY on the sequence, so they keep insertion order across
+ * shards. Insertion and pruning then run in one Lua script per shard: every
+ * write also removes up to as many expired entries as it adds to that shard
+ * (plus a small margin), found through the expiry set, so the index stays
+ * bounded without ever scanning the keyspace.
+ *
+ * Pages merge the shards by id and skip entries that expired but were not
+ * pruned yet. The cursor follows the scores, so an unreadable member is
+ * skipped rather than read again.
+ */
+@Repository
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
+public class RedisRevocationIndex implements RevocationIndex {
+
+    static final int SHARDS = 16;
+
+    // ARGV: now, prune limit, then (id, expiry, JSON) triples
+    private static final RedisScript<Long> RECORD_SCRIPT = RedisScript.of("""
+        for i = 3, #ARGV, 3 do
+            redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i] .. '|' .. ARGV[i + 2])
+            redis.call('ZADD', KEYS[2], ARGV[i + 1], ARGV[i])
+        end
+        local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+        for _, old in ipairs(expired) do
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], old, old)
+            redis.call('ZREM', KEYS[2], old)
+        end
+        return #expired
+        """, Long.class);
+
+    private static final int PRUNE_MARGIN = 50;
+    private static final int READ_BATCH = 200;
+    private static final int MAX_SCAN = 10_000;  // Entries examined per page before returning a short page
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final String sequenceKey;
+
+    public RedisRevocationIndex(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            TokenRevocationProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = properties.getRedisKeyPrefix();
+        this.sequenceKey = keyPrefix + "{index}:seq";
+    }
+
+    static String entriesKey(String prefix, int shard) {
+        return prefix + "{index:" + shard + "}:entries";
+    }
+
+    static String expiryKey(String prefix, int shard) {
+        return prefix + "{index:" + shard + "}:expiry";
+    }
+
+    @Override
+    public void record(List<RevocationRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Long last = redisTemplate.opsForValue().increment(sequenceKey, records.size());
+        if (last == null) {
+            throw new IllegalStateException("Failed to assign revocation index ids");
+        }
+
+        long now = System.currentTimeMillis();
+        List<List<String>> argsByShard = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            argsByShard.add(new ArrayList<>());
+        }
+        long id = last - records.size();
+        for (RevocationRecord record : records) {
+            id++;
+            List<String> args = argsByShard.get((int) (id % SHARDS));
+            args.add(String.valueOf(id));
+            args.add(String.valueOf(record.getExpiresAt().toEpochMilli()));
+            args.add(toJson(record));
+        }
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<String> entries = argsByShard.get(shard);
+            if (entries.isEmpty()) {
+                continue;
+            }
+            List<String> args = new ArrayList<>(entries.size() + 2);
+            args.add(String.valueOf(now));
+            args.add(String.valueOf(entries.size() / 3 + PRUNE_MARGIN));
+            args.addAll(entries);
+            redisTemplate.execute(RECORD_SCRIPT,
+                List.of(entriesKey(keyPrefix, shard), expiryKey(keyPrefix, shard)), args.toArray());
+        }
+        log.debug("Revocations indexed: count={}, lastId={}", records.size(), last);
+    }
+
+    @Override
+    public RevocationPage page(RevocationQuery query, long afterId, int limit) {
+        List<RevocationRecord> entries = new ArrayList<>();
+        Instant now = Instant.now();
+        long cursor = afterId;
+        int scanned = 0;
+
+        // Every member not yet consumed has an id above the cursor, so a drained shard refills from there
+        List<Deque<TypedTuple<String>>> buffers = new ArrayList<>();
+        boolean[] exhausted = new boolean[SHARDS];
+        for (int shard = 0; shard < SHARDS; shard++) {
+            buffers.add(new ArrayDeque<>());
+        }
+
+        while (entries.size() < limit && scanned < MAX_SCAN) {
+            Deque<TypedTuple<String>> next = null;
+            for (int shard = 0; shard < SHARDS; shard++) {
+                Deque<TypedTuple<String>> buffer = buffers.get(shard);
+                if (buffer.isEmpty() && !exhausted[shard]) {
+                    Set<TypedTuple<String>> members = redisTemplate.opsForZSet().rangeByScoreWithScores(
+                        entriesKey(keyPrefix, shard), cursor + 1, Double.POSITIVE_INFINITY, 0, READ_BATCH);
+                    if (members == null || members.isEmpty()) {
+                        exhausted[shard] = true;
+                    } else {
+                        buffer.addAll(members);
+                    }
+                }
+                if (!buffer.isEmpty() && (next == null || buffer.peek().getScore() < next.peek().getScore())) {
+                    next = buffer;
+                }
+            }
+            if (next == null) {
+                return RevocationPage.builder().entries(entries).build();  // Exhausted
+            }
+
+            TypedTuple<String> member = next.poll();
+            cursor = member.getScore().longValue();
+            scanned++;
+            RevocationRecord record = parse(cursor, member.getValue());
+            if (record != null && record.getExpiresAt().isAfter(now) && query.matches(record)) {
+                entries.add(record);
+            }
+        }
+        return RevocationPage.builder().entries(entries).nextCursor(cursor).build();
+    }
+
+    private String toJson(RevocationRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize revocation record", e);
+        }
+    }
+
+    private RevocationRecord parse(long id, String member) {
+        try {
+            return objectMapper.readValue(member.substring(member.indexOf('|') + 1), RevocationRecord.class)
+                .toBuilder()
+                .id(id)
+                .build();
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.error("Invalid revocation record in index: {}", member);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-time migration from the flat revocation key layout
+ * (revoked:token:{jti}, revoked:user:{email}, revoked:gen:{email}) to the
+ * user-hash-tagged layout of {@link RedisTokenRevocationRepository}.
+ *
+ * - Generation counters are added onto the new counter (INCRBY), so the new
+ *   generation is never lower than one already stamped into a token.
+ * - User cutoffs are copied with their remaining TTL.
+ * - Token entries carry no email, so they cannot be moved: they are left in
+ *   place to expire on their own, and the repository keeps checking them
+ *   until the longest remaining TTL has passed (revoked:{meta}:legacy-tokens-until).
+ *
+ * Runs during startup, before the pod serves traffic. A marker key makes it
+ * run once per keyspace and a lock keeps concurrent pods from racing; pods
+ * that lose the race wait for the marker. Any failure fails startup, so no pod
+ * serves on a half-migrated keyspace (re-running is safe).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
+public class RedisRevocationKeyMigration {
+
+    private static final String LAYOUT_KEY = "revoked:{meta}:layout";
+    private static final String LOCK_KEY = "revoked:{meta}:migration-lock";
+    static final String LEGACY_TOKENS_UNTIL_KEY = "revoked:{meta}:legacy-tokens-until";
+    private static final String LAYOUT = "2";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+    private static final int BATCH = 500;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisTokenRevocationRepository repository;
+
+    @PostConstruct
+    public void migrate() {
+        try {
+            if (!LAYOUT.equals(redisTemplate.opsForValue().get(LAYOUT_KEY))) {
+                migrateLayout();
+            }
+            String legacyUntil = redisTemplate.opsForValue().get(LEGACY_TOKENS_UNTIL_KEY);
+            if (legacyUntil != null) {
+                repository.checkLegacyTokenKeysUntil(Instant.ofEpochSecond(Long.parseLong(legacyUntil)));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Revocation key migration failed, not starting: " + e.getMessage(), e);
+        }
+    }
+
+    private void migrateLayout() {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_TTL))) {
+            waitForLayout();
+            return;
+        }
+        try {
+            int generations = scan("revoked:gen:", (oldKey, email) -> {
+                String value = redisTemplate.opsForValue().get(oldKey);
+                if (value != null) {
+                    redisTemplate.opsForValue().increment(RedisTokenRevocationRepository.generationKey(email), Long.parseLong(value));
+                }
+                redisTemplate.delete(oldKey);
+            });
+            int users = scan("revoked:user:", (oldKey, email) -> {
+                String value = redisTemplate.opsForValue().get(oldKey);
+                Long ttlMillis = redisTemplate.getExpire(oldKey, TimeUnit.MILLISECONDS);
+                if (value != null && ttlMillis != null && ttlMillis > 0) {
+                    redisTemplate.opsForValue().set(RedisTokenRevocationRepository.userKey(email), value, Duration.ofMillis(ttlMillis));
+                }
+                redisTemplate.delete(oldKey);
+            });
+            long[] longestTtlMillis = {0};
+            int tokens = scan(RedisTokenRevocationRepository.LEGACY_TOKEN_PREFIX, (oldKey, jti) -> {
+                Long ttlMillis = redisTemplate.getExpire(oldKey, TimeUnit.MILLISECONDS);
+                if (ttlMillis != null && ttlMillis > longestTtlMillis[0]) {
+                    longestTtlMillis[0] = ttlMillis;
+                }
+            });
+            if (longestTtlMillis[0] > 0) {
+                Duration window = Duration.ofMillis(longestTtlMillis[0]).plusSeconds(1);
+                redisTemplate.opsForValue().set(LEGACY_TOKENS_UNTIL_KEY,
+                    String.valueOf(Instant.now().plus(window).getEpochSecond()), window);
+            }
+
+            redisTemplate.opsForValue().set(LAYOUT_KEY, LAYOUT);
+            log.info("Revocation keys migrated to hash-tagged layout: generations={}, users={}, legacyTokens={} (checked for {}s)",
+                generations, users, tokens, longestTtlMillis[0] / 1000);
+        } finally {
+            redisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    private void waitForLayout() {
+        log.info("Revocation key migration running on another pod, waiting for it");
+        long deadline = System.nanoTime() + LOCK_TTL.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            if (LAYOUT.equals(redisTemplate.opsForValue().get(LAYOUT_KEY))) {
+                return;
+            }
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_KEY))) {
+                throw new IllegalStateException("Migration on another pod stopped before completing");
+            }
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for revocation key migration", e);
+            }
+        }
+        throw new IllegalStateException("Timed out waiting for revocation key migration on another pod");
+    }
+
+    /**
+     * Apply {@code migration} to every key under {@code prefix}.
+     */
+    private int scan(String prefix, KeyMigration migration) {
+        int count = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(BATCH).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String oldKey = cursor.next();
+                migration.apply(oldKey, oldKey.substring(prefix.length()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface KeyMigration {
+        void apply(String oldKey, String suffix);
+    }
+}
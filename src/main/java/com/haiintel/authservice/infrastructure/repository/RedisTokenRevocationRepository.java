@@ -1,88 +1,285 @@
 package com.haiintel.authservice.infrastructure.repository;
 
+import com.haiintel.authservice.domain.model.TokenRevocation;
 import com.haiintel.authservice.domain.port.TokenRevocationRepository;
+import io.lettuce.core.cluster.SlotHash;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Redis-based implementation of token revocation repository.
- * 
+ *
  * ✅ P0 FIX: Token revocation with Redis deny list
- * 
- * Redis keys:
- * - revoked:token:{jti} -> "1" (TTL = token expiration)
- * - revoked:user:{email} -> timestamp (TTL = max token lifetime)
+ *
+ * Redis keys, hash-tagged by user so all of a user's entries share one
+ * cluster slot (and the combined jti + user check is one MGET on one shard):
+ * - revoked:{email}:token:{jti} -> "1" (TTL = token expiration)
+ * - revoked:{email}:user -> timestamp (TTL = max token lifetime); only ever raised,
+ *   so a write replayed late (write-behind, another pod) cannot lower a newer cutoff
+ * - revoked:{email}:gen -> revocation generation counter (no TTL)
+ *
+ * Works unchanged against a standalone server or Redis Cluster
+ * (spring.data.redis.cluster.nodes). Batch writes are pipelined per cluster
+ * node so each pipeline travels over a single connection.
+ *
+ * User-key reads go through {@link RedisTrackingCache}: written only by
+ * revoke-user-tokens, read on every validation, so they are served locally
+ * until Redis pushes an invalidation.
+ *
+ * Token keys of the pre-cluster layout (revoked:token:{jti}) are still checked
+ * until the last of them expires (see {@link RedisRevocationKeyMigration}).
  */
 @Repository
 @RequiredArgsConstructor
 @Slf4j
-@ConditionalOnProperty(name = "token-revocation.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
 public class RedisTokenRevocationRepository implements TokenRevocationRepository {
-    
+
     private final RedisTemplate<String, String> redisTemplate;
-    private static final String TOKEN_PREFIX = "revoked:token:";
-    private static final String USER_PREFIX = "revoked:user:";
-    
+    private final RedisTrackingCache trackingCache;
+    private static final String PREFIX = "revoked:{";
+    private static final byte[] REVOKED = "1".getBytes(StandardCharsets.UTF_8);
+    private static final Duration USER_REVOCATION_TTL = Duration.ofHours(1);
+    static final String LEGACY_TOKEN_PREFIX = "revoked:token:";
+
+    // SET the cutoff (ARGV[1], epoch seconds) with TTL ARGV[2] ms unless a later one is stored
+    private static final RedisScript<Long> RAISE_CUTOFF_SCRIPT = RedisScript.of("""
+        local current = tonumber(redis.call('GET', KEYS[1]))
+        if current and current >= tonumber(ARGV[1]) then
+            return 0
+        end
+        redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+        return 1
+        """, Long.class);
+    private static final byte[] RAISE_CUTOFF_SOURCE = RAISE_CUTOFF_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+
+    private volatile Instant legacyTokenKeysUntil;  // null: no legacy token keys left
+
+    static String tokenKey(String email, String jti) {
+        return PREFIX + email + "}:token:" + jti;
+    }
+
+    static String userKey(String email) {
+        return PREFIX + email + "}:user";
+    }
+
+    static String generationKey(String email) {
+        return PREFIX + email + "}:gen";
+    }
+
+    /**
+     * Keep checking revoked:token:{jti} keys of the old layout until {@code until}.
+     */
+    void checkLegacyTokenKeysUntil(Instant until) {
+        legacyTokenKeysUntil = until;
+    }
+
     @Override
-    public void revokeToken(String jti, Instant expiresAt) {
-        String key = TOKEN_PREFIX + jti;
+    public void revokeToken(String jti, String email, Instant expiresAt) {
+        String key = tokenKey(email, jti);
         Duration ttl = Duration.between(Instant.now(), expiresAt);
-        
+
         if (ttl.isNegative() || ttl.isZero()) {
             log.warn("Token already expired, not adding to revocation list: jti={}", jti);
             return;
         }
-        
+
         redisTemplate.opsForValue().set(key, "1", ttl);
         log.info("Token revoked: jti={}, ttl={}s", jti, ttl.getSeconds());
     }
-    
+
+    @Override
+    public void revokeTokens(List<TokenRevocation> tokens) {
+        Instant now = Instant.now();
+        Map<String, Duration> ttls = new LinkedHashMap<>();
+        for (TokenRevocation token : tokens) {
+            Duration ttl = Duration.between(now, token.getExpiresAt());
+            if (!ttl.isNegative() && !ttl.isZero()) {
+                ttls.put(tokenKey(token.getEmail(), token.getJti()), ttl);
+            }
+        }
+
+        for (List<String> keys : partitionByNode(ttls.keySet())) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.stringCommands().set(
+                        key.getBytes(StandardCharsets.UTF_8),
+                        REVOKED,
+                        Expiration.from(ttls.get(key)),
+                        RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        }
+        log.info("Tokens revoked (batch): count={}, skippedExpired={}", ttls.size(), tokens.size() - ttls.size());
+    }
+
     @Override
     public void revokeAllUserTokens(String email, Instant issuedBefore) {
-        String key = USER_PREFIX + email;
+        String key = userKey(email);
         String timestamp = String.valueOf(issuedBefore.getEpochSecond());
-        
+
         // Store revocation timestamp with TTL = max token lifetime (1 hour)
-        redisTemplate.opsForValue().set(key, timestamp, Duration.ofHours(1));
+        redisTemplate.execute(RAISE_CUTOFF_SCRIPT, List.of(key), timestamp,
+            String.valueOf(USER_REVOCATION_TTL.toMillis()));
+        trackingCache.invalidate(key);  // Visible to this pod at once; others get the server push
         log.info("All user tokens revoked: email={}, issuedBefore={}", email, issuedBefore);
     }
-    
+
+    @Override
+    public void revokeAllUserTokens(List<String> emails, Instant issuedBefore) {
+        byte[] timestamp = String.valueOf(issuedBefore.getEpochSecond()).getBytes(StandardCharsets.UTF_8);
+        byte[] ttlMillis = String.valueOf(USER_REVOCATION_TTL.toMillis()).getBytes(StandardCharsets.UTF_8);
+        List<String> keys = emails.stream().map(RedisTokenRevocationRepository::userKey).toList();
+
+        for (List<String> nodeKeys : partitionByNode(keys)) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : nodeKeys) {
+                    connection.scriptingCommands().eval(RAISE_CUTOFF_SOURCE, ReturnType.INTEGER, 1,
+                        key.getBytes(StandardCharsets.UTF_8), timestamp, ttlMillis);
+                }
+                return null;
+            });
+        }
+        keys.forEach(trackingCache::invalidate);
+        log.info("All user tokens revoked (batch): users={}, issuedBefore={}", emails.size(), issuedBefore);
+    }
+
     @Override
-    public boolean isTokenRevoked(String jti) {
-        String key = TOKEN_PREFIX + jti;
-        Boolean exists = redisTemplate.hasKey(key);
-        return Boolean.TRUE.equals(exists);
+    public boolean isTokenRevoked(String jti, String email) {
+        Boolean exists = redisTemplate.hasKey(tokenKey(email, jti));
+        return Boolean.TRUE.equals(exists) || isLegacyTokenRevoked(jti);
     }
-    
+
     @Override
     public boolean areUserTokensRevoked(String email, Instant issuedAt) {
-        String key = USER_PREFIX + email;
-        String value = redisTemplate.opsForValue().get(key);
-        
+        return isBefore(email, issuedAt, trackingCache.get(userKey(email)));
+    }
+
+    @Override
+    public boolean isRevoked(String jti, String email, Instant issuedAt) {
+        if (trackingCache.isTracking()) {
+            // User key is served locally; only the jti needs a round trip
+            return isTokenRevoked(jti, email) || areUserTokensRevoked(email, issuedAt);
+        }
+        // Both keys share the {email} slot: one MGET, one shard
+        List<String> values = redisTemplate.opsForValue().multiGet(List.of(tokenKey(email, jti), userKey(email)));
+        if (values == null) {
+            return false;
+        }
+        return values.get(0) != null || isBefore(email, issuedAt, values.get(1)) || isLegacyTokenRevoked(jti);
+    }
+
+    /**
+     * Old-layout key: another slot, so a separate round trip, only until the last one expires.
+     */
+    private boolean isLegacyTokenRevoked(String jti) {
+        Instant until = legacyTokenKeysUntil;
+        if (until == null) {
+            return false;
+        }
+        if (Instant.now().isAfter(until)) {
+            legacyTokenKeysUntil = null;
+            return false;
+        }
+        return Boolean.TRUE.equals(redisTemplate.hasKey(LEGACY_TOKEN_PREFIX + jti));
+    }
+
+    @Override
+    public long getUserGeneration(String email) {
+        String value = redisTemplate.opsForValue().get(generationKey(email));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    @Override
+    public long incrementUserGeneration(String email) {
+        Long generation = redisTemplate.opsForValue().increment(generationKey(email));
+        log.info("User revocation generation advanced: email={}, generation={}", email, generation);
+        return generation == null ? 0 : generation;
+    }
+
+    @Override
+    public Map<String, Long> incrementUserGenerations(List<String> emails) {
+        Map<String, String> emailByKey = new LinkedHashMap<>();
+        for (String email : emails) {
+            emailByKey.put(generationKey(email), email);
+        }
+
+        Map<String, Long> generations = new LinkedHashMap<>();
+        for (List<String> nodeKeys : partitionByNode(emailByKey.keySet())) {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : nodeKeys) {
+                    connection.stringCommands().incr(key.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            for (int i = 0; i < nodeKeys.size(); i++) {
+                generations.put(emailByKey.get(nodeKeys.get(i)), (Long) results.get(i));
+            }
+        }
+        log.info("User revocation generations advanced (batch): users={}", generations.size());
+        return generations;
+    }
+
+    private boolean isBefore(String email, Instant issuedAt, String value) {
         if (value == null) {
             return false;
         }
-        
+
         try {
             long revokedTimestamp = Long.parseLong(value);
             boolean revoked = issuedAt.getEpochSecond() < revokedTimestamp;
-            
+
             if (revoked) {
-                log.debug("User token revoked: email={}, issuedAt={}, revokedBefore={}", 
+                log.debug("User token revoked: email={}, issuedAt={}, revokedBefore={}",
                     email, issuedAt, Instant.ofEpochSecond(revokedTimestamp));
             }
-            
+
             return revoked;
         } catch (NumberFormatException e) {
             log.error("Invalid revocation timestamp for user: email={}, value={}", email, value);
             return false;
         }
     }
-}
 
+    /**
+     * Group keys by the cluster node owning their slot (a single group when not clustered).
+     */
+    private Collection<List<String>> partitionByNode(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        return redisTemplate.execute((RedisCallback<Collection<List<String>>>) connection -> {
+            if (!(connection instanceof RedisClusterConnection cluster)) {
+                return List.of(new ArrayList<>(keys));
+            }
+            Map<Integer, RedisClusterNode> nodeBySlot = new HashMap<>();
+            Map<RedisClusterNode, List<String>> byNode = new LinkedHashMap<>();
+            for (String key : keys) {
+                RedisClusterNode node = nodeBySlot.computeIfAbsent(SlotHash.getSlot(key), cluster::clusterGetNodeForSlot);
+                byNode.computeIfAbsent(node, n -> new ArrayList<>()).add(key);
+            }
+            return byNode.values();
+        });
+    }
+}
@@ -0,0 +1,245 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cache for rarely written Redis keys, kept coherent by RESP3
+ * invalidation tracking (CLIENT TRACKING ON).
+ *
+ * Reads go through a dedicated Lettuce connection with tracking enabled, so
+ * Redis remembers which keys this pod has read and pushes an "invalidate"
+ * message as soon as one of them changes. Values and absences (the common
+ * "user not revoked" case) are cached until then, so steady-state reads cost
+ * no Redis round trip.
+ *
+ * Coherence rules:
+ * - A push that arrives while a read of the same key is in flight cancels
+ *   that read's cache fill (the in-flight marker is removed), so a stale
+ *   reply is never cached after its invalidation.
+ * - Tracking state is per connection: on disconnect the cache is cleared and
+ *   bypassed until tracking has been re-enabled on the new connection.
+ * - A push with no keys (FLUSHALL, server tracking table full) clears everything.
+ *
+ * Falls back to plain RedisTemplate reads when disabled, in Redis Cluster mode
+ * (tracking would need one connection per node) or when the server does not
+ * speak RESP3.
+ *
+ * Metrics: revocation.tracking.cache.requests{result=hit|miss|bypass},
+ * revocation.tracking.cache.invalidations, revocation.tracking.cache.size.
+ */
+@Component
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
+public class RedisTrackingCache implements RedisConnectionStateListener {
+
+    // Cached absence; real values are never empty strings
+    private static final String ABSENT = "";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean enabled;
+    private final Cache<String, String> cache;
+    private final ConcurrentHashMap<String, Object> inflight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter invalidations;
+
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile boolean tracking;
+
+    public RedisTrackingCache(
+            RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, String> redisTemplate,
+            TokenRevocationProperties properties,
+            MeterRegistry meterRegistry) {
+        TokenRevocationProperties.ClientSideCache config = properties.getClientSideCache();
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.enabled = config.isEnabled();
+        // TTL is only a backstop: invalidation pushes are what keep entries fresh
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(config.getMaxSize())
+            .expireAfterWrite(config.getTtlMinutes(), TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "revocationTracking");  // Evictions, load stats
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.bypasses = requests(meterRegistry, "bypass");
+        this.invalidations = Counter.builder("revocation.tracking.cache.invalidations")
+            .description("Keys evicted by server-pushed invalidations")
+            .register(meterRegistry);
+        Gauge.builder("revocation.tracking.cache.size", cache, Cache::estimatedSize)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Open the tracking connection once Redis connection settings are final.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Redis client-side caching disabled");
+            return;
+        }
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce)
+                || !(lettuce.getNativeClient() instanceof RedisClient client)) {
+            log.info("Redis client-side caching not available (cluster mode or non-Lettuce client), reading through");
+            return;
+        }
+        try {
+            StatefulRedisConnection<String, String> tracked = client.connect(StringCodec.UTF8);
+            tracked.addListener(this::onPushMessage);
+            tracked.addListener(this);
+            tracked.sync().clientTracking(TrackingArgs.Builder.enabled());
+            connection = tracked;
+            tracking = true;
+            log.info("Redis client-side caching enabled (RESP3 tracking)");
+        } catch (RuntimeException e) {
+            log.warn("Redis client-side caching unavailable, reading through: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        tracking = false;
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * GET a key, served locally while Redis has not invalidated it.
+     *
+     * @return Value, or null if the key does not exist
+     */
+    public String get(String key) {
+        if (!tracking) {
+            bypasses.increment();
+            return redisTemplate.opsForValue().get(key);
+        }
+
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached == ABSENT ? null : cached;
+        }
+
+        misses.increment();
+        Object marker = new Object();
+        inflight.put(key, marker);
+        String value;
+        try {
+            value = connection.sync().get(key);
+        } catch (RuntimeException e) {
+            inflight.remove(key, marker);
+            throw e;
+        }
+        // Only fill if no invalidation (or newer read) replaced our marker meanwhile
+        if (inflight.remove(key, marker) && tracking) {
+            cache.put(key, value == null ? ABSENT : value);
+        }
+        return value;
+    }
+
+    /**
+     * Whether reads are currently served from the local cache.
+     */
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Drop a key after a local write, without waiting for the server push.
+     */
+    public void invalidate(String key) {
+        inflight.remove(key);
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress remoteAddress) {
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null || handler != current) {
+            return;
+        }
+        // Tracking does not survive a reconnect; re-enable before serving from the cache again
+        current.async().clientTracking(TrackingArgs.Builder.enabled()).whenComplete((ok, error) -> {
+            if (error == null) {
+                invalidateAll();
+                tracking = true;
+                log.info("Redis client-side caching re-enabled after reconnect");
+            } else {
+                log.warn("Failed to re-enable Redis tracking after reconnect: {}", error.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+        if (handler == connection) {
+            tracking = false;
+            invalidateAll();
+            log.warn("Redis tracking connection lost; client-side cache cleared and bypassed");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> list) {
+            for (Object key : (List<Object>) list) {
+                invalidate((String) key);
+                invalidations.increment();
+            }
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateAll() {
+        inflight.clear();
+        cache.invalidateAll();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("revocation.tracking.cache.requests")
+            .description("Reads of tracked revocation keys by outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Redis revocation event log whose appends share the "redisRevocation" circuit
+ * breaker and write-behind queue with the deny-list writes
+ * ({@link ResilientTokenRevocationRepository}).
+ *
+ * While Redis is unavailable an append is queued right behind the deny-list
+ * write it belongs to and replayed in the same order, so the revocation call
+ * succeeds once (no 5xx after the deny-list write was queued, no duplicate on
+ * retry) and other pods still receive the event when Redis is back. A queued
+ * append returns sequence 0. Reads go straight to Redis: the feed poll retries
+ * on its own schedule.
+ */
+@Repository
+@Primary
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
+public class ResilientRevocationEventLog implements RevocationEventLog {
+
+    private final RedisRevocationEventLog delegate;
+    private final ResilientTokenRevocationRepository writes;
+
+    public ResilientRevocationEventLog(RedisRevocationEventLog delegate, ResilientTokenRevocationRepository writes) {
+        this.delegate = delegate;
+        this.writes = writes;
+    }
+
+    @Override
+    public long append(RevocationEvent event) {
+        return writes.appendEvents(() -> delegate.append(event), false);
+    }
+
+    @Override
+    public long appendAll(List<RevocationEvent> events) {
+        if (events.isEmpty()) {
+            return delegate.latestSequence();
+        }
+        return writes.appendEvents(() -> delegate.appendAll(events), true);
+    }
+
+    @Override
+    public List<RevocationEvent> readAfter(long afterSequence, int limit) {
+        return delegate.readAfter(afterSequence, limit);
+    }
+
+    @Override
+    public long latestSequence() {
+        return delegate.latestSequence();
+    }
+}
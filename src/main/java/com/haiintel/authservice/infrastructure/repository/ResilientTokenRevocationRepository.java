@@ -0,0 +1,442 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.model.TokenRevocation;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+import com.haiintel.authservice.domain.port.TokenRevocationRepository;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Redis revocation store guarded by the "redisRevocation" circuit breaker.
+ *
+ * Every single call to {@link RedisTokenRevocationRepository} runs through the
+ * breaker and the "redisRevocation" time limiter (250ms, on a virtual thread),
+ * so a stalled Redis costs one short timeout per request until the breaker
+ * opens, and nothing at all afterwards. Other Redis users keep the global
+ * command timeout (spring.data.redis.timeout).
+ * Pipelined batch writes (bulk revocation) honour an open breaker but are
+ * kept out of its statistics and the time limiter, so a large batch cannot
+ * open it.
+ *
+ * While Redis is unavailable:
+ * - Reads are answered from a local last-known deny-list, fed by this pod's
+ *   writes and by the revocation feed (a startup replay fills it completely).
+ *   A token it knows about is rejected; anything else follows
+ *   token-revocation.resilience.failure-policy: FAIL_OPEN accepts the token,
+ *   FAIL_CLOSED rejects it.
+ * - Deny-list writes take effect locally at once and are queued (bounded,
+ *   FIFO) for replay once Redis answers again. A full queue rejects the write.
+ *   Event-log appends join the same queue (see {@link ResilientRevocationEventLog}),
+ *   so other pods get the event once the deny-list entry ahead of it is written.
+ * - Generation reads fall back to the last generation seen locally. Generation
+ *   increments are not queued: the new value has to be unique cluster-wide,
+ *   so they fail until Redis is back (RevocationService increments first, so
+ *   nothing is queued for a revoke-all that fails).
+ *
+ * Metrics: revocation.redis.fallbacks{decision=snapshot|fail-open|fail-closed},
+ * revocation.write-behind.pending, revocation.write-behind.replayed.
+ */
+@Repository
+@Primary
+@Slf4j
+@ConditionalOnExpression("${token-revocation.enabled:true} and '${token-revocation.store:redis}' == 'redis'")
+public class ResilientTokenRevocationRepository implements TokenRevocationRepository, RevocationEventListener {
+
+    private static final int STRIPES = 4 * Runtime.getRuntime().availableProcessors();
+
+    private final RedisTokenRevocationRepository delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService redisCalls = Executors.newVirtualThreadPerTaskExecutor();
+    private final TokenRevocationProperties.Resilience config;
+    private final long maxTokenLifetimeMillis;
+
+    // Last-known deny-list
+    private final ExpiringLongMap revokedTokens = new ExpiringLongMap(STRIPES);
+    private final ExpiringLongMap revokedUsers = new ExpiringLongMap(STRIPES);
+    private final Cache<String, Long> generations;
+
+    private final Deque<PendingWrite> pendingWrites = new ArrayDeque<>();
+
+    private final Counter snapshotHits;
+    private final Counter failOpen;
+    private final Counter failClosed;
+    private final Counter replayed;
+
+    public ResilientTokenRevocationRepository(
+            RedisTokenRevocationRepository delegate,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            TokenRevocationProperties properties,
+            JwtProperties jwtProperties,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("redisRevocation");
+        this.timeLimiter = timeLimiterRegistry.timeLimiter("redisRevocation");
+        this.config = properties.getResilience();
+        this.maxTokenLifetimeMillis = Duration.ofHours(jwtProperties.getExpirationHours()).toMillis();
+        this.generations = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getFeed().getRetentionMinutes(), TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, generations, "revocationFallbackGenerations");
+
+        this.snapshotHits = fallbacks(meterRegistry, "snapshot");
+        this.failOpen = fallbacks(meterRegistry, "fail-open");
+        this.failClosed = fallbacks(meterRegistry, "fail-closed");
+        this.replayed = Counter.builder("revocation.write-behind.replayed")
+            .description("Queued revocation writes replayed to Redis")
+            .register(meterRegistry);
+        Gauge.builder("revocation.write-behind.pending", this, ResilientTokenRevocationRepository::pendingWrites)
+            .description("Revocation writes waiting for Redis")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void revokeToken(String jti, String email, Instant expiresAt) {
+        rememberToken(jti, expiresAt);
+        write(() -> delegate.revokeToken(jti, email, expiresAt));
+    }
+
+    @Override
+    public void revokeTokens(List<TokenRevocation> tokens) {
+        for (TokenRevocation token : tokens) {
+            rememberToken(token.getJti(), token.getExpiresAt());
+        }
+        writeBatch(() -> delegate.revokeTokens(tokens));
+    }
+
+    @Override
+    public void revokeAllUserTokens(String email, Instant issuedBefore) {
+        rememberUser(email, issuedBefore);
+        write(() -> delegate.revokeAllUserTokens(email, issuedBefore));
+    }
+
+    @Override
+    public void revokeAllUserTokens(List<String> emails, Instant issuedBefore) {
+        for (String email : emails) {
+            rememberUser(email, issuedBefore);
+        }
+        writeBatch(() -> delegate.revokeAllUserTokens(emails, issuedBefore));
+    }
+
+    @Override
+    public boolean isTokenRevoked(String jti, String email) {
+        return read(() -> delegate.isTokenRevoked(jti, email), () -> isTokenKnownRevoked(jti));
+    }
+
+    @Override
+    public boolean areUserTokensRevoked(String email, Instant issuedAt) {
+        return read(() -> delegate.areUserTokensRevoked(email, issuedAt), () -> isUserKnownRevoked(email, issuedAt));
+    }
+
+    @Override
+    public boolean isRevoked(String jti, String email, Instant issuedAt) {
+        return read(() -> delegate.isRevoked(jti, email, issuedAt),
+            () -> isTokenKnownRevoked(jti) || isUserKnownRevoked(email, issuedAt));
+    }
+
+    @Override
+    public long getUserGeneration(String email) {
+        try {
+            long generation = guarded(() -> delegate.getUserGeneration(email));
+            rememberGeneration(email, generation);
+            return generation;
+        } catch (RuntimeException e) {
+            Long known = generations.getIfPresent(email);
+            log.warn("Redis unavailable, using last known revocation generation: email={}, generation={} ({})",
+                email, known, e.getMessage());
+            return known == null ? 0 : known;
+        }
+    }
+
+    @Override
+    public long incrementUserGeneration(String email) {
+        long generation = guarded(() -> delegate.incrementUserGeneration(email));
+        rememberGeneration(email, generation);
+        return generation;
+    }
+
+    @Override
+    public Map<String, Long> incrementUserGenerations(List<String> emails) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+        }
+        circuitBreaker.releasePermission();  // Batch latency stays out of the breaker's slow-call rate
+        Map<String, Long> advanced = delegate.incrementUserGenerations(emails);
+        advanced.forEach(this::rememberGeneration);
+        return advanced;
+    }
+
+    @Override
+    public void onRevocationEvent(RevocationEvent event) {
+        switch (event.getType()) {
+            case TOKEN_REVOKED -> {
+                if (event.getExpiresAt() != null) {
+                    rememberToken(event.getJti(), event.getExpiresAt());
+                }
+            }
+            case USER_TOKENS_REVOKED -> {
+                if (event.getRevokedBefore() != null) {
+                    rememberUser(event.getEmail(), event.getRevokedBefore());
+                }
+                if (event.getGeneration() != null) {
+                    rememberGeneration(event.getEmail(), event.getGeneration());
+                }
+            }
+            case ALL_TOKENS_REVOKED -> { }  // Held in memory by GlobalRevocationEpoch, no Redis involved
+        }
+    }
+
+    /**
+     * Run an event-log append through the breaker, or queue it behind the
+     * pending deny-list writes.
+     *
+     * @return Assigned sequence number, or 0 if the append was queued
+     */
+    long appendEvents(LongSupplier append, boolean batch) {
+        return write(append, batch);
+    }
+
+    /**
+     * Replay queued writes in order once the breaker lets calls through again.
+     * Stops at the first failure and keeps the rest queued.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.resilience.replay-interval-ms:1000}")
+    public void replayPendingWrites() {
+        while (circuitBreaker.tryAcquirePermission()) {
+            PendingWrite write;
+            synchronized (pendingWrites) {
+                write = pendingWrites.pollFirst();
+            }
+            if (write == null) {
+                circuitBreaker.releasePermission();
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                if (write.batch()) {
+                    write.write().getAsLong();
+                } else {
+                    timeLimited(write.write()::getAsLong);
+                }
+                // Batches are slow by nature; only single writes feed the slow-call rate
+                circuitBreaker.onSuccess(write.batch() ? 0 : System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                replayed.increment();
+            } catch (RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                synchronized (pendingWrites) {
+                    pendingWrites.addFirst(write);
+                }
+                log.warn("Revocation write replay failed, {} pending: {}", pendingWrites(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drop expired entries from the local deny-list (timing wheel, no scan).
+     */
+    @Scheduled(fixedRate = 1000)
+    public void expireEntries() {
+        long now = System.currentTimeMillis();
+        revokedTokens.expire(now);
+        revokedUsers.expire(now);
+    }
+
+    /**
+     * Number of revocation writes waiting for Redis.
+     */
+    public int pendingWrites() {
+        synchronized (pendingWrites) {
+            return pendingWrites.size();
+        }
+    }
+
+    private void write(Runnable write) {
+        write(() -> {
+            write.run();
+            return 0;
+        }, false);
+    }
+
+    /**
+     * Pipelined batch write. Runs outside the breaker (a large pipeline is slow
+     * without Redis being unhealthy, and must not open the breaker for the
+     * validation path), but is queued while the breaker is open.
+     */
+    private void writeBatch(Runnable write) {
+        write(() -> {
+            write.run();
+            return 0;
+        }, true);
+    }
+
+    private long write(LongSupplier write, boolean batch) {
+        PendingWrite pending = new PendingWrite(write, batch);
+        if (queueBehindPending(pending)) {
+            return 0;
+        }
+        try {
+            if (!batch) {
+                return guarded(write::getAsLong);
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            }
+            circuitBreaker.releasePermission();
+            return write.getAsLong();
+        } catch (RuntimeException e) {
+            queueAfterFailure(pending, e);
+            return 0;
+        }
+    }
+
+    private boolean queueBehindPending(PendingWrite write) {
+        synchronized (pendingWrites) {
+            // Keep order: once something is queued, later writes queue behind it
+            if (!pendingWrites.isEmpty()) {
+                enqueue(write);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void queueAfterFailure(PendingWrite write, RuntimeException e) {
+        synchronized (pendingWrites) {
+            enqueue(write);
+        }
+        log.warn("Redis unavailable, revocation applied locally and queued for replay ({} pending): {}",
+            pendingWrites(), e.getMessage());
+    }
+
+    private void enqueue(PendingWrite write) {
+        if (pendingWrites.size() >= config.getWriteBehindMaxSize()) {
+            throw new WriteBehindQueueFullException(
+                "Revocation write-behind queue full (" + pendingWrites.size() + " pending)");
+        }
+        pendingWrites.addLast(write);
+    }
+
+    private <T> T guarded(Supplier<T> redis) {
+        return circuitBreaker.executeSupplier(() -> timeLimited(redis));
+    }
+
+    /**
+     * Run a single Redis call under the time limiter. A timed-out call is
+     * cancelled and surfaces as a QueryTimeoutException, like a command timeout.
+     */
+    private <T> T timeLimited(Supplier<T> redis) {
+        try {
+            return timeLimiter.executeFutureSupplier(() -> CompletableFuture.supplyAsync(redis, redisCalls));
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Redis revocation call timed out after "
+                + timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis() + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while waiting for Redis", e);
+        } catch (RuntimeException e) {
+            throw e;  // The call's own failure, unwrapped by the time limiter
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean read(Supplier<Boolean> redis, Supplier<Boolean> snapshot) {
+        try {
+            return guarded(redis);
+        } catch (RuntimeException e) {
+            if (snapshot.get()) {
+                snapshotHits.increment();
+                return true;
+            }
+            if (config.getFailurePolicy() == TokenRevocationProperties.FailurePolicy.FAIL_CLOSED) {
+                failClosed.increment();
+                log.warn("Redis unavailable, rejecting token (fail-closed): {}", e.getMessage());
+                return true;
+            }
+            failOpen.increment();
+            log.debug("Redis unavailable, accepting token not in local deny-list (fail-open): {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void rememberToken(String jti, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis > System.currentTimeMillis()) {
+            revokedTokens.putMax(jti, expiresAtMillis, expiresAtMillis);
+        }
+    }
+
+    private void rememberUser(String email, Instant issuedBefore) {
+        revokedUsers.putMax(email, issuedBefore.getEpochSecond(), System.currentTimeMillis() + maxTokenLifetimeMillis);
+    }
+
+    private void rememberGeneration(String email, long generation) {
+        if (generation > 0) {
+            generations.asMap().merge(email, generation, Math::max);
+        }
+    }
+
+    private boolean isTokenKnownRevoked(String jti) {
+        return revokedTokens.get(jti) != ExpiringLongMap.MISSING;
+    }
+
+    private boolean isUserKnownRevoked(String email, Instant issuedAt) {
+        long cutoff = revokedUsers.get(email);
+        return cutoff != ExpiringLongMap.MISSING && issuedAt.getEpochSecond() < cutoff;
+    }
+
+    private static Counter fallbacks(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("revocation.redis.fallbacks")
+            .description("Revocation checks answered without Redis, by decision")
+            .tag("decision", decision)
+            .register(meterRegistry);
+    }
+
+    private record PendingWrite(LongSupplier write, boolean batch) {
+    }
+
+    /**
+     * Redis is down and the write-behind buffer cannot take more revocations.
+     */
+    public static class WriteBehindQueueFullException extends RuntimeException {
+        public WriteBehindQueueFullException(String message) {
+            super(message);
+        }
+    }
+}
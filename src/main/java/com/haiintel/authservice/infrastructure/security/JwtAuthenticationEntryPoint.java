@@ -1,5 +1,6 @@
 package com.haiintel.authservice.infrastructure.security;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,21 +12,36 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JWT authentication entry point.
  * Handles authentication failures with JSON error response.
+ *
+ * The 401 body is assembled from pre-serialized fragments: the constant fields and
+ * the (few distinct) messages are encoded once, only path and timestamp per request.
+ * Failures are logged by JwtAuthenticationFilter, rate-limited, not here.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
     
+    private static final byte[] PREFIX = "{\"status\":401,\"error\":\"Unauthorized\",\"message\":"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PATH = ",\"path\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIMESTAMP = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final int MAX_CACHED_MESSAGES = 64;
+    
     private final ObjectMapper objectMapper;
+    private final Map<String, byte[]> messages = new ConcurrentHashMap<>();
     
     @Override
     public void commence(
@@ -33,19 +49,40 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
             HttpServletResponse response,
             AuthenticationException authException) throws IOException, ServletException {
         
-        log.error("Authentication failed: {}", authException.getMessage());
+        log.debug("Authentication failed: {}", authException.getMessage());
+        
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        body.write(PREFIX);
+        body.write(message("Authentication failed: " + authException.getMessage()));
+        body.write(PATH);
+        body.write(json(request.getRequestURI()));
+        body.write(TIMESTAMP);
+        body.write(Instant.now().toString().getBytes(StandardCharsets.US_ASCII));
+        body.write(SUFFIX);
         
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", Instant.now().toString());
-        errorResponse.put("status", 401);
-        errorResponse.put("error", "Unauthorized");
-        errorResponse.put("message", "Authentication failed: " + authException.getMessage());
-        errorResponse.put("path", request.getRequestURI());
-        
-        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+        response.setContentLength(body.size());
+        body.writeTo(response.getOutputStream());
+    }
+    
+    private byte[] message(String message) {
+        byte[] cached = messages.get(message);
+        if (cached != null) {
+            return cached;
+        }
+        byte[] encoded = json(message);
+        if (messages.size() < MAX_CACHED_MESSAGES) {
+            messages.putIfAbsent(message, encoded);
+        }
+        return encoded;
+    }
+    
+    private byte[] json(String value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
-
@@ -1,14 +1,16 @@
 package com.haiintel.authservice.infrastructure.security;
 
 import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.model.ValidatedToken;
 import com.haiintel.authservice.domain.service.JwtService;
+import com.haiintel.authservice.infrastructure.metrics.AuthMetrics;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,21 +19,32 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * JWT authentication filter.
  * Extracts and validates JWT token from Authorization header.
  * 
  * ✅ P0 FIX: Token revocation check (in JwtService.validateToken)
+ *
+ * Request / trace IDs are set up earlier by RequestIdFilter.
+ * Validation failures are logged at most once per interval, with a count of the
+ * suppressed ones (every failure, with stack trace, at DEBUG).
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    private static final long FAILURE_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
     private final JwtService jwtService;
+    private final AtomicLong nextFailureLog = new AtomicLong(System.nanoTime());
+    private final LongAdder suppressedFailures = new LongAdder();
     
     @Override
     protected void doFilterInternal(
@@ -39,45 +52,69 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
         
-        // Add request ID for distributed tracing
-        String requestId = UUID.randomUUID().toString();
-        MDC.put("requestId", requestId);
-        response.setHeader("X-Request-ID", requestId);
+        String token = extractToken(request);
         
-        try {
-            String token = extractToken(request);
-            
-            if (token != null) {
-                try {
-                    UserPrincipal user = jwtService.validateToken(token);
-                    
-                    // Create authentication token with role
-                    List<SimpleGrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-                    );
-                    
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(user, null, authorities);
-                    
-                    authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    
-                    log.debug("User authenticated: email={}, role={}", 
-                        user.getEmail(), user.getRole());
-                    
-                } catch (Exception e) {
-                    log.error("JWT validation failed", e);
-                    // Don't set authentication - will be handled by AuthenticationEntryPoint
+        if (token != null) {
+            try {
+                ValidatedToken validated = jwtService.validateToken(token);
+                UserPrincipal user = validated.getPrincipal();
+                
+                // Create authentication token with role, plus SCOPE_* for client-credentials scopes
+                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+                for (String scope : validated.getScopes()) {
+                    authorities.add(new SimpleGrantedAuthority("SCOPE_" + scope));
                 }
+                
+                // Credentials: the validated token (jti, exp, kid) for later consumers, never reparsed
+                UsernamePasswordAuthenticationToken authentication = 
+                    new UsernamePasswordAuthenticationToken(user, validated, authorities);
+                
+                authentication.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                
+                log.debug("User authenticated: email={}, role={}, jti={}", 
+                    user.getEmail(), user.getRole(), validated.getJti());
+                
+            } catch (Exception e) {
+                logFailure(e);
+                // Don't set authentication - will be handled by AuthenticationEntryPoint
             }
-            
-            filterChain.doFilter(request, response);
-            
-        } finally {
-            MDC.clear();
         }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    private void logFailure(Exception e) {
+        if (log.isDebugEnabled()) {
+            log.debug("JWT validation failed", e);
+        }
+        long now = System.nanoTime();
+        long next = nextFailureLog.get();
+        if (now - next < 0 || !nextFailureLog.compareAndSet(next, now + FAILURE_LOG_INTERVAL_NANOS)) {
+            suppressedFailures.increment();
+            return;
+        }
+        long suppressed = suppressedFailures.sumThenReset();
+        if (e instanceof JwtException || e instanceof IllegalArgumentException
+                || e instanceof JwtService.TokenRevokedException) {
+            log.warn("JWT validation failed: reason={}, message={} ({} more failures in the last interval)",
+                failureReason(e), e.getMessage(), suppressed);
+        } else {
+            log.error("JWT validation failed ({} more failures in the last interval)", suppressed, e);
+        }
+    }
+    
+    private static String failureReason(Exception e) {
+        if (e instanceof JwtService.TokenRevokedException revoked) {
+            return revoked.getReason();
+        }
+        if (e instanceof JwtService.RejectedTokenException rejected) {
+            return rejected.getReason() + " (cached)";
+        }
+        return AuthMetrics.failureReason((RuntimeException) e);
     }
     
     private String extractToken(HttpServletRequest request) {
@@ -0,0 +1,174 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haiintel.authservice.domain.model.PermitLease;
+import com.haiintel.authservice.domain.port.RateLimitPermitStore;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide limiter: the bucket lives in a {@link RateLimitPermitStore} (Redis),
+ * this pod leases permits from it in batches and spends them locally.
+ *
+ * - Lease size adapts per key: 1 permit, doubled (up to maxLease) each time a
+ *   lease is used up before it expires, back to 1 when one expires unused. Quiet
+ *   clients cost one store call per request and strand nothing; busy ones cost one
+ *   call per batch.
+ * - Unused permits are dropped when a lease expires (leaseTtl), so a pod never
+ *   banks permits. The store hands each permit out once: no over-admission.
+ * - A denial is cached until the store's retry-after, so a client over its limit
+ *   is rejected without touching the store.
+ * - While the store is unavailable (circuit breaker open / errors) the per-pod
+ *   {@link TokenBucketLimiter} answers instead.
+ */
+@Slf4j
+public class LeasingRateLimiter implements RateLimiter {
+
+    private final String name;
+    private final RateLimitPermitStore store;
+    private final int capacity;
+    private final Duration refillPeriod;
+    private final int maxLease;
+    private final long leaseTtlNanos;
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter fallback;
+    private final LongSupplier clock;
+    private final Cache<String, Lease> leases;
+    private final Timer granted;
+    private final Timer denied;
+    private final Timer failed;
+
+    /**
+     * @param name Limit name (store key prefix, metrics tag)
+     * @param capacity Bucket size (max burst)
+     * @param refillPeriod Time to refill an empty bucket
+     * @param maxLease Largest batch leased at once
+     * @param leaseTtl How long leased permits stay usable
+     * @param maxKeys Upper bound on tracked keys
+     * @param clock Nanosecond clock (virtual time in simulations)
+     */
+    public LeasingRateLimiter(String name, RateLimitPermitStore store, int capacity, Duration refillPeriod,
+                              int maxLease, Duration leaseTtl, long maxKeys, CircuitBreaker circuitBreaker,
+                              MeterRegistry meterRegistry, LongSupplier clock) {
+        this.name = name;
+        this.store = store;
+        this.capacity = capacity;
+        this.refillPeriod = refillPeriod;
+        this.maxLease = Math.max(1, maxLease);
+        this.leaseTtlNanos = leaseTtl.toNanos();
+        this.circuitBreaker = circuitBreaker;
+        this.fallback = new TokenBucketLimiter(name + ".fallback", capacity, refillPeriod, maxKeys, meterRegistry);
+        this.clock = clock;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Math.max(leaseTtlNanos, refillPeriod.toNanos()), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, leases, "rateLimit." + name);
+        this.granted = timer(meterRegistry, name, "granted");
+        this.denied = timer(meterRegistry, name, "denied");
+        this.failed = timer(meterRegistry, name, "error");
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        Lease lease = leases.get(key, k -> new Lease(clock.getAsLong()));
+        if (lease.tryTake(clock.getAsLong())) {
+            return 0;
+        }
+        synchronized (lease) {  // One store call per key at a time; the others reuse its result
+            long now = clock.getAsLong();
+            if (lease.tryTake(now)) {
+                return 0;
+            }
+            if (lease.deniedUntil - now > 0) {
+                return lease.deniedUntil - now;
+            }
+            return renew(key, lease, now);
+        }
+    }
+
+    private long renew(String key, Lease lease, long now) {
+        int requested = lease.nextSize(now, maxLease);
+        long start = System.nanoTime();
+        PermitLease result;
+        try {
+            result = circuitBreaker.executeSupplier(() -> store.lease(name + ":" + key, requested, capacity, refillPeriod));
+        } catch (RuntimeException e) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Rate-limit store unavailable, using per-pod limit: limit={}: {}", name, e.getMessage());
+            return fallback.tryAcquire(key);
+        }
+
+        if (result.getGranted() == 0) {
+            denied.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long waitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, result.getRetryAfterMillis()));
+            lease.deniedUntil = now + waitNanos;
+            return waitNanos;
+        }
+        granted.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        lease.grant(result.getGranted() - 1, now + leaseTtlNanos);  // One is spent on this request
+        return 0;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String limit, String outcome) {
+        return Timer.builder("auth.ratelimit.leases")
+                .description("Rate-limit permit leases from the shared store")
+                .tag("limit", limit)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Permits leased for one key. Taking is lock-free; renewing holds the lease's monitor.
+     */
+    private static final class Lease {
+        private final AtomicInteger permits = new AtomicInteger();
+        private volatile long expiresAt;
+        private long deniedUntil;  // Guarded by this
+        private int size;          // Guarded by this
+
+        private Lease(long now) {
+            this.expiresAt = now;
+            this.deniedUntil = now;
+        }
+
+        private boolean tryTake(long now) {
+            if (expiresAt - now <= 0) {
+                return false;
+            }
+            int available;
+            do {
+                available = permits.get();
+                if (available <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(available, available - 1));
+            return true;
+        }
+
+        /**
+         * Double after a lease that ran out before expiring, otherwise start over at 1.
+         */
+        private int nextSize(long now, int max) {
+            boolean usedUp = size > 0 && permits.get() <= 0 && expiresAt - now > 0;
+            size = usedUp ? Math.min(max, size * 2) : 1;
+            return size;
+        }
+
+        private void grant(int count, long expiresAt) {
+            permits.set(count);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.port.RateLimitPermitStore;
+import com.haiintel.authservice.infrastructure.config.RateLimitingProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the rate-limiting.* limits in-process.
+ * 
+ * ✅ P1 FIX: Login, /me, JWKS and token-endpoint limits enforced by the app (Istio only applies a coarse local limit)
+ * 
+ * Runs in the security chain right after JwtAuthenticationFilter, so per-user limits
+ * see the authenticated principal and login requests are shed before any Google
+ * call. Over-limit requests get a pre-built 429 with Retry-After.
+ * 
+ * rate-limiting.mode: local keeps one bucket per client per pod (the effective
+ * limit scales with replicas); redis shares the bucket across pods through
+ * leased permits (LeasingRateLimiter), memory does the same against an
+ * in-process store (tests, single pod).
+ * 
+ * Metrics: auth.ratelimit.requests{limit, outcome=allowed|rejected}, plus
+ * cache.size{cache=rateLimit.*} for the number of tracked clients.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final Duration REFILL_PERIOD = Duration.ofMinutes(1);
+    
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded, retry later\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+    
+    private final boolean enabled;
+    private final Map<String, Endpoint> endpoints;
+    private final TrustedProxies trustedProxies;
+    
+    public RateLimitFilter(
+            RateLimitingProperties properties,
+            TrustedProxies trustedProxies,
+            ObjectProvider<RateLimitPermitStore> permitStore,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.trustedProxies = trustedProxies;
+        LimiterFactory limiters = (name, limit) -> properties.getMode().equals("local")
+                ? new TokenBucketLimiter(name, limit.getRequestsPerMinute(), REFILL_PERIOD, properties.getMaxKeys(), meterRegistry)
+                : new LeasingRateLimiter(name, permitStore.getObject(), limit.getRequestsPerMinute(), REFILL_PERIOD,
+                        (int) (limit.getRequestsPerMinute() * properties.getDistributed().getMaxLeaseFraction()),
+                        Duration.ofMillis(properties.getDistributed().getLeaseTtlMs()), properties.getMaxKeys(),
+                        circuitBreakerRegistry.circuitBreaker("redisRateLimit"), meterRegistry, System::nanoTime);
+        Endpoint login = new Endpoint("login", properties.getLoginEndpoint(), limiters, meterRegistry, trustedProxies);
+        Endpoint jwks = new Endpoint("jwks", properties.getJwksEndpoint(), limiters, meterRegistry, trustedProxies);
+        this.endpoints = Map.of(
+                "/api/v1/auth/login/google", login,
+                "/api/v1/auth/callback/google", login,
+                "/api/v1/auth/google/login", login,
+                "/api/v1/auth/me", new Endpoint("me", properties.getMeEndpoint(), limiters, meterRegistry, trustedProxies),
+                "/.well-known/jwks.json", jwks,
+                "/.well-known/cose-keys", jwks,
+                "/api/v1/oauth/token", new Endpoint("token", properties.getTokenEndpoint(), limiters, meterRegistry, trustedProxies));
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !endpoints.containsKey(path(request));
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        
+        Endpoint endpoint = endpoints.get(path(request));
+        long waitNanos = endpoint.limiter.tryAcquire(endpoint.key(request));
+        if (waitNanos == 0) {
+            endpoint.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        endpoint.rejected.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rate limit exceeded: limit={}, key={}, retryAfter={}s",
+                endpoint.name, endpoint.key(request), retryAfterSeconds);
+        
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+    
+    private static String path(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+    }
+    
+    private static final class Endpoint {
+        private final String name;
+        private final boolean perUser;
+        private final RateLimiter limiter;
+        private final TrustedProxies trustedProxies;
+        private final Counter allowed;
+        private final Counter rejected;
+        
+        private Endpoint(String name, RateLimitingProperties.Limit limit, LimiterFactory limiters, MeterRegistry meterRegistry,
+                TrustedProxies trustedProxies) {
+            this.name = name;
+            this.perUser = limit.isPerUser();
+            this.trustedProxies = trustedProxies;
+            this.limiter = limiters.create(name, limit);
+            this.allowed = counter(meterRegistry, name, "allowed");
+            this.rejected = counter(meterRegistry, name, "rejected");
+        }
+        
+        /**
+         * User for per-user limits on authenticated requests, otherwise client IP
+         * (never a hop the client could have written, see TrustedProxies).
+         */
+        private String key(HttpServletRequest request) {
+            if (perUser) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal user) {
+                    return "user:" + user.getEmail();
+                }
+            }
+            return "ip:" + trustedProxies.clientIp(request);
+        }
+        
+        private static Counter counter(MeterRegistry meterRegistry, String limit, String outcome) {
+            return Counter.builder("auth.ratelimit.requests")
+                    .description("Rate-limited endpoint requests by outcome")
+                    .tag("limit", limit)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface LimiterFactory {
+        RateLimiter create(String name, RateLimitingProperties.Limit limit);
+    }
+}
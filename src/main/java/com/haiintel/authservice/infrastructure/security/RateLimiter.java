@@ -0,0 +1,18 @@
+package com.haiintel.authservice.infrastructure.security;
+
+/**
+ * Per-key rate limiter used by {@link RateLimitFilter}.
+ *
+ * Implementations:
+ * - TokenBucketLimiter (rate-limiting.mode: local; per pod)
+ * - LeasingRateLimiter (rate-limiting.mode: redis / memory; cluster-wide)
+ */
+public interface RateLimiter {
+
+    /**
+     * Take one permit for {@code key}.
+     *
+     * @return 0 if allowed, otherwise nanoseconds until a permit is available
+     */
+    long tryAcquire(String key);
+}
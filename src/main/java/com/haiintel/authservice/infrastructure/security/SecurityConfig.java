@@ -7,9 +7,12 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -18,7 +21,7 @@ import lombok.RequiredArgsConstructor;
  * Security model:
  * - Stateless (no sessions)
  * - JWT-based authentication
- * - Role-based authorization
+ * - Role-based authorization; client-credentials scopes become SCOPE_* authorities
  */
 @Configuration
 @EnableWebSecurity
@@ -26,7 +29,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+        /**
+         * Scope for downstream verifiers following the revocation feed (client-credentials).
+         */
+        public static final String REVOCATIONS_READ_SCOPE = "revocations.read";
+
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
+        private final RateLimitFilter rateLimitFilter;
         private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
         @Bean
@@ -37,12 +46,17 @@ public class SecurityConfig {
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                                 .authorizeHttpRequests(auth -> auth
+                                                // Async re-dispatch (SSE, long-poll) of already authorized requests
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                                 // Public endpoints
                                                 .requestMatchers(
                                                                 "/api/v1/auth/login/google", // OAuth initiate
                                                                 "/api/v1/auth/callback/google", // OAuth callback
                                                                 "/api/v1/auth/google/login", // OAuth login
+                                                                "/api/v1/oauth/token", // Client-credentials grant
+                                                                "/api/v1/authz/check/**", // Envoy ext_authz (401s itself)
                                                                 "/.well-known/jwks.json",
+                                                                "/.well-known/cose-keys",
                                                                 "/actuator/health/**",
                                                                 "/actuator/prometheus",
                                                                 "/swagger-ui/**",
@@ -54,12 +68,26 @@ public class SecurityConfig {
                                                 ).permitAll()
                                                 // Admin endpoints
                                                 .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                                                // Revocation feed (every revoked jti and email): admins and feed consumers
+                                                .requestMatchers("/api/v1/revocations/**")
+                                                                .hasAnyAuthority("ROLE_ADMIN", "SCOPE_" + REVOCATIONS_READ_SCOPE)
+                                                // On-demand JFR recordings
+                                                .requestMatchers("/actuator/jfr/**", "/actuator/jfr").hasRole("ADMIN")
                                                 // All other endpoints require authentication
                                                 .anyRequest().authenticated())
                                 .exceptionHandling(exception -> exception
                                                 .authenticationEntryPoint(jwtAuthenticationEntryPoint))
-                                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
                 return http.build();
         }
+
+        /**
+         * Password encoder for machine client secrets ({bcrypt}, {pbkdf2}, ... prefixes).
+         */
+        @Bean
+        public PasswordEncoder passwordEncoder() {
+                return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        }
 }
@@ -0,0 +1,64 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-key token buckets, one lock-free state word each.
+ *
+ * Implemented as GCRA (the "virtual scheduling" form of a token bucket): each key
+ * holds the theoretical arrival time of its next request, and a request is allowed
+ * if that time is no more than {@code capacity - 1} emission intervals ahead, i.e.
+ * the bucket still has a token. Acquiring is a single CAS on an AtomicLong.
+ *
+ * Keys live in a bounded Caffeine cache. A bucket idle for one full refill period
+ * is full again, so expiring it after that period changes nothing; under key
+ * pressure the least recently used buckets go first.
+ */
+public class TokenBucketLimiter implements RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param name Limit name (cache metrics: rateLimit.{name})
+     * @param capacity Bucket size (max burst)
+     * @param refillPeriod Time to refill an empty bucket
+     * @param maxKeys Upper bound on tracked keys
+     */
+    public TokenBucketLimiter(String name, int capacity, Duration refillPeriod, long maxKeys, MeterRegistry meterRegistry) {
+        this.emissionIntervalNanos = refillPeriod.toNanos() / capacity;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(refillPeriod.toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimit." + name);
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long theoreticalArrival = bucket.get();
+            long next = theoreticalArrival - now > 0 ? theoreticalArrival : now;  // nanoTime: compare by difference
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import com.haiintel.authservice.infrastructure.config.RateLimitingProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Client address for per-IP rate limits and audit entries: the right-most
+ * X-Forwarded-For hop that is not one of our own proxies (rate-limiting.trusted-proxies, CIDRs).
+ *
+ * Every proxy appends the address it received the connection from, so hops right of
+ * the first untrusted one were written by our proxies and anything left of it is
+ * whatever the client sent. The header is only read when the direct peer is itself a
+ * trusted proxy; a hop that is not an IP literal ends the walk at the last trusted hop.
+ * Addresses are returned in canonical form, so spellings of one address share a bucket.
+ */
+@Component
+public final class TrustedProxies {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<Cidr> cidrs = new ArrayList<>();
+
+    @Autowired
+    public TrustedProxies(RateLimitingProperties properties) {
+        this(properties.getTrustedProxies());
+    }
+
+    TrustedProxies(List<String> cidrs) {
+        for (String cidr : cidrs) {
+            int slash = cidr.indexOf('/');
+            InetAddress network = parse(slash < 0 ? cidr.strip() : cidr.substring(0, slash).strip());
+            if (network == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy CIDR: " + cidr);
+            }
+            int bits = network.getAddress().length * 8;
+            int prefix = slash < 0 ? bits : Integer.parseInt(cidr.substring(slash + 1).strip());
+            if (prefix < 0 || prefix > bits) {
+                throw new IllegalArgumentException("Invalid trusted proxy CIDR: " + cidr);
+            }
+            this.cidrs.add(new Cidr(network.getAddress(), prefix));
+        }
+    }
+
+    public String clientIp(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        InetAddress peer = parse(remote);
+        if (peer == null || !isTrusted(peer)) {
+            return peer == null ? remote : peer.getHostAddress();
+        }
+
+        String client = peer.getHostAddress();
+        List<String> headers = Collections.list(request.getHeaders("X-Forwarded-For"));
+        for (int h = headers.size() - 1; h >= 0; h--) {
+            String[] hops = headers.get(h).split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                InetAddress hop = parse(hops[i].strip());
+                if (hop == null) {
+                    return client;
+                }
+                client = hop.getHostAddress();
+                if (!isTrusted(hop)) {
+                    return client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        for (Cidr cidr : cidrs) {
+            if (cidr.matches(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * IP literal to address without any DNS lookup; null for anything else.
+     */
+    private static InetAddress parse(String value) {
+        if (value.startsWith("[") && value.endsWith("]")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        if (!IPV4.matcher(value).matches() && !IPV6.matcher(value).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(value);  // Literal only: never resolves
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Cidr(byte[] network, int prefix) {
+
+        boolean matches(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int full = prefix / 8;
+            for (int i = 0; i < full; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int rest = prefix % 8;
+            if (rest == 0) {
+                return true;
+            }
+            int mask = 0xff << (8 - rest);
+            return (address[full] & mask) == (network[full] & mask);
+        }
+    }
+}
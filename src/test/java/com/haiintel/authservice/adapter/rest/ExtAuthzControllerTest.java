@@ -0,0 +1,197 @@
+package com.haiintel.authservice.adapter.rest;
+
+import com.haiintel.authservice.domain.model.ClaimProfile;
+import com.haiintel.authservice.domain.model.JwtToken;
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.service.AuthenticationService;
+import com.haiintel.authservice.domain.service.GlobalRevocationEpoch;
+import com.haiintel.authservice.domain.service.JwtService;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+import com.haiintel.authservice.domain.service.RejectedTokenCache;
+import com.haiintel.authservice.domain.service.RevocationFeedService;
+import com.haiintel.authservice.domain.service.UserRevocationGenerations;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import com.haiintel.authservice.infrastructure.metrics.AuthMetrics;
+import com.haiintel.authservice.infrastructure.repository.InMemoryActiveTokenIndex;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRevocationEventLog;
+import com.haiintel.authservice.infrastructure.repository.InMemoryTokenRevocationRepository;
+import com.haiintel.authservice.infrastructure.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.List;
+
+import static com.haiintel.authservice.adapter.rest.ExtAuthzController.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * MockMvc tests for ExtAuthzController behind the real JwtAuthenticationFilter:
+ * identity headers on 200, the pre-serialized 401 otherwise.
+ */
+class ExtAuthzControllerTest {
+
+    private static final List<String> GROUPS = List.of("eng@haiintel.com", "ops@haiintel.com");
+
+    @TempDir
+    static Path keyDir;
+
+    private static Path privateKeyFile;
+    private static Path publicKeyFile;
+
+    private JwtProperties properties;
+    private InMemoryTokenRevocationRepository revocationRepository;
+    private JwtService jwtService;
+    private AuthenticationService authenticationService;
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void writeKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+        privateKeyFile = keyDir.resolve("private.pem");
+        publicKeyFile = keyDir.resolve("public.pem");
+        Files.writeString(privateKeyFile, pem("PRIVATE KEY", keys.getPrivate().getEncoded()));
+        Files.writeString(publicKeyFile, pem("PUBLIC KEY", keys.getPublic().getEncoded()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setPrivateKeyFile(privateKeyFile.toString());
+        properties.setPublicKeyFile(publicKeyFile.toString());
+        properties.setIssuer("hai-intel-auth-service");
+        properties.setAudience("hai-indexer");
+        TokenRevocationProperties revocation = new TokenRevocationProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        revocationRepository = new InMemoryTokenRevocationRepository(properties);
+        RevocationFeedService revocationFeed = new RevocationFeedService(new InMemoryRevocationEventLog(revocation),
+                new DefaultListableBeanFactory().getBeanProvider(RevocationEventListener.class), revocation);
+        revocationFeed.poll();
+        jwtService = new JwtService(properties, revocationRepository,
+                new UserRevocationGenerations(revocation, meterRegistry), new GlobalRevocationEpoch(),
+                new InMemoryActiveTokenIndex(), new RejectedTokenCache(properties, meterRegistry),
+                new AuthMetrics(meterRegistry, revocation), revocationFeed);
+        authenticationService = mock(AuthenticationService.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ExtAuthzController(authenticationService))
+                .addFilters(new JwtAuthenticationFilter(jwtService))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldReturnIdentityHeadersForValidToken() throws Exception {
+        String token = jwtService.issueToken(user(GROUPS)).getToken();
+
+        mockMvc.perform(post("/api/v1/authz/check/api/v1/documents/42").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(USER_EMAIL_HEADER, "alice@haiintel.com"))
+                .andExpect(header().string(USER_ROLE_HEADER, "EMPLOYEE"))
+                .andExpect(header().string(USER_GROUPS_HEADER, "eng@haiintel.com,ops@haiintel.com"))
+                .andExpect(header().string(USER_GROUP_HASHES_HEADER, ""))
+                .andExpect(content().bytes(new byte[0]));
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void shouldSendEmptyGroupHeadersForUserWithoutGroups() throws Exception {
+        String token = jwtService.issueToken(user(List.of())).getToken();
+
+        // Present but empty, so Envoy overwrites any client-supplied x-user-groups
+        mockMvc.perform(get("/api/v1/authz/check/").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(USER_GROUPS_HEADER, ""))
+                .andExpect(header().string(USER_GROUP_HASHES_HEADER, ""));
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void shouldForwardGroupHashesOfHashedGroupsTokens() throws Exception {
+        properties.getClaims().setProfile(ClaimProfile.HASHED_GROUPS);
+        String token = jwtService.issueToken(user(GROUPS)).getToken();
+
+        mockMvc.perform(get("/api/v1/authz/check/").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(USER_GROUPS_HEADER, ""))
+                .andExpect(header().string(USER_GROUP_HASHES_HEADER,
+                        String.join(",", GROUPS.stream().map(ClaimProfile::groupHash).toList())));
+        verifyNoInteractions(authenticationService);
+    }
+
+    @Test
+    void shouldResolveGroupsForTokensWithoutGroupClaims() throws Exception {
+        properties.getClaims().setProfile(ClaimProfile.NO_GROUPS);
+        String token = jwtService.issueToken(user(GROUPS)).getToken();
+        when(authenticationService.resolveGroups(any()))
+                .thenAnswer(call -> call.<UserPrincipal>getArgument(0).toBuilder().groups(GROUPS).build());
+
+        mockMvc.perform(get("/api/v1/authz/check/").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(USER_GROUPS_HEADER, "eng@haiintel.com,ops@haiintel.com"));
+        verify(authenticationService).resolveGroups(any());
+    }
+
+    @Test
+    void shouldRejectMissingOrInvalidToken() throws Exception {
+        mockMvc.perform(get("/api/v1/authz/check/api/v1/documents"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"))
+                .andExpect(header().doesNotExist(USER_EMAIL_HEADER))
+                .andExpect(jsonPath("$.status").value(401))
+                .andExpect(jsonPath("$.message").value("Missing, invalid or revoked bearer token"));
+
+        mockMvc.perform(get("/api/v1/authz/check/api/v1/documents").header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"));
+    }
+
+    @Test
+    void shouldRejectRevokedToken() throws Exception {
+        JwtToken token = jwtService.issueToken(user(GROUPS));
+        revocationRepository.revokeToken(token.getJti(), "alice@haiintel.com", token.getExpiresAt());
+
+        mockMvc.perform(get("/api/v1/authz/check/api/v1/documents").header("Authorization", "Bearer " + token.getToken()))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"))
+                .andExpect(header().doesNotExist(USER_EMAIL_HEADER));
+    }
+
+    private static UserPrincipal user(List<String> groups) {
+        return UserPrincipal.builder()
+                .email("alice@haiintel.com")
+                .name("Alice")
+                .role(Role.EMPLOYEE)
+                .groups(groups)
+                .build();
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END " + type + "-----\n";
+    }
+}
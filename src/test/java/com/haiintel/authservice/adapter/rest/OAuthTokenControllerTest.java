@@ -0,0 +1,150 @@
+package com.haiintel.authservice.adapter.rest;
+
+import com.haiintel.authservice.domain.model.JwtToken;
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.port.AuditLogger;
+import com.haiintel.authservice.domain.service.ClientCredentialsService;
+import com.haiintel.authservice.domain.service.ClientCredentialsService.InvalidClientException;
+import com.haiintel.authservice.infrastructure.config.RateLimitingProperties;
+import com.haiintel.authservice.infrastructure.security.TrustedProxies;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * MockMvc tests for OAuthTokenController: client authentication and the client
+ * address recorded in audit entries.
+ */
+class OAuthTokenControllerTest {
+
+    private ClientCredentialsService clientCredentialsService;
+    private AuditLogger auditLogger;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        clientCredentialsService = mock(ClientCredentialsService.class);
+        auditLogger = mock(AuditLogger.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new OAuthTokenController(clientCredentialsService, auditLogger,
+                        new TrustedProxies(new RateLimitingProperties())))
+                .build();
+    }
+
+    @Test
+    void shouldIssueTokenForFormCredentials() throws Exception {
+        when(clientCredentialsService.issueToken("batch-reindexer", "s3cret", List.of("indexer.read")))
+                .thenReturn(token());
+
+        mockMvc.perform(post("/api/v1/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", "client_credentials")
+                        .param("client_id", "batch-reindexer")
+                        .param("client_secret", "s3cret")
+                        .param("scope", "indexer.read"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.access_token").value("token"))
+                .andExpect(jsonPath("$.scope").value("indexer.read"));
+    }
+
+    @Test
+    void shouldUrlDecodeBasicCredentialsAfterSplitting() throws Exception {
+        when(clientCredentialsService.issueToken("svc:reindex", "p@ss:w0rd+/=", List.of())).thenReturn(token());
+
+        // client_id "svc:reindex", secret "p@ss:w0rd+/=", each form-urlencoded before joining
+        mockMvc.perform(post("/api/v1/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .header("Authorization", basic("svc%3Areindex:p%40ss%3Aw0rd%2B%2F%3D"))
+                        .param("grant_type", "client_credentials"))
+                .andExpect(status().isOk());
+
+        verify(clientCredentialsService).issueToken("svc:reindex", "p@ss:w0rd+/=", List.of());
+    }
+
+    @Test
+    void shouldRejectMalformedBasicCredentials() throws Exception {
+        mockMvc.perform(post("/api/v1/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .header("Authorization", basic("batch-reindexer:%zz"))
+                        .param("grant_type", "client_credentials"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("invalid_client"));
+
+        mockMvc.perform(post("/api/v1/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .header("Authorization", basic("no-separator"))
+                        .param("grant_type", "client_credentials"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(clientCredentialsService);
+    }
+
+    @Test
+    void shouldAuditDirectPeerInsteadOfSpoofedForwardedFor() throws Exception {
+        when(clientCredentialsService.issueToken(any(), any(), anyList()))
+                .thenThrow(new InvalidClientException("Invalid client credentials"));
+
+        mockMvc.perform(post("/api/v1/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .with(request -> {
+                            request.setRemoteAddr("198.51.100.4");
+                            return request;
+                        })
+                        .header("X-Forwarded-For", "10.1.2.3")
+                        .param("grant_type", "client_credentials")
+                        .param("client_id", "batch-reindexer")
+                        .param("client_secret", "wrong"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("invalid_client"));
+
+        verify(auditLogger).logAuthenticationFailure(eq("batch-reindexer"), eq("198.51.100.4"), any());
+    }
+
+    @Test
+    void shouldAuditClientHopBehindTrustedProxy() throws Exception {
+        when(clientCredentialsService.issueToken(any(), any(), anyList())).thenReturn(token());
+
+        mockMvc.perform(post("/api/v1/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .with(request -> {
+                            request.setRemoteAddr("127.0.0.1");  // The sidecar
+                            return request;
+                        })
+                        .header("X-Forwarded-For", "10.1.2.3, 198.51.100.4")
+                        .param("grant_type", "client_credentials")
+                        .param("client_id", "batch-reindexer")
+                        .param("client_secret", "s3cret"))
+                .andExpect(status().isOk());
+
+        verify(auditLogger).logTokenIssued("jti-1", "batch-reindexer", Role.INTERN, "198.51.100.4");
+    }
+
+    private static String basic(String credentials) {
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JwtToken token() {
+        return JwtToken.builder()
+                .token("token")
+                .jti("jti-1")
+                .subject("batch-reindexer")
+                .role(Role.INTERN)
+                .expiresAt(Instant.now().plusSeconds(900))
+                .scopes(List.of("indexer.read"))
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.haiintel.authservice.adapter.rest;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+import com.haiintel.authservice.domain.service.RevocationFeedService;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRevocationEventLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * MockMvc tests for RevocationFeedController long-poll and SSE delivery (access
+ * rules live in SecurityConfig).
+ */
+class RevocationFeedControllerTest {
+
+    private InMemoryRevocationEventLog eventLog;
+    private RevocationFeedService feed;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TokenRevocationProperties properties = new TokenRevocationProperties();
+        eventLog = new InMemoryRevocationEventLog(properties);
+        RevocationFeedSubscriptions subscriptions = new RevocationFeedSubscriptions();
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("subscriptions", subscriptions);
+        feed = new RevocationFeedService(eventLog, beans.getBeanProvider(RevocationEventListener.class), properties);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new RevocationFeedController(feed, subscriptions, properties))
+                .build();
+    }
+
+    @Test
+    void shouldAnswerLongPollAtOnceWhenEventsArePending() throws Exception {
+        revoke("jti-1");
+        feed.poll();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/revocations/events?after=0&waitSeconds=10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sequence").value(1))
+                .andExpect(jsonPath("$[0].jti").value("jti-1"));
+    }
+
+    @Test
+    void shouldParkLongPollUntilNextEvent() throws Exception {
+        revoke("jti-1");
+        feed.poll();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/revocations/events?after=1&waitSeconds=10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertFalse(result.getRequest().getAsyncContext().getResponse().isCommitted());
+
+        revoke("jti-2");
+        feed.poll();  // Dispatch completes the parked request
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].jti").value("jti-2"));
+    }
+
+    @Test
+    void shouldReturnEmptyListWithoutWaiting() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/revocations/events?after=0"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void shouldStreamBacklogThenLiveEvents() throws Exception {
+        revoke("jti-1");
+        revoke("jti-2");
+        feed.poll();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/revocations/stream?after=0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        revoke("jti-3");
+        feed.poll();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("id:1\nevent:TOKEN_REVOKED\n"), body);
+        assertTrue(body.indexOf("\"jti-1\"") < body.indexOf("\"jti-2\""), body);
+        assertTrue(body.contains("id:3\n"), body);
+        assertEquals(1, body.split("\"jti-2\"", -1).length - 1, body);  // Replay and live delivery do not overlap
+    }
+
+    @Test
+    void shouldResumeStreamFromLastEventId() throws Exception {
+        revoke("jti-1");
+        revoke("jti-2");
+        feed.poll();
+
+        mockMvc.perform(get("/api/v1/revocations/stream?after=0").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().string(containsString("id:2\n")))
+                .andExpect(content().string(not(containsString("id:1\n"))));
+    }
+
+    private void revoke(String jti) {
+        eventLog.append(RevocationEvent.builder()
+                .type(RevocationEvent.Type.TOKEN_REVOKED)
+                .jti(jti)
+                .email("user@haiintel.com")
+                .expiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .occurredAt(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,63 @@
+package com.haiintel.authservice.domain.service;
+
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.model.ValidatedToken;
+import com.haiintel.authservice.domain.port.AuditLogger;
+import com.haiintel.authservice.domain.port.IdentityProvider;
+import com.haiintel.authservice.infrastructure.config.GoogleWorkspaceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthenticationService token validation: one parse feeds both the
+ * caller and the audit entry.
+ */
+class AuthenticationServiceTest {
+
+    private JwtService jwtService;
+    private AuditLogger auditLogger;
+    private AuthenticationService service;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        auditLogger = mock(AuditLogger.class);
+        service = new AuthenticationService(mock(IdentityProvider.class), jwtService, mock(RoleResolver.class),
+                auditLogger, new GoogleWorkspaceProperties());
+    }
+
+    @Test
+    void shouldAuditJtiFromSingleParse() {
+        ValidatedToken validated = ValidatedToken.builder()
+                .principal(UserPrincipal.builder().email("alice@haiintel.com").role(Role.EMPLOYEE).build())
+                .jti("jti-1")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .scopes(List.of())
+                .build();
+        when(jwtService.validateToken("token")).thenReturn(validated);
+
+        assertSame(validated, service.validateToken("token"));
+
+        verify(auditLogger).logTokenValidated("jti-1", "alice@haiintel.com");
+        verify(jwtService).validateToken("token");
+        verifyNoMoreInteractions(jwtService);  // No second parse for the jti
+    }
+
+    @Test
+    void shouldNotAuditRejectedTokens() {
+        when(jwtService.validateToken(anyString())).thenThrow(new JwtService.TokenRevokedException("revoked"));
+
+        assertThrows(JwtService.TokenRevokedException.class, () -> service.validateToken("token"));
+
+        verifyNoInteractions(auditLogger);
+    }
+}
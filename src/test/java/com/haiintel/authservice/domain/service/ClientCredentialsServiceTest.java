@@ -0,0 +1,128 @@
+package com.haiintel.authservice.domain.service;
+
+import com.haiintel.authservice.domain.model.JwtToken;
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.infrastructure.config.AuthorizationProperties;
+import com.haiintel.authservice.infrastructure.config.ClientCredentialsProperties;
+import com.haiintel.authservice.infrastructure.repository.InMemoryClientRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClientCredentialsService.
+ */
+class ClientCredentialsServiceTest {
+
+    private ClientCredentialsService service;
+    private JwtService jwtService;
+    private AtomicInteger hashVerifications;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        hashVerifications = new AtomicInteger();
+        PasswordEncoder countingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashVerifications.incrementAndGet();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+
+        ClientCredentialsProperties properties = new ClientCredentialsProperties();
+
+        ClientCredentialsProperties.Client client = new ClientCredentialsProperties.Client();
+        client.setClientId("batch-reindexer");
+        client.setSecretHash(bcrypt.encode("s3cret"));
+        client.setScopes(List.of("indexer.read", "indexer.write"));
+        properties.setClients(List.of(client));
+
+        ClientCredentialsProperties.ScopeMapping writeMapping = new ClientCredentialsProperties.ScopeMapping();
+        writeMapping.setScope("indexer.write");
+        writeMapping.setRole(Role.EMPLOYEE);
+        ClientCredentialsProperties.ScopeMapping readMapping = new ClientCredentialsProperties.ScopeMapping();
+        readMapping.setScope("indexer.read");
+        readMapping.setRole(Role.INTERN);
+        properties.setScopeMappings(List.of(writeMapping, readMapping));
+
+        AuthorizationProperties authorizationProperties = new AuthorizationProperties();
+        authorizationProperties.setDefaultRole(Role.INTERN);
+
+        jwtService = mock(JwtService.class);
+        when(jwtService.issueServiceToken(any(), anyList(), any())).thenAnswer(invocation -> {
+            UserPrincipal principal = invocation.getArgument(0);
+            return JwtToken.builder()
+                .jti("jti-1")
+                .subject(principal.getEmail())
+                .role(principal.getRole())
+                .scopes(invocation.getArgument(1))
+                .build();
+        });
+
+        service = new ClientCredentialsService(
+            new InMemoryClientRegistry(properties), countingEncoder, jwtService,
+            properties, authorizationProperties);
+    }
+
+    @Test
+    void shouldIssueTokenWithAllRegisteredScopes() {
+        JwtToken token = service.issueToken("batch-reindexer", "s3cret", List.of());
+
+        assertEquals("batch-reindexer", token.getSubject());
+        assertEquals(Role.EMPLOYEE, token.getRole());
+        assertEquals(List.of("indexer.read", "indexer.write"), token.getScopes());
+        verify(jwtService).issueServiceToken(any(), anyList(), eq(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void shouldResolveRoleFromRequestedScopesOnly() {
+        JwtToken token = service.issueToken("batch-reindexer", "s3cret", List.of("indexer.read"));
+
+        assertEquals(Role.INTERN, token.getRole());
+        assertEquals(List.of("indexer.read"), token.getScopes());
+    }
+
+    @Test
+    void shouldRejectWrongSecret() {
+        assertThrows(ClientCredentialsService.InvalidClientException.class,
+            () -> service.issueToken("batch-reindexer", "wrong", List.of()));
+    }
+
+    @Test
+    void shouldRejectUnknownClient() {
+        assertThrows(ClientCredentialsService.InvalidClientException.class,
+            () -> service.issueToken("unknown", "s3cret", List.of()));
+    }
+
+    @Test
+    void shouldRejectUnregisteredScope() {
+        assertThrows(ClientCredentialsService.InvalidScopeException.class,
+            () -> service.issueToken("batch-reindexer", "s3cret", List.of("indexer.admin")));
+    }
+
+    @Test
+    void shouldCacheSecretVerification() {
+        service.issueToken("batch-reindexer", "s3cret", List.of());
+        service.issueToken("batch-reindexer", "s3cret", List.of());
+        service.issueToken("batch-reindexer", "s3cret", List.of());
+
+        assertEquals(1, hashVerifications.get());
+    }
+}
@@ -0,0 +1,81 @@
+package com.haiintel.authservice.domain.service;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CwtCodec (COSE_Sign1 / CBOR round trips and rejection of bad input).
+ */
+class CwtCodecTest {
+
+    private static KeyPair keys;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keys = generator.generateKeyPair();
+    }
+
+    @Test
+    void shouldRoundTripClaims() {
+        String token = CwtCodec.sign(claims(), "kid-1", keys.getPrivate());
+
+        assertTrue(CwtCodec.isCwt(token));
+        Map<Object, Object> claims = CwtCodec.verify(token, keys.getPublic());
+        assertEquals("alice@haiintel.com", claims.get(CwtCodec.SUB));
+        assertEquals(1_700_000_000L, claims.get(CwtCodec.EXP));
+        assertEquals(-3L, claims.get("gen"));
+        assertEquals(List.of("a@haiintel.com", "b@haiintel.com"), claims.get("groups"));
+        assertArrayEquals(new byte[16], (byte[]) claims.get(CwtCodec.CTI));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        Map<Object, Object> claims = claims();
+        byte[] original = Base64.getUrlDecoder().decode(CwtCodec.sign(claims, "kid-1", keys.getPrivate()));
+        claims.put("role", "ADMIN");
+        byte[] forged = Base64.getUrlDecoder().decode(CwtCodec.sign(claims, "kid-1", keys.getPrivate()));
+        // Forged payload with the original signature (last 256 bytes)
+        System.arraycopy(original, original.length - 256, forged, forged.length - 256, 256);
+
+        assertThrows(SignatureException.class,
+                () -> CwtCodec.verify(Base64.getUrlEncoder().withoutPadding().encodeToString(forged), keys.getPublic()));
+    }
+
+    @Test
+    void shouldRejectTruncatedOrOversizedItems() {
+        String token = CwtCodec.sign(claims(), "kid-1", keys.getPrivate());
+        byte[] raw = Base64.getUrlDecoder().decode(token);
+        String truncated = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(raw, raw.length - 10));
+
+        assertThrows(MalformedJwtException.class, () -> CwtCodec.verify(truncated, keys.getPublic()));
+        // Byte string claiming 2^32 bytes
+        assertThrows(MalformedJwtException.class,
+                () -> CwtCodec.decode(new byte[] {0x5a, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff}));
+        assertThrows(MalformedJwtException.class, () -> CwtCodec.verify("eyJhbGciOiJSUzI1NiJ9.e30.sig", keys.getPublic()));
+    }
+
+    private static Map<Object, Object> claims() {
+        Map<Object, Object> claims = new LinkedHashMap<>();
+        claims.put(CwtCodec.SUB, "alice@haiintel.com");
+        claims.put(CwtCodec.EXP, 1_700_000_000L);
+        claims.put(CwtCodec.CTI, new byte[16]);
+        claims.put("role", "INTERN");
+        claims.put("gen", -3L);
+        claims.put("groups", List.of("a@haiintel.com", "b@haiintel.com"));
+        return claims;
+    }
+}
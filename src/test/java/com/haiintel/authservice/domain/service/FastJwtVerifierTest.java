@@ -0,0 +1,119 @@
+package com.haiintel.authservice.domain.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FastJwtVerifier: same claims and same failures as the jjwt parser.
+ */
+class FastJwtVerifierTest {
+
+    private static KeyPair keys;
+    private static TemplateJwtEncoder encoder;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keys = generator.generateKeyPair();
+        encoder = new TemplateJwtEncoder(keys.getPrivate(), "kid-1");
+    }
+
+    @Test
+    void shouldReadSameClaimsAsJjwt() {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", "ADMIN");
+        claims.put("gen", 7L);
+        claims.put("name", "Zoë \"Z\" O'Brien");
+        claims.put("groups", List.of("a@haiintel.com", "b@haiintel.com"));
+        claims.put("scope", "indexer.read revocations.read");
+        claims.put("ext", List.of("indexer.read", List.of(1, true)));  // Unknown claim: skipped
+        String token = encoder.encode("alice@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer",
+                now, now + 3600, "jti-1");
+
+        TokenClaims fast = verifier().verify(token);
+        Claims reference = Jwts.parser()
+                .verifyWith(keys.getPublic())
+                .requireIssuer("hai-intel-auth-service")
+                .requireAudience("hai-indexer")
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+
+        assertEquals(reference.getSubject(), fast.subject());
+        assertEquals(reference.getId(), fast.jti());
+        assertEquals(reference.getIssuedAt().toInstant(), fast.issuedAt());
+        assertEquals(reference.getExpiration().toInstant(), fast.expiresAt());
+        assertEquals(7L, fast.generation());
+        assertEquals(reference.get("role"), fast.role());
+        assertEquals(reference.get("name"), fast.name());
+        assertEquals(reference.get("groups"), fast.groups());
+        assertNull(fast.groupHashes());
+        assertEquals(List.of("indexer.read", "revocations.read"), fast.scopes());
+    }
+
+    @Test
+    void shouldRejectLikeJjwt() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Object> claims = Map.of("role", "USER");
+        FastJwtVerifier verifier = verifier();
+
+        String expired = encoder.encode("a@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer",
+                now - 120, now - 60, "j");
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(expired));
+
+        String otherAudience = encoder.encode("a@haiintel.com", claims, "hai-intel-auth-service", "hai-billing",
+                now, now + 60, "j");
+        assertThrows(IncorrectClaimException.class, () -> verifier.verify(otherAudience));
+
+        String valid = encoder.encode("a@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer",
+                now, now + 60, "j");
+        String[] parts = valid.split("\\.");
+        String tampered = parts[0] + "." + encoder.encode("b@haiintel.com", claims, "hai-intel-auth-service",
+                "hai-indexer", now, now + 60, "j").split("\\.")[1] + "." + parts[2];
+        assertThrows(SignatureException.class, () -> verifier.verify(tampered));
+        assertThrows(MalformedJwtException.class, () -> verifier.verify(valid + ".x"));
+        assertThrows(MalformedJwtException.class, () -> verifier.verify(parts[0] + "." + parts[1] + ".***"));
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String foreign = new TemplateJwtEncoder(generator.generateKeyPair().getPrivate(), "kid-1")
+                .encode("a@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer", now, now + 60, "j");
+        assertThrows(SignatureException.class, () -> verifier.verify(foreign));
+
+        // Still usable on this thread after failures
+        assertEquals("a@haiintel.com", verifier.verify(valid).subject());
+    }
+
+    @Test
+    void shouldOnlySupportTokensIssuedForItsKid() {
+        long now = Instant.now().getEpochSecond();
+        String token = new TemplateJwtEncoder(keys.getPrivate(), "kid-2")
+                .encode("a@haiintel.com", Map.of("role", "USER"), "hai-intel-auth-service", "hai-indexer",
+                        now, now + 60, "j");
+
+        assertFalse(verifier().supports(token));
+        assertTrue(verifier().supports(encoder.encode("a@haiintel.com", Map.of("role", "USER"),
+                "hai-intel-auth-service", "hai-indexer", now, now + 60, "j")));
+    }
+
+    private static FastJwtVerifier verifier() {
+        return new FastJwtVerifier(keys.getPublic(), "kid-1", "hai-intel-auth-service", "hai-indexer");
+    }
+}
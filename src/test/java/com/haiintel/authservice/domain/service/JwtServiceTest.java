@@ -0,0 +1,180 @@
+package com.haiintel.authservice.domain.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haiintel.authservice.domain.model.ClaimProfile;
+import com.haiintel.authservice.domain.model.JwtToken;
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.model.ValidatedToken;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import com.haiintel.authservice.infrastructure.metrics.AuthMetrics;
+import com.haiintel.authservice.infrastructure.repository.InMemoryActiveTokenIndex;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRevocationEventLog;
+import com.haiintel.authservice.infrastructure.repository.InMemoryTokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtService issuance: each claim profile shapes the token and
+ * the principal read back from it.
+ */
+class JwtServiceTest {
+
+    private static final List<String> GROUPS = List.of("eng@haiintel.com", "ops@haiintel.com");
+
+    @TempDir
+    static Path keyDir;
+
+    private static Path privateKeyFile;
+    private static Path publicKeyFile;
+
+    private JwtProperties properties;
+    private InMemoryTokenRevocationRepository revocationRepository;
+    private TokenRevocationProperties revocation;
+    private JwtService jwtService;
+
+    @BeforeAll
+    static void writeKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+        privateKeyFile = keyDir.resolve("private.pem");
+        publicKeyFile = keyDir.resolve("public.pem");
+        Files.writeString(privateKeyFile, pem("PRIVATE KEY", keys.getPrivate().getEncoded()));
+        Files.writeString(publicKeyFile, pem("PUBLIC KEY", keys.getPublic().getEncoded()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setPrivateKeyFile(privateKeyFile.toString());
+        properties.setPublicKeyFile(publicKeyFile.toString());
+        properties.setIssuer("hai-intel-auth-service");
+        properties.setAudience("hai-indexer");
+        revocation = new TokenRevocationProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        revocationRepository = new InMemoryTokenRevocationRepository(properties);
+        RevocationFeedService revocationFeed = new RevocationFeedService(new InMemoryRevocationEventLog(revocation),
+                new DefaultListableBeanFactory().getBeanProvider(RevocationEventListener.class), revocation);
+        revocationFeed.poll();
+        jwtService = new JwtService(properties, revocationRepository,
+                new UserRevocationGenerations(revocation, meterRegistry), new GlobalRevocationEpoch(),
+                new InMemoryActiveTokenIndex(), new RejectedTokenCache(properties, meterRegistry),
+                new AuthMetrics(meterRegistry, revocation), revocationFeed);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ClaimProfile.class)
+    void shouldIssueUserTokensWithConfiguredProfile(ClaimProfile profile) throws Exception {
+        properties.getClaims().setProfile(profile);
+
+        JwtToken token = jwtService.issueToken(user());
+        JsonNode claims = payload(token.getToken());
+        UserPrincipal principal = jwtService.validateToken(token.getToken()).getPrincipal();
+
+        assertEquals(Role.EMPLOYEE, principal.getRole());
+        assertEquals(profile.includesName(), claims.has("name"));
+        assertEquals(profile.includesName() ? "Alice" : null, principal.getName());
+        switch (profile) {
+            case FULL -> {
+                assertEquals(GROUPS, principal.getGroups());
+                assertFalse(claims.has("grp"));
+            }
+            case HASHED_GROUPS -> {
+                assertFalse(claims.has("groups"));
+                assertNull(principal.getGroups());
+                assertEquals(GROUPS.stream().map(ClaimProfile::groupHash).toList(), principal.getGroupHashes());
+            }
+            case NO_GROUPS, ROLE_ONLY -> {
+                assertFalse(claims.has("groups") || claims.has("grp"));
+                assertNull(principal.getGroups());
+                assertNull(principal.getGroupHashes());
+            }
+        }
+    }
+
+    @Test
+    void shouldApplyClientProfileToServiceTokensOnly() throws Exception {
+        properties.getClaims().setProfile(ClaimProfile.HASHED_GROUPS);
+        properties.getClaims().setClients(Map.of("batch-reindexer", ClaimProfile.ROLE_ONLY));
+        UserPrincipal client = UserPrincipal.builder()
+                .email("batch-reindexer").name("batch-reindexer").role(Role.INTERN).groups(List.of()).build();
+        UserPrincipal other = client.toBuilder().email("other-client").name("other-client").build();
+
+        JsonNode reindexer = payload(jwtService.issueServiceToken(client, List.of("indexer.read"), Duration.ofMinutes(5))
+                .getToken());
+        JsonNode otherClient = payload(jwtService.issueServiceToken(other, List.of("indexer.read"), Duration.ofMinutes(5))
+                .getToken());
+
+        assertFalse(reindexer.has("name") || reindexer.has("grp"));
+        assertTrue(otherClient.has("name") && otherClient.has("grp"));  // Default profile
+        assertEquals("indexer.read", reindexer.get("scope").asText());
+    }
+
+    @Test
+    void shouldReturnScopesAndIdsFromValidation() {
+        JwtToken token = jwtService.issueServiceToken(
+                UserPrincipal.builder().email("feed").name("feed").role(Role.INTERN).groups(List.of()).build(),
+                List.of("revocations.read"), Duration.ofMinutes(5));
+
+        ValidatedToken validated = jwtService.validateToken(token.getToken());
+
+        assertEquals(token.getJti(), validated.getJti());
+        assertEquals(List.of("revocations.read"), validated.getScopes());
+        assertEquals(List.of(), jwtService.validateToken(jwtService.issueToken(user()).getToken()).getScopes());
+    }
+
+    @Test
+    void shouldCheckRevocationStoreForGenerationTokensWhileFeedIsNotCurrent() throws Exception {
+        JwtToken token = jwtService.issueToken(user());
+        // Revoked on another pod: in the store, not yet in this pod's generation map
+        revocationRepository.revokeAllUserTokens("alice@haiintel.com", Instant.now().plusSeconds(1));
+
+        assertEquals(token.getJti(), jwtService.validateToken(token.getToken()).getJti());  // Feed current: map only
+
+        revocation.getFeed().setPollIntervalMs(1);  // Last poll now more than two intervals ago
+        Thread.sleep(5);
+
+        JwtService.TokenRevokedException e = assertThrows(JwtService.TokenRevokedException.class,
+                () -> jwtService.validateToken(token.getToken()));
+        assertEquals("revoked", e.getReason());
+    }
+
+    private static UserPrincipal user() {
+        return UserPrincipal.builder()
+                .email("Alice@HaiIntel.com")
+                .name("Alice")
+                .role(Role.EMPLOYEE)
+                .groups(GROUPS)
+                .build();
+    }
+
+    private static JsonNode payload(String token) throws Exception {
+        return new ObjectMapper().readTree(Base64.getUrlDecoder().decode(token.split("\\.")[1]));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,46 @@
+package com.haiintel.authservice.domain.service;
+
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RejectedTokenCache.
+ */
+class RejectedTokenCacheTest {
+
+    private final JwtProperties properties = new JwtProperties();
+
+    @Test
+    void shouldRememberFinalRejections() {
+        RejectedTokenCache cache = new RejectedTokenCache(properties, new SimpleMeterRegistry());
+
+        cache.reject("token-a", "expired");
+
+        assertEquals("expired", cache.rejectionReason("token-a"));
+        assertNull(cache.rejectionReason("token-b"));
+    }
+
+    @Test
+    void shouldNotCacheRejectionsThatMayBeTransient() {
+        RejectedTokenCache cache = new RejectedTokenCache(properties, new SimpleMeterRegistry());
+
+        cache.reject("token-a", "revoked_token");  // May come from FAIL_CLOSED during a Redis outage
+        cache.reject("token-b", "revoked");
+
+        assertNull(cache.rejectionReason("token-a"));
+        assertNull(cache.rejectionReason("token-b"));
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        properties.getRejectedTokens().setEnabled(false);
+        RejectedTokenCache cache = new RejectedTokenCache(properties, new SimpleMeterRegistry());
+
+        cache.reject("token-a", "bad_signature");
+
+        assertNull(cache.rejectionReason("token-a"));
+    }
+}
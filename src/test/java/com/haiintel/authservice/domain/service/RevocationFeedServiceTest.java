@@ -0,0 +1,172 @@
+package com.haiintel.authservice.domain.service;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.model.RevocationSnapshot;
+import com.haiintel.authservice.domain.port.RevocationEventListener;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRevocationEventLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RevocationFeedService (in-memory event log).
+ */
+class RevocationFeedServiceTest {
+
+    private TokenRevocationProperties properties;
+    private InMemoryRevocationEventLog eventLog;
+    private final List<Long> dispatched = new ArrayList<>();
+    private RevocationFeedService feed;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenRevocationProperties();
+        properties.getFeed().setBatchSize(2);
+        properties.getFeed().setRecentBufferSize(3);
+        eventLog = spy(new InMemoryRevocationEventLog(properties));
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("recorder", (RevocationEventListener) event -> dispatched.add(event.getSequence()));
+        feed = new RevocationFeedService(eventLog, beans.getBeanProvider(RevocationEventListener.class), properties);
+    }
+
+    @Test
+    void shouldReplayWholeLogOnFirstPollThenOnlyNewEvents() {
+        appendTokens(5);
+
+        feed.poll();  // Five events in batches of two
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), dispatched);
+        assertEquals(5, feed.getLastSequence());
+
+        appendTokens(1);
+        feed.poll();
+        feed.poll();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), dispatched);
+    }
+
+    @Test
+    void shouldBeCurrentOnlyWithinTwoPollIntervalsOfLastSuccessfulPoll() throws Exception {
+        properties.getFeed().setPollIntervalMs(60_000);
+        assertFalse(feed.isCurrent());
+
+        feed.poll();
+        assertTrue(feed.isCurrent());
+
+        doThrow(new IllegalStateException("down")).when(eventLog).readAfter(anyLong(), anyInt());
+        Instant lastSuccess = feed.getLastSuccessfulPoll();
+        feed.poll();
+        assertEquals(lastSuccess, feed.getLastSuccessfulPoll());
+
+        properties.getFeed().setPollIntervalMs(1);
+        Thread.sleep(5);
+        assertFalse(feed.isCurrent());
+    }
+
+    @Test
+    void shouldReportReplayedOnlyAfterFirstSuccessfulPoll() {
+        appendTokens(3);
+        doThrow(new IllegalStateException("down")).doCallRealMethod().when(eventLog).readAfter(anyLong(), anyInt());
+
+        assertFalse(feed.isReplayed());
+        feed.poll();
+        assertFalse(feed.isReplayed());
+        feed.poll();
+        assertTrue(feed.isReplayed());
+        assertEquals(3, feed.getLastSequence());
+    }
+
+    @Test
+    void shouldKeepPositionWhenLogFails() {
+        appendTokens(2);
+        feed.poll();
+        doThrow(new IllegalStateException("down")).when(eventLog).readAfter(anyLong(), anyInt());
+
+        feed.poll();
+
+        assertEquals(2, feed.getLastSequence());
+        reset(eventLog);
+        appendTokens(1);
+        feed.poll();
+        assertEquals(List.of(1L, 2L, 3L), dispatched);
+    }
+
+    @Test
+    void shouldServeRecentEventsFromBufferAndOlderOnesFromLog() {
+        appendTokens(5);
+        feed.poll();  // Buffer holds 3..5
+        clearInvocations(eventLog);
+
+        assertEquals(List.of(4L, 5L), sequences(feed.eventsAfter(3, 10)));
+        assertEquals(List.of(3L, 4L), sequences(feed.eventsAfter(2, 2)));  // Oldest buffered is 3: no gap
+        assertEquals(List.of(), feed.eventsAfter(5, 10));                  // Up to date
+        assertEquals(List.of(), feed.eventsAfter(9, 10));                  // Ahead of this pod
+        verify(eventLog, never()).readAfter(anyLong(), anyInt());
+
+        // Sequence 2 has left the buffer: falling back to the log, not skipping it
+        assertEquals(List.of(2L, 3L, 4L), sequences(feed.eventsAfter(1, 3)));
+        verify(eventLog).readAfter(1, 3);
+    }
+
+    @Test
+    void shouldReadLogBeforeFirstPoll() {
+        appendTokens(2);
+
+        assertEquals(List.of(1L, 2L), sequences(feed.eventsAfter(0, 10)));
+    }
+
+    @Test
+    void shouldFoldLogIntoSnapshot() {
+        Instant now = Instant.now();
+        eventLog.append(token("jti-live", now.plus(1, ChronoUnit.HOURS)));
+        eventLog.append(token("jti-expired", now.minusSeconds(1)));
+        eventLog.append(user(now.minusSeconds(60), 2));
+        eventLog.append(user(now.minusSeconds(120), 1));  // Older cutoff and generation do not win
+
+        RevocationSnapshot snapshot = feed.snapshot();
+
+        assertEquals(4, snapshot.getSequence());
+        assertEquals(List.of("jti-live"), List.copyOf(snapshot.getRevokedTokens().keySet()));
+        assertEquals(now.minusSeconds(60), snapshot.getRevokedUsers().get("user@haiintel.com"));
+        assertEquals(2L, snapshot.getUserGenerations().get("user@haiintel.com"));
+    }
+
+    private void appendTokens(int count) {
+        for (int i = 0; i < count; i++) {
+            eventLog.append(token("jti-" + i, Instant.now().plus(1, ChronoUnit.HOURS)));
+        }
+    }
+
+    private static RevocationEvent token(String jti, Instant expiresAt) {
+        return RevocationEvent.builder()
+                .type(RevocationEvent.Type.TOKEN_REVOKED)
+                .jti(jti)
+                .email("user@haiintel.com")
+                .expiresAt(expiresAt)
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    private static RevocationEvent user(Instant revokedBefore, long generation) {
+        return RevocationEvent.builder()
+                .type(RevocationEvent.Type.USER_TOKENS_REVOKED)
+                .email("user@haiintel.com")
+                .revokedBefore(revokedBefore)
+                .generation(generation)
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    private static List<Long> sequences(List<RevocationEvent> events) {
+        return events.stream().map(RevocationEvent::getSequence).toList();
+    }
+}
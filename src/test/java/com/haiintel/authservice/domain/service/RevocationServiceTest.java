@@ -0,0 +1,212 @@
+package com.haiintel.authservice.domain.service;
+
+import com.haiintel.authservice.domain.model.BulkRevocationProgress;
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.domain.model.RevocationPage;
+import com.haiintel.authservice.domain.model.RevocationQuery;
+import com.haiintel.authservice.domain.model.RevocationRecord;
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.TokenRevocation;
+import com.haiintel.authservice.domain.port.IdentityProvider;
+import com.haiintel.authservice.infrastructure.config.AuthorizationProperties;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import com.haiintel.authservice.infrastructure.repository.InMemoryActiveTokenIndex;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRevocationEventLog;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRevocationIndex;
+import com.haiintel.authservice.infrastructure.repository.InMemoryTokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the bulk, session and listing paths of RevocationService (in-memory store, log and indexes).
+ */
+class RevocationServiceTest {
+
+    private InMemoryTokenRevocationRepository repository;
+    private InMemoryRevocationEventLog eventLog;
+    private UserRevocationGenerations generations;
+    private GlobalRevocationEpoch epoch;
+    private IdentityProvider identityProvider;
+    private InMemoryActiveTokenIndex activeTokenIndex;
+    private RevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        TokenRevocationProperties properties = new TokenRevocationProperties();
+        properties.getBulk().setChunkSize(100);
+        properties.getBulk().setMaxEntries(1000);
+
+        AuthorizationProperties authorization = new AuthorizationProperties();
+        AuthorizationProperties.RoleMapping interns = new AuthorizationProperties.RoleMapping();
+        interns.setGroup("intern@haiintel.com");
+        interns.setRole(Role.INTERN);
+        authorization.setRoleMappings(List.of(interns));
+
+        repository = new InMemoryTokenRevocationRepository(new JwtProperties());
+        eventLog = new InMemoryRevocationEventLog(properties);
+        generations = new UserRevocationGenerations(properties, new SimpleMeterRegistry());
+        identityProvider = mock(IdentityProvider.class);
+        activeTokenIndex = new InMemoryActiveTokenIndex();
+        epoch = new GlobalRevocationEpoch();
+        service = new RevocationService(
+            repository, eventLog, generations, epoch, identityProvider, authorization, properties, activeTokenIndex,
+            new InMemoryRevocationIndex(), new JwtProperties());
+    }
+
+    @Test
+    void shouldRevokeTokensInChunksAndReportProgress() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        List<TokenRevocation> tokens = IntStream.range(0, 250)
+            .mapToObj(i -> TokenRevocation.builder().jti("jti-" + i).email("user@haiintel.com").expiresAt(expiresAt).build())
+            .toList();
+        List<BulkRevocationProgress> progress = new ArrayList<>();
+
+        BulkRevocationProgress done = service.revokeTokens(tokens, "leak", progress::add);
+
+        assertEquals(List.of(100, 200, 250, 250), progress.stream().map(BulkRevocationProgress::getProcessed).toList());
+        assertTrue(done.isDone());
+        assertEquals(250, done.getSequence());
+        assertTrue(repository.isTokenRevoked("jti-249", "user@haiintel.com"));
+        assertEquals(250, eventLog.readAfter(0, 1000).size());
+    }
+
+    @Test
+    void shouldRevokeRoleMembersOnce() {
+        when(identityProvider.getGroupMembers("intern@haiintel.com"))
+            .thenReturn(List.of("a@haiintel.com", "b@haiintel.com", "a@haiintel.com"));
+        Instant now = Instant.now();
+
+        BulkRevocationProgress done = service.revokeAllUserTokens(service.roleMembers(Role.INTERN), now, "offboarding", progress -> { });
+
+        assertEquals(2, done.getProcessed());
+        assertTrue(repository.areUserTokensRevoked("a@haiintel.com", now.minusSeconds(60)));
+        assertTrue(generations.isRevoked("b@haiintel.com", 0));
+        List<RevocationEvent> events = eventLog.readAfter(0, 10);
+        assertEquals(2, events.size());
+        assertEquals(1L, events.get(0).getGeneration());
+    }
+
+    @Test
+    void shouldRejectOversizedBulkAndUnmappedRole() {
+        assertThrows(IllegalArgumentException.class, () -> service.checkBulkSize(1001));
+        assertThrows(IllegalArgumentException.class, () -> service.roleMembers(Role.ADMIN));
+    }
+
+    @Test
+    void shouldRevokeSingleSessionFromActiveTokenIndex() {
+        String email = "user@haiintel.com";
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        activeTokenIndex.add(email, "jti-1", expiresAt);
+        activeTokenIndex.add(email, "jti-2", expiresAt.plusSeconds(60));
+        activeTokenIndex.add(email, "jti-old", Instant.now().minusSeconds(1));
+
+        assertEquals(2, service.activeTokenCount(email));
+        assertTrue(service.revokeActiveToken(email, "jti-1", null, null).isPresent());
+        assertTrue(service.revokeActiveToken(email, "jti-1", null, null).isEmpty());  // Already revoked
+
+        assertTrue(repository.isTokenRevoked("jti-1", email));
+        assertFalse(repository.isTokenRevoked("jti-2", email));
+        assertEquals(List.of("jti-2"), service.activeTokens(email).stream().map(token -> token.getJti()).toList());
+
+        service.revokeAllUserTokens(email, Instant.now(), null);
+        assertEquals(0, service.activeTokenCount(email));
+    }
+
+    @Test
+    void shouldRevokeTokensMissingFromActiveTokenIndex() {
+        // Issued before the index existed, failed to index, or lost with a per-process index on restart
+        Instant requested = Instant.now().plus(30, ChronoUnit.MINUTES);
+
+        RevocationEvent withExpiry = service.revokeActiveToken("user@haiintel.com", "jti-unindexed", requested, "leak")
+            .orElseThrow();
+        RevocationEvent withoutExpiry = service.revokeActiveToken("user@haiintel.com", "jti-other", null, "leak")
+            .orElseThrow();
+
+        assertEquals(requested, withExpiry.getExpiresAt());
+        assertTrue(withoutExpiry.getExpiresAt().isAfter(Instant.now().plus(59, ChronoUnit.MINUTES)));
+        assertTrue(repository.isTokenRevoked("jti-unindexed", "user@haiintel.com"));
+        assertTrue(repository.isTokenRevoked("jti-other", "user@haiintel.com"));
+    }
+
+    @Test
+    void shouldNormalizeEmailsAndReportUnindexedPairsInBulk() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        activeTokenIndex.add("alice@haiintel.com", "jti-1", expiresAt);
+        activeTokenIndex.add("alice@haiintel.com", "jti-2", expiresAt);
+
+        assertTrue(service.revokeActiveToken(" Alice@HaiIntel.com", "jti-1", null, null).isPresent());
+        assertTrue(repository.isTokenRevoked("jti-1", "alice@haiintel.com"));
+        assertTrue(service.revokeActiveToken("ALICE@haiintel.com", "jti-1", null, null).isEmpty());
+
+        List<BulkRevocationProgress> progress = new ArrayList<>();
+        BulkRevocationProgress done = service.revokeTokens(List.of(
+            TokenRevocation.builder().jti("jti-2").email("ALICE@haiintel.com").build(),
+            TokenRevocation.builder().jti("jti-1").email("alice@haiintel.com").build(),    // already revoked
+            TokenRevocation.builder().jti("jti-3").email("alice@haiintel.com").build()),   // not indexed
+            "leak", progress::add);
+
+        assertEquals(3, done.getProcessed());
+        BulkRevocationProgress chunk = progress.get(0);
+        assertEquals(List.of("jti-1"), chunk.getAlreadyRevoked().stream().map(TokenRevocation::getJti).toList());
+        assertEquals(List.of("jti-3"), chunk.getUnknown().stream().map(TokenRevocation::getJti).toList());
+        assertTrue(repository.isTokenRevoked("jti-2", "alice@haiintel.com"));
+        assertTrue(repository.isTokenRevoked("jti-3", "alice@haiintel.com"));
+        List<RevocationEvent> events = eventLog.readAfter(1, 10);
+        assertEquals(List.of("jti-2", "jti-3"), events.stream().map(RevocationEvent::getJti).toList());
+        assertEquals(expiresAt.toEpochMilli(), events.get(0).getExpiresAt().toEpochMilli());  // From the index
+
+        service.revokeAllUserTokens("Bob@HaiIntel.com", Instant.now(), null);
+        assertTrue(repository.areUserTokensRevoked("bob@haiintel.com", Instant.now().minusSeconds(60)));
+    }
+
+    @Test
+    void shouldPageActiveRevocationsWithFilters() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < 5; i++) {
+            service.revokeToken("jti-" + i, "user" + (i % 2) + "@haiintel.com", expiresAt, i < 3 ? "Leaked in CI logs" : "lost laptop");
+        }
+        service.revokeToken("jti-expired", "user0@haiintel.com", Instant.now().minusSeconds(1), "leaked");
+        service.revokeAllUserTokens("user0@haiintel.com", Instant.now(), "offboarding");
+
+        RevocationPage first = service.activeRevocations(RevocationQuery.builder().build(), 0, 4);
+        assertEquals(List.of("jti-0", "jti-1", "jti-2", "jti-3"), first.getEntries().stream().map(RevocationRecord::getJti).toList());
+        RevocationPage second = service.activeRevocations(RevocationQuery.builder().build(), first.getNextCursor(), 4);
+        assertEquals(2, second.getEntries().size());
+        assertEquals(RevocationRecord.Type.USER, second.getEntries().get(1).getType());
+        assertNull(second.getNextCursor());
+
+        RevocationQuery leaked = RevocationQuery.builder().email("user0@haiintel.com").reason("LEAK").build();
+        assertEquals(List.of("jti-0", "jti-2"),
+            service.activeRevocations(leaked, 0, 10).getEntries().stream().map(RevocationRecord::getJti).toList());
+        assertTrue(service.activeRevocations(RevocationQuery.builder().to(Instant.now().minusSeconds(60)).build(), 0, 10)
+            .getEntries().isEmpty());
+    }
+
+    @Test
+    void shouldRevokeEveryTokenIssuedBeforeGlobalEpoch() {
+        Instant issuedAt = Instant.now();
+
+        RevocationEvent event = service.revokeAllTokens("signing key leaked");
+
+        assertEquals(RevocationEvent.Type.ALL_TOKENS_REVOKED, event.getType());
+        assertTrue(epoch.isRevoked(issuedAt));
+        assertFalse(epoch.isRevoked(event.getRevokedBefore()));
+
+        GlobalRevocationEpoch otherPod = new GlobalRevocationEpoch();
+        eventLog.readAfter(0, 10).forEach(otherPod::onRevocationEvent);
+        assertTrue(otherPod.isRevoked(issuedAt));
+        assertEquals(RevocationRecord.Type.ALL,
+            service.activeRevocations(RevocationQuery.builder().build(), 0, 10).getEntries().get(0).getType());
+    }
+}
@@ -0,0 +1,128 @@
+package com.haiintel.authservice.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TemplateJwtEncoder: tokens must verify with jjwt and carry the same
+ * header and claims as the jjwt builder produces.
+ */
+class TemplateJwtEncoderTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static KeyPair keys;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keys = generator.generateKeyPair();
+    }
+
+    @Test
+    void shouldProduceSameTokenAsJjwtBuilder() {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Object> claims = claims("Alice Example");
+
+        String token = new TemplateJwtEncoder(keys.getPrivate(), "kid-1")
+                .encode("alice@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer", now, now + 3600, "jti-1");
+
+        // RS256 (PKCS#1 v1.5) is deterministic: same header and payload bytes, same token
+        assertEquals(reference("alice@haiintel.com", claims, now), token);
+    }
+
+    @Test
+    void shouldEscapeClaimsLikeJson() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        String name = "Zoë \"Z\" O'Brien\\\t\u0001😀";
+        Map<String, Object> claims = claims(name);
+
+        String token = new TemplateJwtEncoder(keys.getPrivate(), "kid-1")
+                .encode("zoe@haiintel.com", claims, "hai-intel-auth-service", "hai-indexer", now, now + 3600, "jti-1");
+
+        // Jackson escapes non-BMP characters, this encoder writes them as UTF-8: same JSON value
+        assertEquals(part(reference("zoe@haiintel.com", claims, now), 1), part(token, 1));
+        Claims parsed = Jwts.parser()
+                .verifyWith(keys.getPublic())
+                .requireIssuer("hai-intel-auth-service")
+                .requireAudience("hai-indexer")
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        assertEquals(name, parsed.get("name", String.class));
+        assertEquals("jti-1", parsed.getId());
+    }
+
+    @Test
+    void shouldReuseBuffersAcrossTokensOfDifferentSizes() {
+        TemplateJwtEncoder encoder = new TemplateJwtEncoder(keys.getPrivate(), "kid-1");
+        var parser = Jwts.parser().verifyWith(keys.getPublic()).build();
+        for (int groups : new int[] {200, 0, 3}) {
+            Map<String, Object> claims = new LinkedHashMap<>();
+            claims.put("groups", IntStream.range(0, groups).mapToObj(i -> "g" + i + "@haiintel.com").toList());
+            claims.put("name", null);
+            long now = Instant.now().getEpochSecond();
+
+            Claims parsed = parser.parseSignedClaims(encoder.encode("a@haiintel.com", claims, "iss", "aud", now, now + 60, "j"))
+                    .getPayload();
+            assertEquals(groups, parsed.get("groups", List.class).size());
+            assertFalse(parsed.containsKey("name"));
+        }
+    }
+
+    @Test
+    void shouldNotVerifyWithAnotherKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String token = new TemplateJwtEncoder(generator.generateKeyPair().getPrivate(), "kid-2")
+                .encode("a@haiintel.com", Map.of(), "iss", "aud", 0, Instant.now().getEpochSecond() + 60, "j");
+
+        assertThrows(SignatureException.class,
+                () -> Jwts.parser().verifyWith(keys.getPublic()).build().parseSignedClaims(token));
+    }
+
+    private static Map<String, Object> claims(String name) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("role", "ADMIN");
+        claims.put("gen", 7L);
+        claims.put("name", name);
+        claims.put("groups", List.of("a@haiintel.com", "b@haiintel.com"));
+        claims.put("scope", "indexer.read");
+        return claims;
+    }
+
+    private static String reference(String subject, Map<String, Object> claims, long now) {
+        return Jwts.builder()
+                .header().keyId("kid-1").and()
+                .subject(subject)
+                .claims(claims)
+                .issuer("hai-intel-auth-service")
+                .audience().add("hai-indexer").and()
+                .issuedAt(Date.from(Instant.ofEpochSecond(now)))
+                .expiration(Date.from(Instant.ofEpochSecond(now + 3600)))
+                .id("jti-1")
+                .signWith(keys.getPrivate())
+                .compact();
+    }
+
+    private static Map<?, ?> part(String token, int index) throws Exception {
+        return JSON.readValue(Base64.getUrlDecoder().decode(token.split("\\.")[index]), Map.class);
+    }
+}
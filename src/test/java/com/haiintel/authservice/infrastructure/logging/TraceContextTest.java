@@ -0,0 +1,49 @@
+package com.haiintel.authservice.infrastructure.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TraceContext (traceparent / X-Request-ID handling).
+ */
+class TraceContextTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void shouldContinueIncomingTrace() {
+        TraceContext context = TraceContext.from(TRACEPARENT, "req-42");
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.getTraceId());
+        assertEquals("00f067aa0ba902b7", context.getParentSpanId());
+        assertEquals("req-42", context.getRequestId());
+        assertNotEquals(context.getParentSpanId(), context.getSpanId());
+        assertTrue(context.traceparent().matches("00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01"));
+    }
+
+    @Test
+    void shouldStartNewTraceForMissingOrInvalidHeaders() {
+        TraceContext context = TraceContext.from(null, null);
+
+        assertTrue(context.getTraceId().matches("[0-9a-f]{32}"));
+        assertNull(context.getParentSpanId());
+        assertEquals(context.getTraceId(), context.getRequestId());
+        assertTrue(TraceContext.isValidTraceparent(context.traceparent()));
+
+        TraceContext invalid = TraceContext.from(
+                "00-00000000000000000000000000000000-00f067aa0ba902b7-01", "bad\nid");
+        assertNotEquals("00000000000000000000000000000000", invalid.getTraceId());
+        assertEquals(invalid.getTraceId(), invalid.getRequestId());
+    }
+
+    @Test
+    void shouldValidateTraceparentPerSpec() {
+        assertTrue(TraceContext.isValidTraceparent(TRACEPARENT));
+        assertTrue(TraceContext.isValidTraceparent("01" + TRACEPARENT.substring(2) + "-future"));
+        assertFalse(TraceContext.isValidTraceparent(TRACEPARENT + "-extra"));  // version 00 is exact
+        assertFalse(TraceContext.isValidTraceparent("ff" + TRACEPARENT.substring(2)));
+        assertFalse(TraceContext.isValidTraceparent(TRACEPARENT.toUpperCase()));
+        assertFalse(TraceContext.isValidTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+    }
+}
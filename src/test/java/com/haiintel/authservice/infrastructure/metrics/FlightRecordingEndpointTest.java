@@ -0,0 +1,77 @@
+package com.haiintel.authservice.infrastructure.metrics;
+
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightRecordingEndpoint (real JFR recordings; access rules in
+ * FlightRecordingSecurityTest).
+ */
+class FlightRecordingEndpointTest {
+
+    private final FlightRecordingEndpoint endpoint = new FlightRecordingEndpoint();
+
+    @AfterEach
+    void closeRecording() {
+        endpoint.close();
+    }
+
+    @Test
+    void shouldStartReportStopAndDownloadRecording() throws Exception {
+        assertEquals("NONE", endpoint.status().get("state"));
+
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(30, "default");
+        assertEquals(WebEndpointResponse.STATUS_OK, started.getStatus());
+        long id = (Long) started.getBody().get("id");
+        assertEquals(RecordingState.RUNNING, endpoint.status().get("state"));
+
+        assertEquals(RecordingState.STOPPED, endpoint.stop().get("state"));
+
+        WebEndpointResponse<Resource> download = endpoint.download(id);
+        assertEquals(WebEndpointResponse.STATUS_OK, download.getStatus());
+        try (InputStream stream = download.getBody().getInputStream()) {
+            assertArrayEquals("FLR\0".getBytes(StandardCharsets.US_ASCII), stream.readNBytes(4));  // JFR chunk magic
+        }
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.download(id + 1).getStatus());
+    }
+
+    @Test
+    void shouldRejectSecondStartWhileRecording() {
+        long id = (Long) endpoint.start(30, "default").getBody().get("id");
+
+        WebEndpointResponse<Map<String, Object>> second = endpoint.start(30, "profile");
+
+        assertEquals(409, second.getStatus());
+        assertEquals(id, second.getBody().get("id"));  // Body describes the recording already running
+        assertEquals(RecordingState.RUNNING, second.getBody().get("state"));
+    }
+
+    @Test
+    void shouldRejectUnknownSettings() {
+        WebEndpointResponse<Map<String, Object>> response = endpoint.start(30, "everything");
+
+        assertEquals(WebEndpointResponse.STATUS_BAD_REQUEST, response.getStatus());
+        assertEquals("settings must be 'default' or 'profile'", response.getBody().get("error"));
+        assertEquals("NONE", endpoint.status().get("state"));
+    }
+
+    @Test
+    void shouldCapDurationAtTenMinutes() {
+        endpoint.start(3600, "default");
+        assertEquals(Duration.ofMinutes(10), endpoint.status().get("duration"));
+        endpoint.stop();
+
+        endpoint.start(null, null);
+        assertEquals(Duration.ofSeconds(60), endpoint.status().get("duration"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HierarchicalTimingWheel, driven by a synthetic clock.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long START = 1_700_000_000_000L;
+
+    private record Item(String name, long deadline) {
+    }
+
+    @Test
+    void shouldExpireItemsAtTheirDeadlineAcrossLevels() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(TICK, START, Item::deadline);
+        Item soon = new Item("soon", START + 5 * TICK);
+        Item level1 = new Item("level1", START + 300 * TICK);
+        Item level2 = new Item("level2", START + 10_000 * TICK);
+        wheel.schedule(soon);
+        wheel.schedule(level1);
+        wheel.schedule(level2);
+
+        List<Item> expired = new ArrayList<>();
+        wheel.advance(START + 4 * TICK, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(START + 5 * TICK, expired::add);
+        assertEquals(List.of(soon), expired);
+
+        wheel.advance(START + 299 * TICK, expired::add);
+        assertEquals(1, expired.size());
+        wheel.advance(START + 300 * TICK, expired::add);
+        assertEquals(List.of(soon, level1), expired);
+
+        wheel.advance(START + 10_000 * TICK, expired::add);
+        assertEquals(List.of(soon, level1, level2), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldNeverExpireEarlyOrMoreThanOneTickLate() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(TICK, START, Item::deadline);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            wheel.schedule(new Item("item-" + i, START + random.nextLong(1, 400_000 * TICK)));
+        }
+
+        long[] now = {START};
+        int[] count = {0};
+        while (wheel.size() > 0) {
+            now[0] += random.nextLong(1, 5_000 * TICK);
+            wheel.advance(now[0], item -> {
+                assertTrue(item.deadline() <= now[0], "expired early: " + item);
+                count[0]++;
+            });
+        }
+        assertEquals(10_000, count[0]);
+    }
+
+    @Test
+    void shouldReturnAlreadyDueItemsOnNextAdvance() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(TICK, START, Item::deadline);
+        Item past = new Item("past", START - TICK);
+        wheel.schedule(past);
+
+        List<Item> expired = new ArrayList<>();
+        wheel.advance(START, expired::add);
+        assertEquals(List.of(past), expired);
+    }
+}
@@ -0,0 +1,70 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryTokenRevocationRepository (same contract as the Redis tests, no container).
+ */
+class InMemoryTokenRevocationRepositoryTest {
+
+    private InMemoryTokenRevocationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTokenRevocationRepository(new JwtProperties());
+    }
+
+    @Test
+    void shouldRevokeToken() {
+        repository.revokeToken("test-jti-123", "user@haiintel.com", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        assertTrue(repository.isTokenRevoked("test-jti-123", "user@haiintel.com"));
+        assertFalse(repository.isTokenRevoked("non-existent-jti", "user@haiintel.com"));
+    }
+
+    @Test
+    void shouldNotRevokeExpiredToken() {
+        repository.revokeToken("expired-jti", "user@haiintel.com", Instant.now().minus(1, ChronoUnit.HOURS));
+
+        assertFalse(repository.isTokenRevoked("expired-jti", "user@haiintel.com"));
+    }
+
+    @Test
+    void shouldRevokeAllUserTokens() {
+        Instant revokedBefore = Instant.now();
+        repository.revokeAllUserTokens("user@haiintel.com", revokedBefore);
+
+        assertTrue(repository.areUserTokensRevoked("user@haiintel.com", revokedBefore.minusSeconds(60)));
+        assertFalse(repository.areUserTokensRevoked("user@haiintel.com", revokedBefore.plusSeconds(60)));
+        assertFalse(repository.areUserTokensRevoked("other@haiintel.com", revokedBefore.minusSeconds(60)));
+    }
+
+    @Test
+    void shouldAdvanceUserGeneration() {
+        assertEquals(0, repository.getUserGeneration("user@haiintel.com"));
+        assertEquals(1, repository.incrementUserGeneration("user@haiintel.com"));
+        assertEquals(2, repository.incrementUserGeneration("user@haiintel.com"));
+        assertEquals(2, repository.getUserGeneration("user@haiintel.com"));
+    }
+
+    @Test
+    void shouldDropEntriesOnceExpired() throws InterruptedException {
+        repository.revokeToken("short-lived", "user@haiintel.com", Instant.now().plusMillis(500));
+        repository.revokeToken("long-lived", "user@haiintel.com", Instant.now().plus(1, ChronoUnit.HOURS));
+        assertEquals(2, repository.revokedTokenCount());
+
+        Thread.sleep(2100);
+        repository.expireEntries();
+
+        assertFalse(repository.isTokenRevoked("short-lived", "user@haiintel.com"));
+        assertTrue(repository.isTokenRevoked("long-lived", "user@haiintel.com"));
+        assertEquals(1, repository.revokedTokenCount());
+    }
+}
@@ -0,0 +1,162 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.TokenRevocation;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedFileTokenRevocationRepository (no Redis needed).
+ */
+class MappedFileTokenRevocationRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private TokenRevocationProperties properties;
+    private MappedFileTokenRevocationRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new TokenRevocationProperties();
+        properties.getFile().setPath(dir.resolve("revocations.log").toString());
+        properties.getFile().setInitialCapacity(16);
+        repository = reopen();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void shouldRevokeTokenAndUser() {
+        Instant now = Instant.now();
+
+        repository.revokeToken("jti-1", "user@haiintel.com", now.plus(1, ChronoUnit.HOURS));
+        repository.revokeAllUserTokens("user@haiintel.com", now);
+
+        assertTrue(repository.isTokenRevoked("jti-1", "user@haiintel.com"));
+        assertFalse(repository.isTokenRevoked("jti-2", "user@haiintel.com"));
+        assertTrue(repository.areUserTokensRevoked("user@haiintel.com", now.minusSeconds(60)));
+        assertFalse(repository.areUserTokensRevoked("user@haiintel.com", now.plusSeconds(60)));
+        assertFalse(repository.areUserTokensRevoked("other@haiintel.com", now.minusSeconds(60)));
+    }
+
+    @Test
+    void shouldSurviveRestart() throws IOException {
+        repository.revokeToken("jti-1", "user@haiintel.com", Instant.now().plus(1, ChronoUnit.HOURS));
+        repository.incrementUserGeneration("user@haiintel.com");
+        repository.incrementUserGeneration("user@haiintel.com");
+
+        repository.close();
+        repository = reopen();
+
+        assertTrue(repository.isTokenRevoked("jti-1", "user@haiintel.com"));
+        assertEquals(2, repository.getUserGeneration("user@haiintel.com"));
+        assertEquals(0, repository.getUserGeneration("other@haiintel.com"));
+    }
+
+    @Test
+    void shouldRevokeBatchAndSkipExpired() throws IOException {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        List<TokenRevocation> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tokens.add(TokenRevocation.builder().jti("jti-" + i).email("user@haiintel.com").expiresAt(expiresAt).build());
+        }
+        tokens.add(TokenRevocation.builder().jti("jti-expired").email("user@haiintel.com")
+            .expiresAt(Instant.now().minusSeconds(1)).build());
+
+        repository.revokeTokens(tokens);
+        repository.close();
+        repository = reopen();
+
+        assertEquals(100, repository.recordCount());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(repository.isTokenRevoked("jti-" + i, "user@haiintel.com"));
+        }
+        assertFalse(repository.isTokenRevoked("jti-expired", "user@haiintel.com"));
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() throws IOException {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < 1000; i++) {
+            repository.revokeToken("jti-" + i, "user@haiintel.com", expiresAt);
+        }
+
+        repository.close();
+        repository = reopen();
+
+        assertEquals(1000, repository.recordCount());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repository.isTokenRevoked("jti-" + i, "user@haiintel.com"));
+        }
+        assertFalse(repository.isTokenRevoked("jti-1000", "user@haiintel.com"));
+    }
+
+    @Test
+    void shouldDiscardTornRecordOnRecovery() throws IOException {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        repository.revokeToken("jti-1", "user@haiintel.com", expiresAt);
+        repository.revokeToken("jti-2", "user@haiintel.com", expiresAt);
+        repository.close();
+
+        // Corrupt the second record's payload, as a crash mid-write would
+        try (RandomAccessFile file = new RandomAccessFile(properties.getFile().getPath(), "rw")) {
+            file.seek(MappedFileTokenRevocationRepository.HEADER_BYTES + MappedFileTokenRevocationRepository.RECORD_BYTES + 12);
+            file.writeInt(0xDEADBEEF);
+        }
+
+        repository = reopen();
+        assertTrue(repository.isTokenRevoked("jti-1", "user@haiintel.com"));
+        assertFalse(repository.isTokenRevoked("jti-2", "user@haiintel.com"));
+        assertEquals(1, repository.recordCount());
+
+        // The torn slot is reused by the next append
+        repository.revokeToken("jti-3", "user@haiintel.com", expiresAt);
+        repository.close();
+        repository = reopen();
+        assertTrue(repository.isTokenRevoked("jti-3", "user@haiintel.com"));
+        assertEquals(2, repository.recordCount());
+    }
+
+    @Test
+    void shouldCompactExpiredEntries() throws Exception {
+        repository.revokeToken("short-lived", "user@haiintel.com", Instant.now().plusMillis(200));
+        repository.revokeToken("long-lived", "user@haiintel.com", Instant.now().plus(1, ChronoUnit.HOURS));
+        repository.incrementUserGeneration("user@haiintel.com");
+        Thread.sleep(300);
+
+        repository.compact();
+
+        assertEquals(2, repository.recordCount());
+        assertFalse(repository.isTokenRevoked("short-lived", "user@haiintel.com"));
+        assertTrue(repository.isTokenRevoked("long-lived", "user@haiintel.com"));
+
+        repository.close();
+        repository = reopen();
+        assertEquals(2, repository.recordCount());
+        assertTrue(repository.isTokenRevoked("long-lived", "user@haiintel.com"));
+        assertEquals(1, repository.getUserGeneration("user@haiintel.com"));
+    }
+
+    private MappedFileTokenRevocationRepository reopen() throws IOException {
+        MappedFileTokenRevocationRepository reopened = new MappedFileTokenRevocationRepository(properties, new JwtProperties());
+        reopened.open();
+        return reopened;
+    }
+}
@@ -0,0 +1,49 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Key layout of RedisTokenRevocationRepository and RedisActiveTokenIndex: a user's keys must share one
+ * cluster slot, different users must spread across slots. RedisRevocationIndex shards must spread too.
+ */
+class RedisKeyLayoutTest {
+
+    @Test
+    void shouldPlaceUserKeysInOneSlot() {
+        String email = "test@haiintel.com";
+        int slot = SlotHash.getSlot(RedisTokenRevocationRepository.userKey(email));
+
+        assertEquals(slot, SlotHash.getSlot(RedisTokenRevocationRepository.tokenKey(email, "jti-1")));
+        assertEquals(slot, SlotHash.getSlot(RedisTokenRevocationRepository.tokenKey(email, "jti-2")));
+        assertEquals(slot, SlotHash.getSlot(RedisTokenRevocationRepository.generationKey(email)));
+        assertEquals(slot, SlotHash.getSlot(RedisActiveTokenIndex.activeKey(email)));
+    }
+
+    @Test
+    void shouldSpreadUsersAcrossSlots() {
+        Set<Integer> slots = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            slots.add(SlotHash.getSlot(RedisTokenRevocationRepository.userKey("user" + i + "@haiintel.com")));
+        }
+
+        assertTrue(slots.size() > 900, "slots used: " + slots.size());
+    }
+
+    @Test
+    void shouldSpreadIndexShardsAcrossSlots() {
+        Set<Integer> slots = new HashSet<>();
+        for (int shard = 0; shard < RedisRevocationIndex.SHARDS; shard++) {
+            int slot = SlotHash.getSlot(RedisRevocationIndex.entriesKey("revoked:", shard));
+            assertEquals(slot, SlotHash.getSlot(RedisRevocationIndex.expiryKey("revoked:", shard)));
+            slots.add(slot);
+        }
+
+        assertEquals(RedisRevocationIndex.SHARDS, slots.size());
+    }
+}
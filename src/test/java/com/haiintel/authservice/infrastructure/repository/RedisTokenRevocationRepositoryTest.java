@@ -1,5 +1,6 @@
 package com.haiintel.authservice.infrastructure.repository;
 
+import com.haiintel.authservice.domain.model.TokenRevocation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +13,10 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,6 +46,9 @@ class RedisTokenRevocationRepositoryTest {
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
     
+    @Autowired
+    private RedisTrackingCache trackingCache;
+    
     @BeforeEach
     void setUp() {
         // Clear Redis before each test
@@ -54,9 +60,9 @@ class RedisTokenRevocationRepositoryTest {
         String jti = "test-jti-123";
         Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
         
-        repository.revokeToken(jti, expiresAt);
+        repository.revokeToken(jti, "test@haiintel.com", expiresAt);
         
-        assertTrue(repository.isTokenRevoked(jti));
+        assertTrue(repository.isTokenRevoked(jti, "test@haiintel.com"));
     }
     
     @Test
@@ -64,9 +70,9 @@ class RedisTokenRevocationRepositoryTest {
         String jti = "expired-jti-456";
         Instant expiresAt = Instant.now().minus(1, ChronoUnit.HOURS);
         
-        repository.revokeToken(jti, expiresAt);
+        repository.revokeToken(jti, "test@haiintel.com", expiresAt);
         
-        assertFalse(repository.isTokenRevoked(jti));
+        assertFalse(repository.isTokenRevoked(jti, "test@haiintel.com"));
     }
     
     @Test
@@ -82,11 +88,26 @@ class RedisTokenRevocationRepositoryTest {
         assertFalse(repository.areUserTokensRevoked(email, after));
     }
     
+    @Test
+    void shouldNeverLowerUserCutoff() {
+        String email = "test@haiintel.com";
+        Instant newer = Instant.now();
+        Instant older = newer.minus(10, ChronoUnit.MINUTES);
+        
+        repository.revokeAllUserTokens(email, newer);
+        repository.revokeAllUserTokens(email, older);  // Late replay of an earlier revocation
+        repository.revokeAllUserTokens(List.of(email), older);
+        
+        assertTrue(repository.areUserTokensRevoked(email, newer.minusSeconds(60)));
+        assertFalse(repository.areUserTokensRevoked(email, newer.plusSeconds(60)));
+        assertTrue(redisTemplate.getExpire(RedisTokenRevocationRepository.userKey(email)) > 0);
+    }
+    
     @Test
     void shouldReturnFalseForNonRevokedToken() {
         String jti = "non-revoked-jti";
         
-        assertFalse(repository.isTokenRevoked(jti));
+        assertFalse(repository.isTokenRevoked(jti, "test@haiintel.com"));
     }
     
     @Test
@@ -96,5 +117,93 @@ class RedisTokenRevocationRepositoryTest {
         
         assertFalse(repository.areUserTokensRevoked(email, issuedAt));
     }
+    
+    @Test
+    void shouldRevokeTokensInBatch() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        
+        repository.revokeTokens(List.of(
+            TokenRevocation.builder().jti("batch-1").email("a@haiintel.com").expiresAt(expiresAt).build(),
+            TokenRevocation.builder().jti("batch-2").email("b@haiintel.com").expiresAt(expiresAt).build(),
+            TokenRevocation.builder().jti("batch-expired").email("a@haiintel.com").expiresAt(Instant.now().minusSeconds(1)).build()));
+        
+        assertTrue(repository.isTokenRevoked("batch-1", "a@haiintel.com"));
+        assertTrue(repository.isTokenRevoked("batch-2", "b@haiintel.com"));
+        assertFalse(repository.isTokenRevoked("batch-expired", "a@haiintel.com"));
+    }
+    
+    @Test
+    void shouldCheckTokenAndUserRevocationTogether() {
+        String email = "combined@haiintel.com";
+        Instant now = Instant.now();
+        
+        assertFalse(repository.isRevoked("jti-1", email, now));
+        
+        repository.revokeToken("jti-1", email, now.plus(1, ChronoUnit.HOURS));
+        assertTrue(repository.isRevoked("jti-1", email, now));
+        
+        repository.revokeAllUserTokens(email, now);
+        assertTrue(repository.isRevoked("jti-2", email, now.minusSeconds(60)));
+        assertFalse(repository.isRevoked("jti-2", email, now.plusSeconds(60)));
+    }
+    
+    @Test
+    void shouldKeepHonoringFlatLayoutTokenKeysAfterMigration() {
+        redisTemplate.opsForValue().set("revoked:token:legacy-jti", "1", Duration.ofMinutes(10));
+        redisTemplate.opsForValue().set("revoked:gen:legacy@haiintel.com", "3");
+        
+        new RedisRevocationKeyMigration(redisTemplate, repository).migrate();
+        
+        assertTrue(repository.isTokenRevoked("legacy-jti", "legacy@haiintel.com"));
+        assertTrue(repository.isRevoked("legacy-jti", "legacy@haiintel.com", Instant.now()));
+        assertEquals(3, repository.getUserGeneration("legacy@haiintel.com"));
+    }
+    
+    @Test
+    void shouldFailStartupWhenMigrationFails() {
+        redisTemplate.opsForValue().set("revoked:gen:broken@haiintel.com", "not-a-number");
+        
+        assertThrows(IllegalStateException.class, () -> new RedisRevocationKeyMigration(redisTemplate, repository).migrate());
+        assertNull(redisTemplate.opsForValue().get("revoked:{meta}:layout"));
+    }
+    
+    @Test
+    void shouldAdvanceUserGeneration() {
+        String email = "gen@haiintel.com";
+        
+        assertEquals(0, repository.getUserGeneration(email));
+        assertEquals(1, repository.incrementUserGeneration(email));
+        assertEquals(2, repository.incrementUserGeneration(email));
+        assertEquals(2, repository.getUserGeneration(email));
+    }
+    
+    @Test
+    void shouldSeeRevocationAfterCachedNegativeRead() {
+        String email = "cached@haiintel.com";
+        Instant now = Instant.now();
+        
+        assertFalse(repository.areUserTokensRevoked(email, now.minusSeconds(60)));
+        assertFalse(repository.areUserTokensRevoked(email, now.minusSeconds(60)));  // served from cache
+        
+        repository.revokeAllUserTokens(email, now);
+        
+        assertTrue(repository.areUserTokensRevoked(email, now.minusSeconds(60)));
+    }
+    
+    @Test
+    void shouldEvictCachedEntryOnServerInvalidation() throws InterruptedException {
+        String email = "pushed@haiintel.com";
+        Instant now = Instant.now();
+        assertFalse(repository.areUserTokensRevoked(email, now.minusSeconds(60)));
+        
+        // Write through another connection, as another pod would
+        redisTemplate.opsForValue().set(RedisTokenRevocationRepository.userKey(email), String.valueOf(now.getEpochSecond()));
+        
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!repository.areUserTokensRevoked(email, now.minusSeconds(60)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(repository.areUserTokensRevoked(email, now.minusSeconds(60)));
+        assertNull(trackingCache.get(RedisTokenRevocationRepository.userKey("never-written@haiintel.com")));
+    }
 }
-
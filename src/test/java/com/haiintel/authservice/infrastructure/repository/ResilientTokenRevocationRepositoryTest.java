@@ -0,0 +1,140 @@
+package com.haiintel.authservice.infrastructure.repository;
+
+import com.haiintel.authservice.domain.model.RevocationEvent;
+import com.haiintel.authservice.infrastructure.config.JwtProperties;
+import com.haiintel.authservice.infrastructure.config.TokenRevocationProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResilientTokenRevocationRepository (Redis mocked out).
+ */
+class ResilientTokenRevocationRepositoryTest {
+
+    private static final String EMAIL = "test@haiintel.com";
+
+    private RedisTokenRevocationRepository redis;
+    private TokenRevocationProperties properties;
+    private ResilientTokenRevocationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(RedisTokenRevocationRepository.class);
+        properties = new TokenRevocationProperties();
+        repository = newRepository();
+    }
+
+    @Test
+    void shouldServeLocalDenyListWhileRedisIsDown() {
+        RedisConnectionFailureException down = new RedisConnectionFailureException("down");
+        doThrow(down).when(redis).revokeToken(anyString(), anyString(), any());
+        when(redis.isTokenRevoked(anyString(), anyString())).thenThrow(down);
+
+        repository.revokeToken("jti-1", EMAIL, Instant.now().plus(1, ChronoUnit.HOURS));
+
+        assertTrue(repository.isTokenRevoked("jti-1", EMAIL));
+        assertFalse(repository.isTokenRevoked("jti-2", EMAIL));  // fail-open
+        assertEquals(1, repository.pendingWrites());
+    }
+
+    @Test
+    void shouldGiveUpOnStalledRedisAfterTimeLimit() {
+        when(redis.isRevoked(anyString(), anyString(), any())).thenAnswer(call -> {
+            Thread.sleep(2000);  // Stalled, up to the global command timeout
+            return true;
+        });
+
+        long start = System.nanoTime();
+        assertFalse(repository.isRevoked("jti-1", EMAIL, Instant.now()));  // fail-open after 250ms
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+    }
+
+    @Test
+    void shouldRejectUnknownTokensWhenFailClosed() {
+        properties.getResilience().setFailurePolicy(TokenRevocationProperties.FailurePolicy.FAIL_CLOSED);
+        repository = newRepository();
+        when(redis.isRevoked(anyString(), anyString(), any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(repository.isRevoked("jti-2", EMAIL, Instant.now()));
+    }
+
+    @Test
+    void shouldReplayQueuedWritesInOrderWhenRedisRecovers() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        Instant cutoff = Instant.now();
+        doThrow(new RedisConnectionFailureException("down")).doNothing()
+            .when(redis).revokeToken("jti-1", EMAIL, expiresAt);
+
+        repository.revokeToken("jti-1", EMAIL, expiresAt);
+        repository.revokeAllUserTokens(EMAIL, cutoff);  // Queued behind the first write
+        verify(redis, never()).revokeAllUserTokens(anyString(), any());
+
+        repository.replayPendingWrites();
+
+        var order = inOrder(redis);
+        order.verify(redis, times(2)).revokeToken("jti-1", EMAIL, expiresAt);
+        order.verify(redis).revokeAllUserTokens(EMAIL, cutoff);
+        assertEquals(0, repository.pendingWrites());
+    }
+
+    @Test
+    void shouldQueueEventAppendBehindItsDenyListWrite() {
+        RedisRevocationEventLog eventLog = mock(RedisRevocationEventLog.class);
+        ResilientRevocationEventLog resilientLog = new ResilientRevocationEventLog(eventLog, repository);
+        RevocationEvent event = RevocationEvent.builder().type(RevocationEvent.Type.TOKEN_REVOKED).jti("jti-1").build();
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        doThrow(new RedisConnectionFailureException("down")).doNothing()
+            .when(redis).revokeToken("jti-1", EMAIL, expiresAt);
+        when(eventLog.append(event)).thenReturn(42L);
+
+        repository.revokeToken("jti-1", EMAIL, expiresAt);
+        assertEquals(0, resilientLog.append(event));  // Queued: no 5xx, no sequence yet
+        verify(eventLog, never()).append(any());
+
+        repository.replayPendingWrites();
+
+        var order = inOrder(redis, eventLog);
+        order.verify(redis, times(2)).revokeToken("jti-1", EMAIL, expiresAt);
+        order.verify(eventLog).append(event);
+        assertEquals(0, repository.pendingWrites());
+    }
+
+    @Test
+    void shouldLearnRevocationsFromFeed() {
+        when(redis.isRevoked(anyString(), anyString(), any())).thenThrow(new RedisConnectionFailureException("down"));
+        when(redis.getUserGeneration(EMAIL)).thenThrow(new RedisConnectionFailureException("down"));
+        Instant now = Instant.now();
+
+        repository.onRevocationEvent(RevocationEvent.builder()
+            .type(RevocationEvent.Type.USER_TOKENS_REVOKED)
+            .email(EMAIL)
+            .revokedBefore(now)
+            .generation(3L)
+            .build());
+
+        assertTrue(repository.isRevoked("jti-1", EMAIL, now.minusSeconds(60)));
+        assertFalse(repository.isRevoked("jti-1", EMAIL, now.plusSeconds(60)));
+        assertEquals(3, repository.getUserGeneration(EMAIL));
+    }
+
+    private ResilientTokenRevocationRepository newRepository() {
+        return new ResilientTokenRevocationRepository(
+            redis, CircuitBreakerRegistry.ofDefaults(),
+            TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(250)).build()),
+            properties, new JwtProperties(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,112 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.service.JwtService;
+import com.haiintel.authservice.infrastructure.metrics.FlightRecordingEndpoint;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SecurityConfig's /actuator/jfr rule through the real filter chain: admins only
+ * (in-memory revocation store, so no Redis is needed).
+ */
+@SpringBootTest(properties = {"token-revocation.store=memory", "rate-limiting.mode=local"})
+@AutoConfigureMockMvc
+class FlightRecordingSecurityTest {
+
+    @TempDir
+    static Path keyDir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private FlightRecordingEndpoint endpoint;
+
+    @DynamicPropertySource
+    static void jwtKeys(DynamicPropertyRegistry registry) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+        Path privateKey = Files.writeString(keyDir.resolve("private.pem"), pem("PRIVATE KEY", keys.getPrivate().getEncoded()));
+        Path publicKey = Files.writeString(keyDir.resolve("public.pem"), pem("PUBLIC KEY", keys.getPublic().getEncoded()));
+        registry.add("jwt.private-key-file", privateKey::toString);
+        registry.add("jwt.public-key-file", publicKey::toString);
+    }
+
+    @AfterEach
+    void closeRecording() {
+        endpoint.close();
+    }
+
+    @Test
+    void shouldRejectAnonymousAndNonAdminCallers() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+
+        for (Role role : List.of(Role.EMPLOYEE, Role.INTERN)) {
+            String bearer = "Bearer " + token(role);
+            mockMvc.perform(get("/actuator/jfr").header("Authorization", bearer))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(post("/actuator/jfr").header("Authorization", bearer)
+                            .contentType(MediaType.APPLICATION_JSON).content("{\"durationSeconds\": 5}"))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(delete("/actuator/jfr").header("Authorization", bearer))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(get("/actuator/jfr/1").header("Authorization", bearer))
+                    .andExpect(status().isForbidden());
+        }
+        assertNotEquals(RecordingState.RUNNING, endpoint.status().get("state"));  // Nothing was started
+    }
+
+    @Test
+    void shouldAllowAdmins() throws Exception {
+        String bearer = "Bearer " + token(Role.ADMIN);
+
+        mockMvc.perform(get("/actuator/jfr").header("Authorization", bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/actuator/jfr").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"durationSeconds\": 5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    private String token(Role role) {
+        return jwtService.issueToken(UserPrincipal.builder()
+                .email(role.name().toLowerCase() + "@haiintel.com")
+                .name(role.name())
+                .role(role)
+                .groups(List.of())
+                .build()).getToken();
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,74 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import com.haiintel.authservice.domain.model.Role;
+import com.haiintel.authservice.domain.model.UserPrincipal;
+import com.haiintel.authservice.domain.model.ValidatedToken;
+import com.haiintel.authservice.domain.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter: the authentication it installs carries
+ * the ValidatedToken from the filter's single parse.
+ */
+class JwtAuthenticationFilterTest {
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldStoreValidatedTokenAsCredentials() throws Exception {
+        UserPrincipal user = UserPrincipal.builder().email("feed").role(Role.INTERN).groups(List.of()).build();
+        ValidatedToken validated = ValidatedToken.builder()
+                .principal(user)
+                .jti("jti-1")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .keyId("kid-1")
+                .scopes(List.of("revocations.read"))
+                .build();
+        when(jwtService.validateToken("token")).thenReturn(validated);
+
+        Authentication authentication = authenticate("Bearer token");
+
+        assertSame(user, authentication.getPrincipal());
+        assertSame(validated, authentication.getCredentials());
+        assertEquals(List.of("ROLE_INTERN", "SCOPE_revocations.read"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(jwtService, times(1)).validateToken("token");
+    }
+
+    @Test
+    void shouldLeaveRequestUnauthenticatedForInvalidToken() throws Exception {
+        when(jwtService.validateToken(anyString())).thenThrow(new JwtService.TokenRevokedException("revoked"));
+
+        assertNull(authenticate("Bearer token"));
+    }
+
+    private Authentication authenticate(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/me");
+        request.addHeader("Authorization", authorization);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+        return seen.get();
+    }
+}
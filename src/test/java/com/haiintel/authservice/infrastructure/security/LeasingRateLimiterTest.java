@@ -0,0 +1,82 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import com.haiintel.authservice.domain.model.PermitLease;
+import com.haiintel.authservice.domain.port.RateLimitPermitStore;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRateLimitPermitStore;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LeasingRateLimiter (in-memory store, virtual clock).
+ */
+class LeasingRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger storeCalls = new AtomicInteger();
+    private final InMemoryRateLimitPermitStore shared = new InMemoryRateLimitPermitStore(clock::get);
+    private final RateLimitPermitStore store = (key, requested, capacity, refillPeriod) -> {
+        storeCalls.incrementAndGet();
+        return shared.lease(key, requested, capacity, refillPeriod);
+    };
+
+    @Test
+    void shouldEnforceOneLimitAcrossPods() {
+        LeasingRateLimiter[] pods = {newLimiter(store), newLimiter(store), newLimiter(store)};
+
+        int allowed = 0;
+        for (int i = 0; i < 300; i++) {
+            if (pods[i % 3].tryAcquire("user:a@haiintel.com") == 0) {
+                allowed++;
+            }
+        }
+
+        assertEquals(60, allowed);  // Not 3 x 60
+    }
+
+    @Test
+    void shouldLeaseInBatchesAndCacheDenials() {
+        LeasingRateLimiter limiter = newLimiter(store);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("ip:1.2.3.4");
+        }
+
+        // 60 permits in leases of 1, 2, 4, 6, 6, ... plus one denied call; the other ~940 rejections are local
+        assertTrue(storeCalls.get() < 15, "storeCalls=" + storeCalls.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));  // One permit refilled
+        assertEquals(0, limiter.tryAcquire("ip:1.2.3.4"));
+    }
+
+    @Test
+    void shouldFallBackToPerPodLimitWhenStoreFails() {
+        RateLimitPermitStore down = (key, requested, capacity, refillPeriod) -> {
+            throw new IllegalStateException("down");
+        };
+        LeasingRateLimiter limiter = newLimiter(down);
+
+        assertEquals(0, limiter.tryAcquire("ip:1.2.3.4"));
+    }
+
+    @Test
+    void shouldReportRetryAfterFromStore() {
+        RateLimitPermitStore empty = (key, requested, capacity, refillPeriod) ->
+            PermitLease.builder().granted(0).retryAfterMillis(1500).build();
+        LeasingRateLimiter limiter = newLimiter(empty);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), limiter.tryAcquire("ip:1.2.3.4"));
+    }
+
+    private LeasingRateLimiter newLimiter(RateLimitPermitStore permitStore) {
+        return new LeasingRateLimiter("me", permitStore, 60, Duration.ofMinutes(1), 6, Duration.ofSeconds(1), 1000,
+            CircuitBreaker.ofDefaults("test"), new SimpleMeterRegistry(), clock::get);
+    }
+}
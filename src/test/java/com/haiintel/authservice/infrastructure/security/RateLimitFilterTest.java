@@ -0,0 +1,84 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import com.haiintel.authservice.domain.port.RateLimitPermitStore;
+import com.haiintel.authservice.infrastructure.config.RateLimitingProperties;
+import com.haiintel.authservice.infrastructure.repository.InMemoryRateLimitPermitStore;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitFilter keying (leased mode, in-memory store).
+ */
+class RateLimitFilterTest {
+
+    private final Set<String> storeKeys = ConcurrentHashMap.newKeySet();
+    private final InMemoryRateLimitPermitStore shared = new InMemoryRateLimitPermitStore(() -> 0L);
+    private final RateLimitPermitStore store = (key, requested, capacity, refillPeriod) -> {
+        storeKeys.add(key);
+        return shared.lease(key, requested, capacity, refillPeriod);
+    };
+
+    @Test
+    void shouldNotCreateBucketPerSpoofedForwardedFor() throws Exception {
+        RateLimitFilter filter = newFilter(1);
+
+        assertEquals(200, login(filter, "198.51.100.4", "1.1.1.1").getStatus());
+        assertEquals(429, login(filter, "198.51.100.4", "2.2.2.2").getStatus());
+        assertEquals(429, login(filter, "127.0.0.1", "3.3.3.3, 198.51.100.4").getStatus());  // Via the sidecar
+        assertEquals(429, login(filter, "198.51.100.4", "garbage").getStatus());
+
+        assertEquals(Set.of("login:ip:198.51.100.4"), storeKeys);  // One store bucket, not one per header value
+    }
+
+    @Test
+    void shouldLimitTokenEndpointInItsOwnBucket() throws Exception {
+        RateLimitFilter filter = newFilter(1);
+
+        assertEquals(200, login(filter, "198.51.100.4", "1.1.1.1").getStatus());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(200, token(filter, "198.51.100.4").getStatus());
+        }
+        assertEquals(429, token(filter, "198.51.100.4").getStatus());
+        assertEquals(200, token(filter, "198.51.100.5").getStatus());
+
+        assertTrue(storeKeys.contains("token:ip:198.51.100.4"));
+    }
+
+    private RateLimitFilter newFilter(int loginPerMinute) {
+        RateLimitingProperties properties = new RateLimitingProperties();
+        properties.setMode("memory");
+        properties.getLoginEndpoint().setRequestsPerMinute(loginPerMinute);
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("permitStore", store);
+        return new RateLimitFilter(properties, new TrustedProxies(properties), beans.getBeanProvider(RateLimitPermitStore.class),
+                CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletResponse token(RateLimitFilter filter, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/oauth/token");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletResponse login(RateLimitFilter filter, String remoteAddr, String forwardedFor)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/login/google");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,67 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucketLimiter.
+ */
+class TokenBucketLimiterTest {
+
+    @Test
+    void shouldAllowBurstThenReportWait() {
+        TokenBucketLimiter limiter = newLimiter(5, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1.2.3.4"));
+        }
+        long wait = limiter.tryAcquire("ip:1.2.3.4");
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(11) && wait <= TimeUnit.SECONDS.toNanos(12), "wait=" + wait);
+
+        assertEquals(0, limiter.tryAcquire("ip:5.6.7.8"));  // Buckets are per key
+    }
+
+    @Test
+    void shouldRefillOverTime() throws InterruptedException {
+        TokenBucketLimiter limiter = newLimiter(2, Duration.ofMillis(200));
+
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertTrue(limiter.tryAcquire("k") > 0);
+
+        Thread.sleep(120);  // One token back after 100ms
+
+        assertEquals(0, limiter.tryAcquire("k"));
+    }
+
+    @Test
+    void shouldNotOverAdmitUnderContention() throws InterruptedException {
+        TokenBucketLimiter limiter = newLimiter(100, Duration.ofHours(1));
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (limiter.tryAcquire("k") == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+    }
+
+    private static TokenBucketLimiter newLimiter(int capacity, Duration refillPeriod) {
+        return new TokenBucketLimiter("test", capacity, refillPeriod, 1000, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,56 @@
+package com.haiintel.authservice.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrustedProxies: only hops our own proxies wrote are believed.
+ */
+class TrustedProxiesTest {
+
+    private final TrustedProxies proxies = new TrustedProxies(List.of("127.0.0.0/8", "::1/128", "10.0.0.0/8"));
+
+    @Test
+    void shouldIgnoreHeaderFromUntrustedPeer() {
+        assertEquals("203.0.113.7", proxies.clientIp(request("203.0.113.7", "1.1.1.1")));
+    }
+
+    @Test
+    void shouldTakeRightMostUntrustedHop() {
+        // Client sent "1.1.1.1"; the ingress appended the real peer, the sidecar the ingress
+        assertEquals("198.51.100.4", proxies.clientIp(request("127.0.0.1", "1.1.1.1, 198.51.100.4, 10.1.2.3")));
+        assertEquals("198.51.100.4", proxies.clientIp(request("127.0.0.1", "1.1.1.1", "198.51.100.4")));
+    }
+
+    @Test
+    void shouldStopAtLastTrustedHopOnGarbage() {
+        assertEquals("10.1.2.3", proxies.clientIp(request("127.0.0.1", "evil.example.com, 10.1.2.3")));
+        assertEquals("127.0.0.1", proxies.clientIp(request("127.0.0.1", "not-an-ip")));
+        assertEquals("127.0.0.1", proxies.clientIp(request("127.0.0.1")));
+    }
+
+    @Test
+    void shouldCanonicalizeAddresses() {
+        assertEquals("2001:db8:0:0:0:0:0:1", proxies.clientIp(request("::1", "2001:DB8::0:1")));
+        assertEquals("2001:db8:0:0:0:0:0:1", proxies.clientIp(request("0:0:0:0:0:0:0:1", "[2001:db8::1]")));
+    }
+
+    @Test
+    void shouldRejectInvalidCidr() {
+        assertThrows(IllegalArgumentException.class, () -> new TrustedProxies(List.of("10.0.0.0/33")));
+        assertThrows(IllegalArgumentException.class, () -> new TrustedProxies(List.of("proxy.internal/8")));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String... forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        for (String header : forwardedFor) {
+            request.addHeader("X-Forwarded-For", header);
+        }
+        return request;
+    }
+}